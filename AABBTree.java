@@ -0,0 +1,482 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Broadphase baseada numa árvore dinâmica de caixas envolventes (BVH).
+ * Cada folha guarda a caixa alargada do Collider do objeto; a árvore só é reestruturada
+ * quando a caixa real de um objeto sai da sua caixa alargada (ver Collider.fatVersion()).
+ * A árvore é mantida equilibrada com rotações, pelo que inserções, remoções e consultas
+ * custam O(log n) independentemente do tamanho dos colliders.
+ *
+ * Os nós são guardados em arrays paralelos e reutilizados através de uma lista livre.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv Cada nó interno tem exatamente dois filhos e a sua caixa contém a dos filhos.
+ * A diferença de altura entre os dois filhos de um nó é no máximo 1 após cada update().
+ */
+public class AABBTree implements IBroadphase {
+
+    private static final int NULL = -1;
+
+    private int root = NULL;
+    private int capacity = 16;
+    private int freeList = NULL;
+
+    private double[] nodeMinX = new double[capacity], nodeMinY = new double[capacity];
+    private double[] nodeMaxX = new double[capacity], nodeMaxY = new double[capacity];
+    private int[] parent = new int[capacity], child1 = new int[capacity], child2 = new int[capacity];
+    private int[] height = new int[capacity];
+
+    /**
+     * Dados das folhas: objeto, índice no último update(), versão da caixa alargada
+     * e frame em que o objeto foi visto pela última vez.
+     */
+    private GameObject[] leafObject = new GameObject[capacity];
+    private int[] leafIndex = new int[capacity];
+    private int[] leafFatVersion = new int[capacity];
+    private int[] leafSeen = new int[capacity];
+
+    /**
+     * Folhas ativas e correspondência objeto -> folha, indexada por GameObject.id() (NULL se o objeto
+     * não tem folha), para que acrescentar e retirar objetos não aloque.
+     */
+    private int[] proxies = new int[0];
+    private int[] leaves = new int[capacity];
+    private int leafCount;
+
+    private int frame;
+    private int[] stack = new int[64];
+
+    /**
+     * Pilha de query() e raycast(), uma por thread, para que várias threads possam consultar
+     * a árvore ao mesmo tempo enquanto esta não é alterada.
+     */
+    private final ThreadLocal<int[]> queryStack = ThreadLocal.withInitial(() -> new int[64]);
+
+    /**
+     * Cria uma árvore vazia.
+     */
+    public AABBTree() {
+        for (int i = 0; i < capacity; i++) {
+            parent[i] = i + 1 < capacity ? i + 1 : NULL;
+            height[i] = -1;
+        }
+        freeList = 0;
+    }
+
+    @Override
+    public void update(List<GameObject> objects) {
+        frame++;
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject go = objects.get(i);
+            Collider c = (Collider) go.collider();
+            int id = go.id();
+            if (id >= proxies.length) {
+                int old = proxies.length;
+                proxies = Arrays.copyOf(proxies, Math.max(id + 1, old * 2));
+                Arrays.fill(proxies, old, proxies.length, NULL);
+            }
+            int leaf = proxies[id];
+            if (leaf == NULL) {
+                leaf = allocateNode();
+                leafObject[leaf] = go;
+                setFatBox(leaf, c);
+                insertLeaf(leaf);
+                proxies[id] = leaf;
+                if (leafCount == leaves.length) {
+                    leaves = Arrays.copyOf(leaves, leafCount * 2);
+                }
+                leaves[leafCount++] = leaf;
+            } else {
+                if (leafFatVersion[leaf] != c.fatVersion()) {
+                    removeLeaf(leaf);
+                    setFatBox(leaf, c);
+                    insertLeaf(leaf);
+                }
+            }
+            leafIndex[leaf] = i;
+            leafSeen[leaf] = frame;
+        }
+
+        for (int k = leafCount - 1; k >= 0; k--) {
+            int leaf = leaves[k];
+            if (leafSeen[leaf] == frame) continue;
+            removeLeaf(leaf);
+            proxies[leafObject[leaf].id()] = NULL;
+            leafObject[leaf] = null;
+            freeNode(leaf);
+            leaves[k] = leaves[--leafCount];
+        }
+    }
+
+    @Override
+    public void findPairs(PairList out) {
+        for (int k = 0; k < leafCount; k++) {
+            int leaf = leaves[k];
+            ICollider c = leafObject[leaf].collider();
+            double minX = c.minX(), minY = c.minY(), maxX = c.maxX(), maxY = c.maxY();
+            int i = leafIndex[leaf];
+
+            int top = 0;
+            stack[top++] = root;
+            while (top > 0) {
+                int node = stack[--top];
+                if (node == NULL) continue;
+                if (nodeMinX[node] > maxX || nodeMaxX[node] < minX || nodeMinY[node] > maxY || nodeMaxY[node] < minY) continue;
+
+                if (child1[node] == NULL) {
+                    int j = leafIndex[node];
+                    if (j <= i) continue;
+                    ICollider o = leafObject[node].collider();
+                    if (o.minX() <= maxX && minX <= o.maxX() && o.minY() <= maxY && minY <= o.maxY()) {
+                        out.add(i, j);
+                    }
+                } else {
+                    if (top + 2 > stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    stack[top++] = child1[node];
+                    stack[top++] = child2[node];
+                }
+            }
+        }
+    }
+
+    @Override
+    public void query(double minX, double minY, double maxX, double maxY, IntList out) {
+        int[] stack = queryStack.get();
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if (node == NULL) continue;
+            if (nodeMinX[node] > maxX || nodeMaxX[node] < minX || nodeMinY[node] > maxY || nodeMaxY[node] < minY) continue;
+
+            if (child1[node] == NULL) {
+                ICollider o = leafObject[node].collider();
+                if (o.minX() <= maxX && minX <= o.maxX() && o.minY() <= maxY && minY <= o.maxY()) {
+                    out.add(leafIndex[node]);
+                }
+            } else {
+                if (top + 2 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                    queryStack.set(stack);
+                }
+                stack[top++] = child1[node];
+                stack[top++] = child2[node];
+            }
+        }
+    }
+
+    /**
+     * Acrescenta a out os índices (no último update()) dos objetos cuja caixa envolvente é
+     * atravessada pelo segmento origem + t * direção, com t em [0, maxDistance].
+     * Só são visitados os nós cuja caixa é atravessada pelo segmento.
+     * @param originX coordenada x da origem
+     * @param originY coordenada y da origem
+     * @param dirX componente x da direção
+     * @param dirY componente y da direção
+     * @param maxDistance valor máximo de t
+     * @param out lista onde os índices são acrescentados
+     */
+    public void raycast(double originX, double originY, double dirX, double dirY, double maxDistance, IntList out) {
+        int[] stack = queryStack.get();
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if (node == NULL) continue;
+            if (!segmentHitsBox(originX, originY, dirX, dirY, maxDistance,
+                    nodeMinX[node], nodeMinY[node], nodeMaxX[node], nodeMaxY[node])) continue;
+
+            if (child1[node] == NULL) {
+                ICollider o = leafObject[node].collider();
+                if (segmentHitsBox(originX, originY, dirX, dirY, maxDistance, o.minX(), o.minY(), o.maxX(), o.maxY())) {
+                    out.add(leafIndex[node]);
+                }
+            } else {
+                if (top + 2 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                    queryStack.set(stack);
+                }
+                stack[top++] = child1[node];
+                stack[top++] = child2[node];
+            }
+        }
+    }
+
+    /**
+     * Teste de lajes (slab test) entre um segmento e uma caixa.
+     */
+    private static boolean segmentHitsBox(double ox, double oy, double dx, double dy, double maxT,
+                                          double minX, double minY, double maxX, double maxY) {
+        double t0 = 0, t1 = maxT;
+        if (dx == 0) {
+            if (ox < minX || ox > maxX) return false;
+        } else {
+            double a = (minX - ox) / dx, b = (maxX - ox) / dx;
+            t0 = Math.max(t0, Math.min(a, b));
+            t1 = Math.min(t1, Math.max(a, b));
+        }
+        if (dy == 0) {
+            if (oy < minY || oy > maxY) return false;
+        } else {
+            double a = (minY - oy) / dy, b = (maxY - oy) / dy;
+            t0 = Math.max(t0, Math.min(a, b));
+            t1 = Math.min(t1, Math.max(a, b));
+        }
+        return t0 <= t1;
+    }
+
+    /**
+     * @return altura da árvore (0 para uma única folha, -1 se estiver vazia)
+     */
+    public int height() {
+        return root == NULL ? -1 : height[root];
+    }
+
+    /**
+     * @return número de objetos inseridos na árvore
+     */
+    public int size() {
+        return leafCount;
+    }
+
+    private void setFatBox(int leaf, Collider c) {
+        nodeMinX[leaf] = c.fatMinX();
+        nodeMinY[leaf] = c.fatMinY();
+        nodeMaxX[leaf] = c.fatMaxX();
+        nodeMaxY[leaf] = c.fatMaxY();
+        leafFatVersion[leaf] = c.fatVersion();
+    }
+
+    private int allocateNode() {
+        if (freeList == NULL) {
+            int old = capacity;
+            capacity *= 2;
+            nodeMinX = Arrays.copyOf(nodeMinX, capacity);
+            nodeMinY = Arrays.copyOf(nodeMinY, capacity);
+            nodeMaxX = Arrays.copyOf(nodeMaxX, capacity);
+            nodeMaxY = Arrays.copyOf(nodeMaxY, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            child1 = Arrays.copyOf(child1, capacity);
+            child2 = Arrays.copyOf(child2, capacity);
+            height = Arrays.copyOf(height, capacity);
+            leafObject = Arrays.copyOf(leafObject, capacity);
+            leafIndex = Arrays.copyOf(leafIndex, capacity);
+            leafFatVersion = Arrays.copyOf(leafFatVersion, capacity);
+            leafSeen = Arrays.copyOf(leafSeen, capacity);
+            for (int i = old; i < capacity; i++) {
+                parent[i] = i + 1 < capacity ? i + 1 : NULL;
+                height[i] = -1;
+            }
+            freeList = old;
+        }
+        int node = freeList;
+        freeList = parent[node];
+        parent[node] = NULL;
+        child1[node] = NULL;
+        child2[node] = NULL;
+        height[node] = 0;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        parent[node] = freeList;
+        height[node] = -1;
+        freeList = node;
+    }
+
+    private static double perimeter(double minX, double minY, double maxX, double maxY) {
+        return 2 * ((maxX - minX) + (maxY - minY));
+    }
+
+    private double perimeter(int node) {
+        return perimeter(nodeMinX[node], nodeMinY[node], nodeMaxX[node], nodeMaxY[node]);
+    }
+
+    private double unionPerimeter(int a, int b) {
+        return perimeter(Math.min(nodeMinX[a], nodeMinX[b]), Math.min(nodeMinY[a], nodeMinY[b]),
+                Math.max(nodeMaxX[a], nodeMaxX[b]), Math.max(nodeMaxY[a], nodeMaxY[b]));
+    }
+
+    private void setUnion(int node, int a, int b) {
+        nodeMinX[node] = Math.min(nodeMinX[a], nodeMinX[b]);
+        nodeMinY[node] = Math.min(nodeMinY[a], nodeMinY[b]);
+        nodeMaxX[node] = Math.max(nodeMaxX[a], nodeMaxX[b]);
+        nodeMaxY[node] = Math.max(nodeMaxY[a], nodeMaxY[b]);
+    }
+
+    /**
+     * Insere uma folha escolhendo o irmão que minimiza o aumento do perímetro total.
+     */
+    private void insertLeaf(int leaf) {
+        if (root == NULL) {
+            root = leaf;
+            parent[leaf] = NULL;
+            return;
+        }
+
+        int index = root;
+        while (child1[index] != NULL) {
+            int c1 = child1[index];
+            int c2 = child2[index];
+
+            double area = perimeter(index);
+            double combinedArea = unionPerimeter(index, leaf);
+            double cost = 2 * combinedArea;
+            double inheritanceCost = 2 * (combinedArea - area);
+
+            double cost1 = unionPerimeter(c1, leaf) + inheritanceCost;
+            if (child1[c1] != NULL) cost1 -= perimeter(c1);
+            double cost2 = unionPerimeter(c2, leaf) + inheritanceCost;
+            if (child1[c2] != NULL) cost2 -= perimeter(c2);
+
+            if (cost < cost1 && cost < cost2) break;
+            index = cost1 < cost2 ? c1 : c2;
+        }
+
+        int sibling = index;
+        int oldParent = parent[sibling];
+        int newParent = allocateNode();
+        parent[newParent] = oldParent;
+        setUnion(newParent, leaf, sibling);
+        height[newParent] = height[sibling] + 1;
+        child1[newParent] = sibling;
+        child2[newParent] = leaf;
+        parent[sibling] = newParent;
+        parent[leaf] = newParent;
+
+        if (oldParent != NULL) {
+            if (child1[oldParent] == sibling) child1[oldParent] = newParent;
+            else child2[oldParent] = newParent;
+        } else {
+            root = newParent;
+        }
+
+        refit(parent[leaf]);
+    }
+
+    /**
+     * Retira uma folha da árvore sem a libertar; o pai da folha é reciclado.
+     */
+    private void removeLeaf(int leaf) {
+        if (leaf == root) {
+            root = NULL;
+            return;
+        }
+
+        int p = parent[leaf];
+        int grandParent = parent[p];
+        int sibling = child1[p] == leaf ? child2[p] : child1[p];
+
+        if (grandParent != NULL) {
+            if (child1[grandParent] == p) child1[grandParent] = sibling;
+            else child2[grandParent] = sibling;
+            parent[sibling] = grandParent;
+            freeNode(p);
+            refit(grandParent);
+        } else {
+            root = sibling;
+            parent[sibling] = NULL;
+            freeNode(p);
+        }
+        parent[leaf] = NULL;
+    }
+
+    /**
+     * Sobe desde index até à raiz, reequilibrando e recalculando caixas e alturas.
+     */
+    private void refit(int index) {
+        while (index != NULL) {
+            index = balance(index);
+            int c1 = child1[index];
+            int c2 = child2[index];
+            height[index] = 1 + Math.max(height[c1], height[c2]);
+            setUnion(index, c1, c2);
+            index = parent[index];
+        }
+    }
+
+    /**
+     * Executa uma rotação em a se os filhos estiverem desequilibrados.
+     * @return índice do nó que passou a ocupar a posição de a
+     */
+    private int balance(int a) {
+        if (child1[a] == NULL || height[a] < 2) return a;
+
+        int b = child1[a];
+        int c = child2[a];
+        int diff = height[c] - height[b];
+
+        if (diff > 1) {
+            int f = child1[c];
+            int g = child2[c];
+            child1[c] = a;
+            parent[c] = parent[a];
+            parent[a] = c;
+            replaceChild(parent[c], a, c);
+
+            if (height[f] > height[g]) {
+                child2[c] = f;
+                child2[a] = g;
+                parent[g] = a;
+                setUnion(a, b, g);
+                setUnion(c, a, f);
+                height[a] = 1 + Math.max(height[b], height[g]);
+                height[c] = 1 + Math.max(height[a], height[f]);
+            } else {
+                child2[c] = g;
+                child2[a] = f;
+                parent[f] = a;
+                setUnion(a, b, f);
+                setUnion(c, a, g);
+                height[a] = 1 + Math.max(height[b], height[f]);
+                height[c] = 1 + Math.max(height[a], height[g]);
+            }
+            return c;
+        }
+
+        if (diff < -1) {
+            int d = child1[b];
+            int e = child2[b];
+            child1[b] = a;
+            parent[b] = parent[a];
+            parent[a] = b;
+            replaceChild(parent[b], a, b);
+
+            if (height[d] > height[e]) {
+                child2[b] = d;
+                child1[a] = e;
+                parent[e] = a;
+                setUnion(a, c, e);
+                setUnion(b, a, d);
+                height[a] = 1 + Math.max(height[c], height[e]);
+                height[b] = 1 + Math.max(height[a], height[d]);
+            } else {
+                child2[b] = e;
+                child1[a] = d;
+                parent[d] = a;
+                setUnion(a, c, d);
+                setUnion(b, a, e);
+                height[a] = 1 + Math.max(height[c], height[d]);
+                height[b] = 1 + Math.max(height[a], height[e]);
+            }
+            return b;
+        }
+
+        return a;
+    }
+
+    private void replaceChild(int p, int oldChild, int newChild) {
+        if (p == NULL) {
+            root = newChild;
+        } else if (child1[p] == oldChild) {
+            child1[p] = newChild;
+        } else {
+            child2[p] = newChild;
+        }
+    }
+}
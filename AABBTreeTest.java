@@ -0,0 +1,64 @@
+import static org.junit.Assert.*;
+
+import java.util.*;
+import org.junit.Test;
+
+/**
+ * Testes unitários para a classe AABBTree.
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ */
+public class AABBTreeTest {
+
+    private static GameObject circle(double x, double y, double r) {
+        Transform t = new Transform(x, y, 0, 0, 1.0);
+        return new GameObject("Obj", t, CircleCollider.create(t, 0, 0, r), null);
+    }
+
+    private static PairList pairs(IBroadphase broadphase, List<GameObject> objects) {
+        PairList out = new PairList();
+        broadphase.update(objects);
+        broadphase.findPairs(out);
+        out.sort();
+        return out;
+    }
+
+    @Test
+    public void testTreeStaysBalanced() {
+        List<GameObject> objects = new ArrayList<>();
+        for (int i = 0; i < 1024; i++) {
+            objects.add(circle(i * 50, 0, 5));
+        }
+        AABBTree tree = new AABBTree();
+        tree.update(objects);
+        assertEquals(1024, tree.size());
+        assertTrue("altura " + tree.height(), tree.height() <= 20);
+    }
+
+    @Test
+    public void testMixedSizesFindOverlaps() {
+        Transform t = new Transform(200, 200, 0, 0, 1.0);
+        GameObject wall = new GameObject("Wall", t, PolygonCollider.create(t, Arrays.asList(
+            new java.awt.Point.Double(-150, -10), new java.awt.Point.Double(150, -10),
+            new java.awt.Point.Double(150, 10), new java.awt.Point.Double(-150, 10))), null);
+        List<GameObject> objects = Arrays.asList(circle(60, 200, 3), wall, circle(340, 205, 3), circle(200, 400, 3));
+
+        PairList out = pairs(new AABBTree(), objects);
+        assertEquals(2, out.size());
+        assertEquals(0, out.first(0));
+        assertEquals(1, out.second(0));
+        assertEquals(1, out.first(1));
+        assertEquals(2, out.second(1));
+    }
+
+    @Test
+    public void testRemovedObjectsLeaveTheTree() {
+        List<GameObject> objects = new ArrayList<>(Arrays.asList(circle(0, 0, 10), circle(5, 5, 10), circle(8, 0, 10)));
+        AABBTree tree = new AABBTree();
+        assertEquals(3, pairs(tree, objects).size());
+
+        objects.remove(1);
+        assertEquals(1, pairs(tree, objects).size());
+        assertEquals(2, tree.size());
+    }
+}
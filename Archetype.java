@@ -0,0 +1,159 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Conjunto de entidades com exatamente os mesmos tipos de componente.
+ * As entidades são guardadas em chunks de Chunk.CAPACITY linhas, mantidos densos: todos os chunks
+ * estão cheios exceto o último, pelo que um sistema percorre apenas memória ocupada.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv Os chunks 0 a chunks().size() - 2 estão cheios. size() é a soma dos tamanhos dos chunks.
+ */
+public final class Archetype {
+
+    private final long mask;
+    private final ComponentType[] types;
+    private final int[] slots = new int[ComponentType.MAX_TYPES];
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final List<Chunk> chunksView = Collections.unmodifiableList(chunks);
+
+    /**
+     * Chunks vazios guardados para reutilização.
+     */
+    private final List<Chunk> spare = new ArrayList<>();
+
+    /**
+     * Arquétipos obtidos ao acrescentar ou retirar cada tipo de componente (índice = identificador
+     * do tipo), preenchidos pelo EntityWorld à medida que as transições acontecem; null se ainda
+     * não foram calculados.
+     */
+    private final Archetype[] addEdges = new Archetype[ComponentType.MAX_TYPES];
+    private final Archetype[] removeEdges = new Archetype[ComponentType.MAX_TYPES];
+
+    /**
+     * Cria um arquétipo para a máscara indicada.
+     * @param mask máscara dos tipos de componente (ver ComponentType.mask())
+     */
+    Archetype(long mask) {
+        this.mask = mask;
+        this.types = new ComponentType[Long.bitCount(mask)];
+        Arrays.fill(slots, -1);
+        int slot = 0;
+        for (int id = 0; id < ComponentType.MAX_TYPES; id++) {
+            if ((mask & (1L << id)) != 0) {
+                types[slot] = ComponentType.byId(id);
+                slots[id] = slot++;
+            }
+        }
+    }
+
+    /**
+     * @return máscara dos tipos de componente do arquétipo
+     */
+    public long mask() {
+        return mask;
+    }
+
+    /**
+     * @return tipos de componente do arquétipo, por ordem de identificador
+     */
+    ComponentType[] types() {
+        return types;
+    }
+
+    /**
+     * @param type tipo de componente
+     * @return true se as entidades deste arquétipo têm o componente
+     */
+    public boolean has(ComponentType type) {
+        return (mask & type.bit()) != 0;
+    }
+
+    /**
+     * @param required máscara de tipos de componente
+     * @return true se o arquétipo tem todos os componentes da máscara
+     */
+    public boolean matches(long required) {
+        return (mask & required) == required;
+    }
+
+    /**
+     * @return chunks do arquétipo, todos cheios exceto o último
+     */
+    public List<Chunk> chunks() {
+        return chunksView;
+    }
+
+    /**
+     * @return número de entidades do arquétipo
+     */
+    public int size() {
+        if (chunks.isEmpty()) return 0;
+        return (chunks.size() - 1) * Chunk.CAPACITY + chunks.get(chunks.size() - 1).size;
+    }
+
+    Archetype addEdge(ComponentType type) {
+        return addEdges[type.id()];
+    }
+
+    void setAddEdge(ComponentType type, Archetype archetype) {
+        addEdges[type.id()] = archetype;
+    }
+
+    Archetype removeEdge(ComponentType type) {
+        return removeEdges[type.id()];
+    }
+
+    void setRemoveEdge(ComponentType type, Archetype archetype) {
+        removeEdges[type.id()] = archetype;
+    }
+
+    int slot(ComponentType type) {
+        int slot = slots[type.id()];
+        if (slot < 0) throw new IllegalArgumentException("O arquétipo não tem o componente " + type);
+        return slot;
+    }
+
+    int slotOrMissing(ComponentType type) {
+        return slots[type.id()];
+    }
+
+    /**
+     * @return chunk onde a próxima entidade deve ser acrescentada
+     */
+    Chunk chunkWithSpace() {
+        if (!chunks.isEmpty() && chunks.get(chunks.size() - 1).size < Chunk.CAPACITY) {
+            return chunks.get(chunks.size() - 1);
+        }
+        Chunk chunk = spare.isEmpty() ? new Chunk(this) : spare.remove(spare.size() - 1);
+        chunks.add(chunk);
+        return chunk;
+    }
+
+    /**
+     * @return último chunk (o único que pode não estar cheio)
+     */
+    Chunk lastChunk() {
+        return chunks.get(chunks.size() - 1);
+    }
+
+    /**
+     * Retira o último chunk se tiver ficado vazio.
+     */
+    void trim() {
+        Chunk last = lastChunk();
+        if (last.size == 0) {
+            chunks.remove(chunks.size() - 1);
+            spare.add(last);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(types);
+    }
+}
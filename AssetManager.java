@@ -0,0 +1,146 @@
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+/**
+ * Gestor dos sprites do jogo.
+ * Cada sprite é registado pelo nome (o ficheiro nome.png da pasta de sprites) e recebe um
+ * identificador inteiro. loadAll() descodifica todos os sprites registados uma única vez,
+ * convertendo-os para o formato do ecrã, pelo que o desenho obtém cada sprite com get(id)
+ * sem acesso ao disco.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv Os identificadores vão de 0 a size() - 1, pela ordem de registo. Um nome tem um único identificador.
+ */
+public class AssetManager {
+
+    private final File directory;
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private BufferedImage[] images = new BufferedImage[16];
+
+    /**
+     * Cria um gestor sem sprites registados.
+     * @param directory pasta com os ficheiros PNG dos sprites
+     */
+    public AssetManager(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Regista um sprite. Registar de novo um nome devolve o identificador já atribuído.
+     * @param name nome do sprite, sem a extensão .png
+     * @return identificador do sprite
+     */
+    public int register(String name) {
+        Integer id = ids.get(name);
+        if (id != null) return id;
+        int next = names.size();
+        names.add(name);
+        ids.put(name, next);
+        if (next == images.length) {
+            images = Arrays.copyOf(images, next * 2);
+        }
+        return next;
+    }
+
+    /**
+     * Obtém o identificador de um sprite registado.
+     * @param name nome do sprite
+     * @return identificador do sprite, ou -1 se não estiver registado
+     */
+    public int id(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Descodifica os sprites registados ainda não carregados e converte-os para o formato do ecrã
+     * (sem conversão se não houver ecrã). Os sprites que não puderem ser lidos ficam sem imagem.
+     * @return número de sprites carregados nesta chamada
+     */
+    public int loadAll() {
+        GraphicsConfiguration gc = GraphicsEnvironment.isHeadless() ? null
+            : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        int loaded = 0;
+        for (int id = 0; id < names.size(); id++) {
+            if (images[id] != null) continue;
+            try {
+                BufferedImage image = ImageIO.read(new File(directory, names.get(id) + ".png"));
+                if (image == null) throw new IOException("formato desconhecido");
+                images[id] = gc != null ? toCompatible(image, gc) : image;
+                loaded++;
+            } catch (IOException e) {
+                System.err.println("Erro ao carregar sprite " + names.get(id) + ": " + e.getMessage());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Substitui um sprite carregado por uma cópia com um tamanho fixo em pixels, para sprites desenhados
+     * sempre com o mesmo tamanho (HUD, efeitos), que passam a ser desenhados com escala 1.
+     * Não faz nada se o sprite não foi carregado.
+     * @param id identificador de um sprite registado
+     * @param width largura em pixels
+     * @param height altura em pixels
+     */
+    public void resize(int id, int width, int height) {
+        BufferedImage image = get(id);
+        if (image == null || (image.getWidth() == width && image.getHeight() == height)) return;
+        BufferedImage resized = GraphicsEnvironment.isHeadless()
+            ? new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB)
+            : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                .createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        Graphics2D g = resized.createGraphics();
+        g.drawImage(image, 0, 0, width, height, null);
+        g.dispose();
+        images[id] = resized;
+    }
+
+    /**
+     * Copia uma imagem para uma imagem compatível com o ecrã, que é desenhada sem conversões.
+     */
+    private static BufferedImage toCompatible(BufferedImage image, GraphicsConfiguration gc) {
+        BufferedImage compatible = gc.createCompatibleImage(image.getWidth(), image.getHeight(), Transparency.TRANSLUCENT);
+        Graphics2D g = compatible.createGraphics();
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return compatible;
+    }
+
+    /**
+     * @param id identificador de um sprite registado
+     * @return imagem do sprite, ou null se não foi carregada
+     */
+    public BufferedImage get(int id) {
+        return id >= 0 && id < names.size() ? images[id] : null;
+    }
+
+    /**
+     * @param id identificador de um sprite registado
+     * @return nome do sprite
+     */
+    public String name(int id) {
+        return names.get(id);
+    }
+
+    /**
+     * @return número de sprites registados
+     */
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,75 @@
+import static org.junit.Assert.*;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import javax.imageio.ImageIO;
+import org.junit.Test;
+
+/**
+ * Testes unitários para a classe AssetManager.
+ * Valida os identificadores dos sprites e o carregamento único das imagens.
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ */
+public class AssetManagerTest {
+
+    private static File spriteDirectory() throws IOException {
+        File dir = Files.createTempDirectory("sprites").toFile();
+        dir.deleteOnExit();
+        for (String name : new String[] { "Tank", "Run1" }) {
+            File file = new File(dir, name + ".png");
+            ImageIO.write(new BufferedImage(4, 3, BufferedImage.TYPE_INT_ARGB), "png", file);
+            file.deleteOnExit();
+        }
+        return dir;
+    }
+
+    @Test
+    public void testIdsFollowRegistrationOrder() {
+        AssetManager assets = new AssetManager(new File("."));
+        assertEquals(0, assets.register("Tank"));
+        assertEquals(1, assets.register("Run1"));
+        assertEquals(0, assets.register("Tank"));
+        assertEquals(1, assets.id("Run1"));
+        assertEquals(-1, assets.id("Missing"));
+        assertEquals("Run1", assets.name(1));
+        assertEquals(2, assets.size());
+    }
+
+    @Test
+    public void testLoadAllDecodesEachSpriteOnce() throws IOException {
+        AssetManager assets = new AssetManager(spriteDirectory());
+        int tank = assets.register("Tank");
+        int missing = assets.register("Missing");
+        assertNull(assets.get(tank));
+
+        assertEquals(1, assets.loadAll());
+        BufferedImage image = assets.get(tank);
+        assertNotNull(image);
+        assertEquals(4, image.getWidth());
+        assertEquals(3, image.getHeight());
+        assertNull(assets.get(missing));
+        assertNull(assets.get(-1));
+
+        int run = assets.register("Run1");
+        assertEquals(1, assets.loadAll());
+        assertSame(image, assets.get(tank));
+        assertNotNull(assets.get(run));
+    }
+
+    @Test
+    public void testResizeReplacesLoadedImage() throws IOException {
+        AssetManager assets = new AssetManager(spriteDirectory());
+        int tank = assets.register("Tank");
+        int missing = assets.register("Missing");
+        assets.loadAll();
+
+        assets.resize(tank, 32, 32);
+        assertEquals(32, assets.get(tank).getWidth());
+        assertEquals(32, assets.get(tank).getHeight());
+        assets.resize(missing, 32, 32);
+        assertNull(assets.get(missing));
+    }
+}
@@ -1,7 +1,8 @@
 import java.awt.Dimension;
-import java.awt.Point;
+import java.awt.GraphicsEnvironment;
 import java.awt.event.KeyEvent;
 import java.util.*;
+import java.util.function.Predicate;
 import java.awt.Toolkit;
 /**
  * Comportamento genérico de um GameObject no jogo.
@@ -18,6 +19,12 @@ public class Behaviour implements IBehaviour {
     // Objeto controlado associado a este comportamento
     protected GameObject controlledObject;
 
+    // Tags dos tipos de objeto, comparadas em vez dos nomes
+    private static final int PLAYER = Tags.intern("Player");
+    private static final int ENEMY = Tags.intern("Enemy");
+    private static final int SOLDIER = Tags.intern("Soldier");
+    private static final int BULLET = Tags.intern("Bullet");
+
     // Teclas atualmente pressionadas (para o jogador)
     private Set<Integer> activeKeys;
 
@@ -27,13 +34,33 @@ public class Behaviour implements IBehaviour {
 
     // Gerador de aleatoriedade e parâmetros de spaw
     private final Random random = new Random();
-    private final int tankRadius = 30;
-    private final Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
+    private static final int tankRadius = 30;
+    // Sem ecrã (por exemplo nos testes) é usada uma resolução fixa
+    private static final Dimension screenSize = GraphicsEnvironment.isHeadless()
+        ? new Dimension(1920, 1080) : Toolkit.getDefaultToolkit().getScreenSize();
+
+    // Estado reutilizado pela IA em cada frame, para não alocar: resultado e filtro da linha de visão,
+    // e ações de disparo executadas com GameEngine.post() (direção do disparo do soldado guardada em fireDx/fireDy)
+    private final RaycastHit sightHit = new RaycastHit();
+    private GameObject sightTarget;
+    private final Predicate<GameObject> sightFilter = go -> go == sightTarget || (go.tag() == SOLDIER && go != controlledObject);
+    private double fireDx, fireDy;
+    private final Runnable fireSoldierAction = this::fireSoldierProjectile;
+    private final Runnable fireAction = this::fireProjectile;
 
     // Listas de entidades geradas dinamicamente
     private final List<GameObject> currentEnemies = new ArrayList<>();
     private final List<GameObject> currentSoldiers = new ArrayList<>();
-    private static final Map<GameObject, String> soldierSprites = new HashMap<>();
+
+    // Chaves dos sprites das animações dos soldados; o sprite atual é a chave do próprio GameObject
+    private static final int[] RUN_KEYS = spriteKeys("Run1", "Run2", "Run3", "Run4", "Run5", "Run6", "Run7", "Run8");
+    private static final int[] SHOT_KEYS = spriteKeys("Shot1", "Shot2", "Shot3", "Shot4");
+
+    // Pools dos objetos criados e destruídos com frequência, reutilizados em vez de realocados
+    private static final GameObjectPool bullets = new GameObjectPool(() -> createPooled("Bullet", 5, new Projectile(true), true));
+    private static final GameObjectPool soldierBullets = new GameObjectPool(() -> createPooled("Bullet2", 5, new Projectile(false), true));
+    private static final GameObjectPool enemies = new GameObjectPool(() -> createPooled("Enemy", tankRadius, new Behaviour(), false));
+    private static final GameObjectPool soldiers = new GameObjectPool(() -> createPooled("Soldier", tankRadius, new Behaviour(), false));
 
     // Contadores de dificuldade progressiva
     private static int enemyCount = 5;
@@ -63,7 +90,6 @@ public class Behaviour implements IBehaviour {
         score = 0;
         shieldActive = false;
         shieldHitsLeft = 0;
-        soldierSprites.clear();
     }
     /**
     @return A pontuação atual do jogo.
@@ -84,11 +110,47 @@ public class Behaviour implements IBehaviour {
     public static boolean isShieldActive() { return shieldActive; }
 
     /**
-     * Retorna o número de acertos restantes do escudo.
-     * @return número de acertos restantes.
+     * @return pool dos projéteis disparados pelo jogador e pelos inimigos
+     */
+    public static GameObjectPool bulletPool() { return bullets; }
+
+    /**
+     * @return pool dos projéteis disparados pelos soldados
+     */
+    public static GameObjectPool soldierBulletPool() { return soldierBullets; }
+
+    /**
+     * @return pool dos inimigos (tanques)
+     */
+    public static GameObjectPool enemyPool() { return enemies; }
+
+    /**
+     * @return pool dos soldados
+     */
+    public static GameObjectPool soldierPool() { return soldiers; }
+
+    /**
+     * Cria um objeto para um pool, com um collider circular e o comportamento já associado ao objeto.
+     * A posição é definida por GameObjectPool.acquire().
+     */
+    private static GameObject createPooled(String name, double radius, IBehaviour behaviour, boolean continuous) {
+        Transform t = new Transform(0, 0, 0, 0, 1.0);
+        Collider c = CircleCollider.create(t, 0, 0, radius);
+        c.setContinuous(continuous);
+        GameObject go = new GameObject(name, t, c, behaviour);
+        behaviour.setControlledObject(go);
+        return go;
+    }
+
+    /**
+     * Obtém as chaves (tags) dos sprites de uma animação, usadas com GameObject.setSpriteKey().
      */
-    public static String getSoldierSprite(GameObject soldier) {
-        return soldierSprites.getOrDefault(soldier, "Run1");
+    private static int[] spriteKeys(String... sprites) {
+        int[] keys = new int[sprites.length];
+        for (int i = 0; i < sprites.length; i++) {
+            keys[i] = Tags.intern(sprites[i]);
+        }
+        return keys;
     }
 
     /**
@@ -114,6 +176,27 @@ public class Behaviour implements IBehaviour {
     @Override public void onDisabled() {}
     @Override public void onDestroy() {}
 
+    @Override
+    /**
+     * Repõe os temporizadores quando um inimigo ou soldado é reutilizado a partir do seu pool.
+     */
+    public void onReset() {
+        lastFireTime = 0;
+        lastShieldTime = 0;
+    }
+
+    @Override
+    /**
+     * A IA dos inimigos e soldados só altera o próprio objeto e lê o jogador; os disparos são
+     * feitos com GameEngine.post(), depois da fase paralela. O jogador trata o teclado e os spawners
+     * e é atualizado na thread do motor.
+     */
+    public boolean isParallelSafe() {
+        if (controlledObject == null) return false;
+        int tag = controlledObject.tag();
+        return tag == ENEMY || tag == SOLDIER;
+    }
+
     @Override
     /**
      * Método chamado a cada atualização do jogo.
@@ -125,15 +208,16 @@ public class Behaviour implements IBehaviour {
     public void onUpdate() {
         if (controlledObject == null) return;
 
-        switch (controlledObject.name()) {
-            case "Player" -> {
-                handlePlayerInput();
-                updateEnemySpawner();
-                updateSoldierSpawner();
-                spawnShieldIfNeeded();
-            }
-            case "Enemy" -> updateEnemyAI();
-            case "Soldier" -> updateSoldierAI();
+        int tag = controlledObject.tag();
+        if (tag == PLAYER) {
+            handlePlayerInput();
+            updateEnemySpawner();
+            updateSoldierSpawner();
+            spawnShieldIfNeeded();
+        } else if (tag == ENEMY) {
+            updateEnemyAI();
+        } else if (tag == SOLDIER) {
+            updateSoldierAI();
         }
     }
 
@@ -145,13 +229,13 @@ public class Behaviour implements IBehaviour {
     private void handlePlayerInput() {
         if (activeKeys == null) return;
 
-        Point delta = new Point(0, 0);
+        int deltaX = 0, deltaY = 0;
         double dAngle = 0;
 
-        if (activeKeys.contains(KeyEvent.VK_LEFT)) delta.translate(-5, 0);
-        if (activeKeys.contains(KeyEvent.VK_RIGHT)) delta.translate(5, 0);
-        if (activeKeys.contains(KeyEvent.VK_UP)) delta.translate(0, -5);
-        if (activeKeys.contains(KeyEvent.VK_DOWN)) delta.translate(0, 5);
+        if (activeKeys.contains(KeyEvent.VK_LEFT)) deltaX -= 5;
+        if (activeKeys.contains(KeyEvent.VK_RIGHT)) deltaX += 5;
+        if (activeKeys.contains(KeyEvent.VK_UP)) deltaY -= 5;
+        if (activeKeys.contains(KeyEvent.VK_DOWN)) deltaY += 5;
         if (activeKeys.contains(KeyEvent.VK_E)) dAngle += 5;
         if (activeKeys.contains(KeyEvent.VK_Q)) dAngle -= 5;
 
@@ -161,18 +245,20 @@ public class Behaviour implements IBehaviour {
             lastFireTime = now;
         }
 
-        if (delta.x != 0 || delta.y != 0 || dAngle != 0) {
-            controlledObject.transform().move(delta, 0);
+        if (deltaX != 0 || deltaY != 0 || dAngle != 0) {
+            controlledObject.transform().move(deltaX, deltaY, 0);
             controlledObject.transform().rotate(dAngle);
         }
 
-        Point pos = controlledObject.transform().position();
+        Transform t = (Transform) controlledObject.transform();
+        int posX = (int) t.posX();
+        int posY = (int) t.posY();
         int width = screenSize.width;
         int height = screenSize.height;
-        if (pos.x < 0) controlledObject.transform().move(new Point(width, 0), 0);
-        else if (pos.x > width) controlledObject.transform().move(new Point(-width, 0), 0);
-        if (pos.y < 0) controlledObject.transform().move(new Point(0, height), 0);
-        else if (pos.y > height) controlledObject.transform().move(new Point(0, -height), 0);
+        double wrapX = posX < 0 ? width : posX > width ? -width : 0;
+        double wrapY = posY < 0 ? height : posY > height ? -height : 0;
+        // set() em vez de move(): o salto para o outro lado do ecrã não é interpolado no desenho.
+        if (wrapX != 0 || wrapY != 0) t.set(t.posX() + wrapX, t.posY() + wrapY, t.layer(), t.angle(), t.scale());
     }
 
     /**
@@ -180,7 +266,7 @@ public class Behaviour implements IBehaviour {
      * e spawnando novos inimigos se necessário.
      */
     private void updateEnemySpawner() {
-        currentEnemies.removeIf(enemy -> !GameEngine.getInstance().getEnabled().contains(enemy));
+        currentEnemies.removeIf(enemy -> !GameEngine.getInstance().isEnabled(enemy));
         if (currentEnemies.isEmpty()) {
             spawnEnemies(enemyCount);
             enemyCount++;
@@ -192,7 +278,7 @@ public class Behaviour implements IBehaviour {
      * e spawnando novos soldados se necessário.
      */
     private void updateSoldierSpawner() {
-        currentSoldiers.removeIf(s -> !GameEngine.getInstance().getEnabled().contains(s));
+        currentSoldiers.removeIf(s -> !GameEngine.getInstance().isEnabled(s));
         if (currentSoldiers.isEmpty()) {
             spawnSoldiers(soldierCount);
             soldierCount++;
@@ -201,17 +287,14 @@ public class Behaviour implements IBehaviour {
 
     /**
      * Spawna um número específico de inimigos (tanques) em posições aleatórias na tela.
-     * Cada inimigo é um GameObject com Transform e Collider apropriados.
+     * Os inimigos são obtidos do pool de inimigos.
      * @param count número de inimigos a serem spawnados.
      */
     private void spawnEnemies(int count) {
         for (int i = 0; i < count; i++) {
             int x = random.nextInt(screenSize.width);
             int y = random.nextInt(screenSize.height);
-            Transform t = new Transform(x, y, 0, 0, 1.0);
-            Collider c = CircleCollider.create(t, 0, 0, tankRadius);
-            GameObject enemy = new GameObject("Enemy", t, c, new Behaviour());
-            ((Behaviour) enemy.behaviour()).setControlledObject(enemy);
+            GameObject enemy = enemies.acquire(x, y, 0, 0, 1.0);
             GameEngine.getInstance().add(enemy);
             currentEnemies.add(enemy);
         }
@@ -219,20 +302,16 @@ public class Behaviour implements IBehaviour {
 
     /**
      * Spawna um número específico de soldados em posições aleatórias na tela.
-     * Cada soldado é um GameObject com Transform e Collider apropriados.
+     * Os soldados são obtidos do pool de soldados.
      * @param count número de soldados a serem spawnados.
      */
     private void spawnSoldiers(int count) {
         for (int i = 0; i < count; i++) {
             int x = random.nextInt(screenSize.width);
             int y = random.nextInt(screenSize.height);
-            Transform t = new Transform(x, y, 0, 0, 1.0);
-            Collider c = CircleCollider.create(t, 0, 0, 30);
-            GameObject soldier = new GameObject("Soldier", t, c, new Behaviour());
-            ((Behaviour) soldier.behaviour()).setControlledObject(soldier);
+            GameObject soldier = soldiers.acquire(x, y, 0, 0, 1.0);
             GameEngine.getInstance().add(soldier);
             currentSoldiers.add(soldier);
-            soldierSprites.put(soldier, "Run1");
         }
     }
 
@@ -240,17 +319,14 @@ public class Behaviour implements IBehaviour {
      * Atualiza a lógica de IA do soldado controlado, movendo-o em direção ao jogador
      * e disparando projéteis periodicamente.
      * O soldado segue o jogador se estiver a uma distância maior que 300 pixels,
-     * caso contrário, dispara projéteis a cada 2.5 segundos.
+     * caso contrário, dispara projéteis a cada 2.5 segundos se outro soldado não estiver na linha de tiro.
      */
     private void updateSoldierAI() {
-        GameObject player = GameEngine.getInstance().getEnabled().stream()
-            .filter(go -> go.name().equals("Player")).findFirst().orElse(null);
+        GameObject player = GameEngine.getInstance().first(PLAYER);
         if (player == null) return;
 
-        Point sp = controlledObject.transform().position();
-        Point pp = player.transform().position();
-        double dx = pp.x - sp.x;
-        double dy = pp.y - sp.y;
+        double dx = (int) player.transform().posX() - (int) controlledObject.transform().posX();
+        double dy = (int) player.transform().posY() - (int) controlledObject.transform().posY();
         double dist = Math.sqrt(dx * dx + dy * dy);
         long now = System.currentTimeMillis();
 
@@ -258,19 +334,36 @@ public class Behaviour implements IBehaviour {
             double speed = 1.5;
             int mx = (int) (dx / dist * speed);
             int my = (int) (dy / dist * speed);
-            controlledObject.transform().move(new Point(mx, my), 0);
-            int frame = (int) ((now / 100) % 8) + 1;
-            soldierSprites.put(controlledObject, "Run" + frame);
+            controlledObject.transform().move(mx, my, 0);
+            int frame = (int) ((now / 100) % 8);
+            controlledObject.setSpriteKey(RUN_KEYS[frame]);
         } else {
-            int frame = (int) ((now / 200) % 4) + 1;
-            soldierSprites.put(controlledObject, "Shot" + frame);
-            if (now - lastFireTime > 2500) {
-                fireSoldierProjectile(dx, dy);
+            int frame = (int) ((now / 200) % 4);
+            controlledObject.setSpriteKey(SHOT_KEYS[frame]);
+            if (now - lastFireTime > 2500 && hasLineOfSight(player)) {
+                fireDx = dx;
+                fireDy = dy;
+                GameEngine.getInstance().post(fireSoldierAction);
                 lastFireTime = now;
             }
         }
     }
 
+    /**
+     * Verifica se o primeiro objeto no segmento entre o soldado e o jogador é o próprio jogador,
+     * ignorando tudo o que os projéteis do soldado não atingem.
+     * @param player jogador
+     * @return true se nenhum outro soldado se interpõe
+     */
+    private boolean hasLineOfSight(GameObject player) {
+        ITransform from = controlledObject.transform(), to = player.transform();
+        sightTarget = player;
+        boolean hit = GameEngine.getInstance().segmentCast((int) from.posX(), (int) from.posY(),
+            (int) to.posX(), (int) to.posY(), sightFilter, sightHit);
+        sightTarget = null;
+        return !hit || sightHit.object() == player;
+    }
+
     /**
      * Atualiza a lógica de IA do inimigo controlado, movendo-o em direção ao jogador
      * e disparando projéteis periodicamente.
@@ -278,21 +371,18 @@ public class Behaviour implements IBehaviour {
      */
     private void updateEnemyAI() {
     long now = System.currentTimeMillis();
-    GameObject player = GameEngine.getInstance().getEnabled().stream()
-            .filter(go -> go.name().equals("Player")).findFirst().orElse(null);
+    GameObject player = GameEngine.getInstance().first(PLAYER);
     if (player == null) return;
 
-    Point ep = controlledObject.transform().position();
-    Point pp = player.transform().position();
-    double dx = pp.x - ep.x;
-    double dy = pp.y - ep.y;
+    double dx = (int) player.transform().posX() - (int) controlledObject.transform().posX();
+    double dy = (int) player.transform().posY() - (int) controlledObject.transform().posY();
     double dist = Math.sqrt(dx * dx + dy * dy);
 
     if (dist > 1) {
         double speed = 1.5;
         int mx = (int) (dx / dist * speed);
         int my = (int) (dy / dist * speed);
-        controlledObject.transform().move(new Point(mx, my), 0);
+        controlledObject.transform().move(mx, my, 0);
     }
 
     double angleRad = Math.atan2(dy, dx);
@@ -300,71 +390,34 @@ public class Behaviour implements IBehaviour {
     controlledObject.transform().rotate(angleDeg - controlledObject.transform().angle());
 
     if (now - lastFireTime >= 3000) {
-        fireProjectile();
+        GameEngine.getInstance().post(fireAction);
         lastFireTime = now;
     }
 }
 
     /**
-     * Dispara um projétil do soldado em direção ao jogador.
-     * O projétil é criado com uma velocidade fixa e verifica colisões com o jogador ou outros soldados.
+     * Dispara um projétil do soldado em direção ao jogador (direção fireDx, fireDy guardada pela IA).
+     * O projétil é obtido do pool de projéteis dos soldados, tem uma velocidade fixa e verifica colisões com o jogador ou outros soldados
+     * ao longo de todo o movimento do frame (deteção contínua), para não atravessar alvos.
      * Se atingir o jogador, verifica se o escudo está ativo e reduz os acertos restantes.
      * Se atingir outro soldado, causa uma explosão e remove o soldado atingido.
      */
-    private void fireSoldierProjectile(double dx, double dy) {
+    private void fireSoldierProjectile() {
+        double dx = fireDx, dy = fireDy;
         double dist = Math.sqrt(dx * dx + dy * dy);
         int speed = 8;
         double vx = dx / dist * speed;
         double vy = dy / dist * speed;
-        Point pos = controlledObject.transform().position();
-        Transform t = new Transform(pos.x, pos.y, 0, 0, 1.0);
-        Collider c = CircleCollider.create(t, 0, 0, 5);
-
-        GameObject bullet = new GameObject("Bullet2", t, c, new IBehaviour() {
-            private GameObject self;
-
-            @Override public void setControlledObject(GameObject go) { this.self = go; }
-            @Override public void onInit() {}
-            @Override public void onEnabled() {}
-            @Override public void onDisabled() {}
-            @Override public void onDestroy() {}
-            @Override public void onUpdate() {
-                self.transform().move(new Point((int) vx, (int) vy), 0);
-                Point pos = self.transform().position();
-                if (pos.x < 0 || pos.x > screenSize.width || pos.y < 0 || pos.y > screenSize.height) {
-                    GameEngine.getInstance().destroy(self);
-                    return;
-                }
-                for (GameObject target : GameEngine.getInstance().getEnabled()) {
-                    if ((target.name().equals("Player") || target.name().equals("Soldier")) &&
-                        !target.equals(controlledObject) &&
-                        GameEngine.getInstance().detectCollision(self.collider(), target.collider())) {
-
-                        if (target.name().equals("Player")) {
-                            if (shieldActive) {
-                                shieldHitsLeft--;
-                                if (shieldHitsLeft <= 0) shieldActive = false;
-                            } else {
-                                playerHit = true;
-                            }
-                        } else {
-                            Main.addExplosion(target.collider().centroid());
-                            GameEngine.getInstance().destroy(target);
-                        }
-                        GameEngine.getInstance().destroy(self);
-                        break;
-                    }
-                }
-            }
-            @Override public void onCollision(GameObject other) {}
-        });
-        bullet.behaviour().setControlledObject(bullet);
+        ITransform t = controlledObject.transform();
+        GameObject bullet = soldierBullets.acquire((int) t.posX(), (int) t.posY(), 0, 0, 1.0);
+        ((Projectile) bullet.behaviour()).launch(controlledObject, vx, vy, screenSize);
         GameEngine.getInstance().add(bullet);
     }
 
     /**
      * Dispara um projétil na direção em que o jogador estiver apontado
-     * O projétil é criado com uma velocidade fixa e verifica colisões com inimigos, soldados ou o jogador.
+     * O projétil é obtido do pool de projéteis, tem uma velocidade fixa e verifica colisões com inimigos, soldados ou o jogador
+     * ao longo de todo o movimento do frame (deteção contínua), para não atravessar alvos.
      * Se atingir o jogador, verifica se o escudo está ativo e reduz os acertos restantes.
      * Se atingir um inimigo ou soldado, causa uma explosão e remove o alvo atingido.
      */
@@ -374,52 +427,8 @@ public class Behaviour implements IBehaviour {
         double dx = Math.cos(angleRad) * 10;
         double dy = Math.sin(angleRad) * 10;
 
-        Transform bulletT = new Transform(((Transform) t).posX(), ((Transform) t).posY(), t.layer(), t.angle(), 1.0);
-        Collider bulletC = CircleCollider.create(bulletT, 0, 0, 5);
-
-        GameObject bullet = new GameObject("Bullet", bulletT, bulletC, new IBehaviour() {
-            private GameObject self;
-            @Override public void setControlledObject(GameObject go) { this.self = go; }
-            @Override public void onInit() {}
-            @Override public void onEnabled() {}
-            @Override public void onDisabled() {}
-            @Override public void onDestroy() {}
-            @Override public void onUpdate() {
-                self.transform().move(new Point((int) dx, (int) dy), 0);
-                Point pos = self.transform().position();
-                if (pos.x < 0 || pos.x > screenSize.width || pos.y < 0 || pos.y > screenSize.height) {
-                    GameEngine.getInstance().destroy(self);
-                    return;
-                }
-
-                for (GameObject target : GameEngine.getInstance().getEnabled()) {
-                    if ((target.name().equals("Enemy") || target.name().equals("Player") || target.name().startsWith("Soldier")) &&
-                        !target.equals(controlledObject) &&
-                        GameEngine.getInstance().detectCollision(self.collider(), target.collider())) {
-
-                        if (target.name().equals("Player")) {
-                            if (shieldActive) {
-                                shieldHitsLeft--;
-                                if (shieldHitsLeft <= 0) shieldActive = false;
-                            } else {
-                                playerHit = true;
-                            }
-                        } else {
-                            Main.addExplosion(target.collider().centroid());
-                            GameEngine.getInstance().destroy(target);
-                            score++;
-                        }
-
-                        GameEngine.getInstance().destroy(self);
-                        break;
-                    }
-                }
-            }
-
-            @Override public void onCollision(GameObject other) {}
-        });
-
-        bullet.behaviour().setControlledObject(bullet);
+        GameObject bullet = bullets.acquire(t.posX(), t.posY(), t.layer(), t.angle(), 1.0);
+        ((Projectile) bullet.behaviour()).launch(controlledObject, dx, dy, screenSize);
         GameEngine.getInstance().add(bullet);
         playShootSound();
     }
@@ -448,8 +457,7 @@ public class Behaviour implements IBehaviour {
                 @Override public void onDisabled() {}
                 @Override public void onDestroy() {}
                 @Override public void onUpdate() {
-                    GameObject player = GameEngine.getInstance().getEnabled().stream()
-                            .filter(go -> go.name().equals("Player")).findFirst().orElse(null);
+                    GameObject player = GameEngine.getInstance().first(PLAYER);
                     if (player != null && GameEngine.getInstance().detectCollision(self.collider(), player.collider())) {
                         GameEngine.getInstance().destroy(self);
                         shieldActive = true;
@@ -471,7 +479,7 @@ public class Behaviour implements IBehaviour {
      * - Inimigo: verifica se colidiu com um projétil e atualiza a pontuação.
      */
     public void onCollision(GameObject other) {
-        if (controlledObject.name().equals("Enemy") && other.name().equals("Bullet")) {
+        if (controlledObject.tag() == ENEMY && other.tag() == BULLET) {
             Main.addExplosion(controlledObject.collider().centroid());
             GameEngine.getInstance().destroy(controlledObject);
             score++;
@@ -483,4 +491,86 @@ public class Behaviour implements IBehaviour {
      * Pode ser sobrescrito por subclasses para implementar sons específicos.
      */
     protected void playShootSound() {}
+
+    /**
+     * Comportamento dos projéteis. Move o projétil em linha reta, destrói-o quando sai do ecrã e
+     * trata o primeiro alvo atingido ao longo do movimento do frame (deteção contínua).
+     * Os projéteis do jogador e dos inimigos atingem inimigos, soldados e o jogador e contam pontos;
+     * os dos soldados atingem apenas o jogador e outros soldados.
+     */
+    private static final class Projectile implements IBehaviour {
+        private final boolean hitsEnemies;
+        private GameObject self;
+        private GameObject shooter;
+        private Dimension screen;
+        private double vx, vy;
+        private final List<GameObject> targets = new ArrayList<>();
+
+        Projectile(boolean hitsEnemies) {
+            this.hitsEnemies = hitsEnemies;
+        }
+
+        /**
+         * Prepara o projétil para um novo disparo.
+         * @param shooter objeto que disparou, que o projétil nunca atinge
+         * @param vx deslocamento em x por frame
+         * @param vy deslocamento em y por frame
+         * @param screen dimensões do ecrã
+         */
+        void launch(GameObject shooter, double vx, double vy, Dimension screen) {
+            this.shooter = shooter;
+            this.vx = vx;
+            this.vy = vy;
+            this.screen = screen;
+        }
+
+        @Override public void setControlledObject(GameObject go) { this.self = go; }
+        @Override public void onInit() {}
+        @Override public void onEnabled() {}
+        @Override public void onDisabled() {}
+        @Override public void onDestroy() {}
+        @Override public void onCollision(GameObject other) {}
+
+        @Override
+        public void onReset() {
+            shooter = null;
+            vx = 0;
+            vy = 0;
+        }
+
+        @Override
+        public void onUpdate() {
+            Collider c = (Collider) self.collider();
+            c.beginSweep();
+            self.transform().move((int) vx, (int) vy, 0);
+            c.adjustToTransform();
+            int x = (int) self.transform().posX(), y = (int) self.transform().posY();
+            if (x < 0 || x > screen.width || y < 0 || y > screen.height) {
+                GameEngine.getInstance().destroy(self);
+                return;
+            }
+
+            GameEngine.getInstance().overlapping(self.collider(), targets);
+            for (int k = 0; k < targets.size(); k++) {
+                GameObject target = targets.get(k);
+                int tag = target.tag();
+                if ((tag == PLAYER || tag == SOLDIER || (hitsEnemies && tag == ENEMY)) && target != shooter) {
+                    if (tag == PLAYER) {
+                        if (shieldActive) {
+                            shieldHitsLeft--;
+                            if (shieldHitsLeft <= 0) shieldActive = false;
+                        } else {
+                            playerHit = true;
+                        }
+                    } else {
+                        Main.addExplosion(target.collider().centroid());
+                        GameEngine.getInstance().destroy(target);
+                        if (hitsEnemies) score++;
+                    }
+                    GameEngine.getInstance().destroy(self);
+                    break;
+                }
+            }
+        }
+    }
 }
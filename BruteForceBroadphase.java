@@ -0,0 +1,37 @@
+import java.util.List;
+
+/**
+ * Broadphase trivial que devolve todos os pares (i, j) com i < j.
+ * Serve de referência para validar as restantes broadphases.
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ */
+public class BruteForceBroadphase implements IBroadphase {
+    private List<GameObject> objects = List.of();
+    private int count;
+
+    @Override
+    public void update(List<GameObject> objects) {
+        this.objects = objects;
+        count = objects.size();
+    }
+
+    @Override
+    public void findPairs(PairList out) {
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                out.add(i, j);
+            }
+        }
+    }
+
+    @Override
+    public void query(double minX, double minY, double maxX, double maxY, IntList out) {
+        for (int i = 0; i < count; i++) {
+            ICollider c = objects.get(i).collider();
+            if (c.minX() <= maxX && minX <= c.maxX() && c.minY() <= maxY && minY <= c.maxY()) {
+                out.add(i);
+            }
+        }
+    }
+}
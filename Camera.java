@@ -0,0 +1,133 @@
+/**
+ * Câmara que define a parte do mundo visível na janela.
+ * A posição (x(), y()) é o canto superior esquerdo da vista em coordenadas do mundo; as coordenadas
+ * do ecrã obtêm-se subtraindo-a. A margem alarga o retângulo usado para excluir objetos do desenho,
+ * porque os sprites podem ser maiores do que os colliders com que a vista é comparada.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv width() >= 0, height() >= 0, margin() >= 0.
+ */
+public class Camera {
+
+    /**
+     * Margem por omissão, em pixels, à volta da vista.
+     */
+    public static final double DEFAULT_MARGIN = 64;
+
+    private double x, y;
+    private double width, height;
+    private double margin = DEFAULT_MARGIN;
+
+    /**
+     * Cria uma câmara na origem do mundo.
+     * @param width largura da vista
+     * @param height altura da vista
+     */
+    public Camera(double width, double height) {
+        setSize(width, height);
+    }
+
+    /**
+     * Altera o tamanho da vista, por exemplo quando a janela é redimensionada.
+     * @param width largura da vista
+     * @param height altura da vista
+     */
+    public final void setSize(double width, double height) {
+        if (width < 0 || height < 0) throw new IllegalArgumentException("Tamanho da vista inválido: " + width + "x" + height);
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Coloca o canto superior esquerdo da vista num ponto do mundo.
+     * @param x coordenada x do canto
+     * @param y coordenada y do canto
+     */
+    public void setPosition(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Centra a vista num ponto do mundo, por exemplo na posição do jogador.
+     * @param x coordenada x do centro
+     * @param y coordenada y do centro
+     */
+    public void centerOn(double x, double y) {
+        setPosition(x - width / 2, y - height / 2);
+    }
+
+    /**
+     * @param margin margem, em pixels, à volta da vista dentro da qual os objetos ainda são desenhados
+     */
+    public void setMargin(double margin) {
+        if (margin < 0) throw new IllegalArgumentException("margin não pode ser negativa: " + margin);
+        this.margin = margin;
+    }
+
+    /**
+     * @param worldX coordenada x no mundo
+     * @return coordenada x no ecrã
+     */
+    public double toScreenX(double worldX) {
+        return worldX - x;
+    }
+
+    /**
+     * @param worldY coordenada y no mundo
+     * @return coordenada y no ecrã
+     */
+    public double toScreenY(double worldY) {
+        return worldY - y;
+    }
+
+    /**
+     * @return menor coordenada x do retângulo visível, incluindo a margem
+     */
+    public double minX() {
+        return x - margin;
+    }
+
+    /**
+     * @return menor coordenada y do retângulo visível, incluindo a margem
+     */
+    public double minY() {
+        return y - margin;
+    }
+
+    /**
+     * @return maior coordenada x do retângulo visível, incluindo a margem
+     */
+    public double maxX() {
+        return x + width + margin;
+    }
+
+    /**
+     * @return maior coordenada y do retângulo visível, incluindo a margem
+     */
+    public double maxY() {
+        return y + height + margin;
+    }
+
+    /** @return coordenada x do canto superior esquerdo da vista */
+    public double x() { return x; }
+
+    /** @return coordenada y do canto superior esquerdo da vista */
+    public double y() { return y; }
+
+    /** @return largura da vista */
+    public double width() { return width; }
+
+    /** @return altura da vista */
+    public double height() { return height; }
+
+    /** @return margem à volta da vista */
+    public double margin() { return margin; }
+
+    @Override
+    public String toString() {
+        return "Camera(" + x + "," + y + " " + width + "x" + height + ")";
+    }
+}
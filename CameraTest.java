@@ -0,0 +1,38 @@
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Testes unitários para a classe Camera.
+ * Valida a conversão para coordenadas do ecrã e o retângulo visível com margem.
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ */
+public class CameraTest {
+
+    @Test
+    public void testCenterOnAndToScreen() {
+        Camera camera = new Camera(800, 600);
+        camera.centerOn(1000, 500);
+        assertEquals(600, camera.x(), 1e-9);
+        assertEquals(200, camera.y(), 1e-9);
+        assertEquals(400, camera.toScreenX(1000), 1e-9);
+        assertEquals(300, camera.toScreenY(500), 1e-9);
+    }
+
+    @Test
+    public void testVisibleRectangleIncludesMargin() {
+        Camera camera = new Camera(800, 600);
+        camera.setMargin(10);
+        camera.setPosition(100, 50);
+        assertEquals(90, camera.minX(), 1e-9);
+        assertEquals(40, camera.minY(), 1e-9);
+        assertEquals(910, camera.maxX(), 1e-9);
+        assertEquals(660, camera.maxY(), 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeSizeIsRejected() {
+        new Camera(-1, 10);
+    }
+}
@@ -0,0 +1,112 @@
+import java.util.Arrays;
+
+/**
+ * Bloco de tamanho fixo das entidades de um arquétipo.
+ * Cada componente double do arquétipo ocupa um array primitivo com width() valores por entidade,
+ * pela ordem das linhas (linha * width + campo); cada componente referência ocupa um Object[].
+ * As linhas 0 a size() - 1 estão ocupadas, sem buracos.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv 0 <= size() <= CAPACITY.
+ */
+public final class Chunk {
+
+    /**
+     * Número de entidades por chunk.
+     */
+    public static final int CAPACITY = 512;
+
+    private final Archetype archetype;
+    final int[] entities = new int[CAPACITY];
+    final double[][] doubles;
+    final Object[][] references;
+    int size;
+
+    Chunk(Archetype archetype) {
+        this.archetype = archetype;
+        ComponentType[] types = archetype.types();
+        this.doubles = new double[types.length][];
+        this.references = new Object[types.length][];
+        for (int slot = 0; slot < types.length; slot++) {
+            if (types[slot].width() > 0) {
+                doubles[slot] = new double[CAPACITY * types[slot].width()];
+            } else if (types[slot].isReference()) {
+                references[slot] = new Object[CAPACITY];
+            }
+        }
+    }
+
+    /**
+     * @return arquétipo a que o chunk pertence
+     */
+    public Archetype archetype() {
+        return archetype;
+    }
+
+    /**
+     * @return número de entidades no chunk
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param row linha do chunk
+     * @return entidade guardada na linha
+     */
+    public int entity(int row) {
+        return entities[row];
+    }
+
+    /**
+     * Obtém os valores de um componente double; o campo f da linha r está em [r * width + f].
+     * @param type componente double do arquétipo
+     * @return array com os valores do componente
+     */
+    public double[] doubles(ComponentType type) {
+        return doubles[archetype.slot(type)];
+    }
+
+    /**
+     * Obtém as referências de um componente referência, uma por linha.
+     * @param type componente referência do arquétipo
+     * @return array com as referências do componente
+     */
+    public Object[] references(ComponentType type) {
+        return references[archetype.slot(type)];
+    }
+
+    /**
+     * Copia os dados de uma linha para outra linha (possivelmente de outro chunk ou arquétipo).
+     * Os componentes do destino que não existem na origem ficam a zero (ou null).
+     */
+    static void copyRow(Chunk from, int fromRow, Chunk to, int toRow) {
+        ComponentType[] types = to.archetype.types();
+        for (int slot = 0; slot < types.length; slot++) {
+            ComponentType type = types[slot];
+            int fromSlot = from.archetype.slotOrMissing(type);
+            if (type.width() > 0) {
+                int w = type.width();
+                if (fromSlot >= 0) {
+                    System.arraycopy(from.doubles[fromSlot], fromRow * w, to.doubles[slot], toRow * w, w);
+                } else {
+                    Arrays.fill(to.doubles[slot], toRow * w, toRow * w + w, 0);
+                }
+            } else if (type.isReference()) {
+                to.references[slot][toRow] = fromSlot >= 0 ? from.references[fromSlot][fromRow] : null;
+            }
+        }
+        to.entities[toRow] = from.entities[fromRow];
+    }
+
+    /**
+     * Limpa as referências de uma linha que deixou de estar ocupada, para não reter objetos.
+     */
+    void clearRow(int row) {
+        for (Object[] refs : references) {
+            if (refs != null) refs[row] = null;
+        }
+    }
+}
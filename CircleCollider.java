@@ -11,6 +11,16 @@ public class CircleCollider extends Collider {
      */
     private double x, y, r;
 
+    /**
+     * Raio indicado na criação, antes de aplicada a escala da Transform.
+     */
+    private final double baseRadius;
+
+    /**
+     * Centro do círculo no início do varrimento (ver beginSweep()).
+     */
+    private double sweepX, sweepY;
+
     /**
      * Construtor privado para criar um CircleCollider com centro e raio especificados.
      * @param t Transform associada ao colisor
@@ -23,6 +33,9 @@ public class CircleCollider extends Collider {
         this.x = cx;
         this.y = cy;
         this.r = r;
+        this.baseRadius = r;
+        this.sweepX = cx;
+        this.sweepY = cy;
     }
 
     /**
@@ -37,6 +50,7 @@ public class CircleCollider extends Collider {
     public static CircleCollider create(Transform t, double cx, double cy, double r) {
         CircleCollider c = new CircleCollider(t, cx, cy, r);
         c.adjustToTransform();
+        c.beginSweep();
         return c;
     }
 
@@ -44,10 +58,81 @@ public class CircleCollider extends Collider {
     /**
      * Aplica a transformação associada ao colisor, ajustando a posição e o raio
      */
-    public void adjustToTransform() {
-        this.r *= transform.scale();
+    protected void rebuildWorldShape() {
+        this.r = baseRadius * transform.scale();
+        this.x = transform.posX();
+        this.y = transform.posY();
+        if (isContinuous()) {
+            setBounds(Math.min(x, sweepX) - r, Math.min(y, sweepY) - r, Math.max(x, sweepX) + r, Math.max(y, sweepY) + r);
+        } else {
+            setBounds(x - r, y - r, x + r, y + r);
+        }
+    }
+
+    @Override
+    /**
+     * Começa o varrimento na nova posição antes de voltar a aplicar a Transform.
+     */
+    public void reset() {
         this.x = transform.posX();
         this.y = transform.posY();
+        beginSweep();
+        invalidate();
+        adjustToTransform();
+    }
+
+    @Override
+    /**
+     * Guarda o centro atual como início do varrimento.
+     */
+    public void beginSweep() {
+        this.sweepX = x;
+        this.sweepY = y;
+        // A caixa envolvente de um colisor contínuo depende do início do varrimento.
+        if (isContinuous()) invalidate();
+    }
+
+    /**
+     * Calcula o instante do primeiro contacto entre este círculo e outro, considerando que
+     * cada círculo contínuo se moveu em linha reta desde beginSweep() até à posição atual.
+     * Círculos não contínuos são considerados parados na posição atual.
+     * @param other outro círculo
+     * @return fração do movimento em [0, 1] no primeiro contacto, ou -1 se não houver contacto
+     */
+    public double timeOfImpact(CircleCollider other) {
+        double ax = isContinuous() ? sweepX : x, ay = isContinuous() ? sweepY : y;
+        double bx = other.isContinuous() ? other.sweepX : other.x, by = other.isContinuous() ? other.sweepY : other.y;
+
+        // Movimento relativo: o outro círculo fica parado e este percorre d a partir de p.
+        double px = ax - bx, py = ay - by;
+        double dx = (x - ax) - (other.x - bx), dy = (y - ay) - (other.y - by);
+        double radiusSum = r + other.r;
+
+        double c = px * px + py * py - radiusSum * radiusSum;
+        if (c <= 0) return 0;
+        double a = dx * dx + dy * dy;
+        double b = px * dx + py * dy;
+        if (a == 0 || b >= 0) return -1;
+        double disc = b * b - a * c;
+        if (disc < 0) return -1;
+        double t = (-b - Math.sqrt(disc)) / a;
+        return t <= 1 ? t : -1;
+    }
+
+    @Override
+    /**
+     * Interseta um raio com o círculo resolvendo a equação de segundo grau da distância ao centro.
+     */
+    public double raycast(double originX, double originY, double dirX, double dirY, double maxDistance) {
+        double px = originX - x, py = originY - y;
+        double c = px * px + py * py - r * r;
+        if (c <= 0) return 0;
+        double b = px * dirX + py * dirY;
+        if (b >= 0) return -1;
+        double disc = b * b - c;
+        if (disc < 0) return -1;
+        double t = -b - Math.sqrt(disc);
+        return t <= maxDistance ? t : -1;
     }
 
     @Override
@@ -59,6 +144,24 @@ public class CircleCollider extends Collider {
         return new Point((int) x, (int) y);
     }
 
+    @Override
+    /**
+     * Retorna a coordenada x do centro do círculo, sem arredondamento.
+     * @return coordenada x do centro
+     */
+    public double posX() {
+        return x;
+    }
+
+    @Override
+    /**
+     * Retorna a coordenada y do centro do círculo, sem arredondamento.
+     * @return coordenada y do centro
+     */
+    public double posY() {
+        return y;
+    }
+
     /**
      * Retorna o raio do círculo.
      * @return Raio do círculo
@@ -108,7 +211,6 @@ public class CircleCollider extends Collider {
      * @return true se houver colisão, false caso contrário
      */
     public boolean collidesWithPolygon(PolygonCollider polygon) {
-        // Lógica de colisão círculo-polígono (não implementada aqui)
-        return false;
+        return polygon.collidesWithCircle(this);
     }
 }
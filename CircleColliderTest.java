@@ -1,4 +1,4 @@
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 import java.awt.Point;
 import org.junit.Test;
 
@@ -40,4 +40,50 @@ public class CircleColliderTest {
         String result = c.toString();
         assertEquals("(1.20,3.40) 3.00", result);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testTimeOfImpactCatchesTunneling() {
+        Transform enemyT = new Transform(50, 0, 0, 0, 1.0);
+        CircleCollider enemy = CircleCollider.create(enemyT, 0, 0, 10);
+
+        Transform bulletT = new Transform(0, 0, 0, 0, 1.0);
+        CircleCollider bullet = CircleCollider.create(bulletT, 0, 0, 5);
+        bullet.setContinuous(true);
+        bulletT.move(new Point(100, 0), 0);
+        bullet.adjustToTransform();
+
+        assertFalse(bullet.collidesWith(enemy));
+        assertEquals(0.35, bullet.timeOfImpact(enemy), 0.001);
+        assertTrue(GameEngine.getInstance().detectCollision(bullet, enemy));
+        assertTrue(GameEngine.getInstance().detectCollision(enemy, bullet));
+        assertTrue(bullet.minX() <= 0 && bullet.maxX() >= 100);
+
+        bullet.beginSweep();
+        bulletT.move(new Point(100, 0), 0);
+        bullet.adjustToTransform();
+        assertEquals(-1, bullet.timeOfImpact(enemy), 0.001);
+        assertFalse(GameEngine.getInstance().detectCollision(bullet, enemy));
+    }
+
+    @Test
+    public void testDiscreteCollidersDoNotSweep() {
+        Transform enemyT = new Transform(50, 0, 0, 0, 1.0);
+        CircleCollider enemy = CircleCollider.create(enemyT, 0, 0, 10);
+        Transform bulletT = new Transform(0, 0, 0, 0, 1.0);
+        CircleCollider bullet = CircleCollider.create(bulletT, 0, 0, 5);
+        bulletT.move(new Point(100, 0), 0);
+        bullet.adjustToTransform();
+
+        assertFalse(GameEngine.getInstance().detectCollision(bullet, enemy));
+    }
+
+    @Test
+    public void testRaycast() {
+        CircleCollider c = CircleCollider.create(new Transform(50, 0, 0, 0, 1.0), 0, 0, 10);
+        assertEquals(40, c.raycast(0, 0, 1, 0, 100), 1e-9);
+        assertEquals(-1, c.raycast(0, 0, 1, 0, 39), 1e-9);
+        assertEquals(-1, c.raycast(0, 0, -1, 0, 100), 1e-9);
+        assertEquals(-1, c.raycast(0, 11, 1, 0, 100), 1e-9);
+        assertEquals(0, c.raycast(45, 0, 1, 0, 100), 1e-9);
+    }
+}
@@ -1,3 +1,5 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Classe abstrata para colisores que guarda referência à Transform do GameObject a que pertence.
  * Fornece a estrutura comum a todos os tipos de colisor.
@@ -13,6 +15,60 @@
 public abstract class Collider implements ICollider {
     protected Transform transform;
 
+    /**
+     * Gerador de identificadores únicos de colliders.
+     */
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * Identificador único do collider, usado para identificar pares de colliders.
+     */
+    private final int id = nextId.getAndIncrement();
+
+    /**
+     * Indica se o collider é de movimento rápido e deve usar deteção contínua (varrimento).
+     */
+    private boolean continuous;
+
+    /**
+     * Margem (em pixels) acrescentada à caixa envolvente.
+     * Cobre o arredondamento do centroide para coordenadas inteiras usado na deteção de colisões.
+     */
+    public static final double BOUNDS_MARGIN = 1.0;
+
+    /**
+     * Caixa envolvente alinhada aos eixos (AABB) do colisor em coordenadas do mundo.
+     * Atualizada pelas subclasses sempre que adjustToTransform() é invocado.
+     */
+    private double minX, minY, maxX, maxY;
+
+    /**
+     * Folga (em pixels) da caixa envolvente alargada usada pela AABBTree.
+     */
+    public static final double FAT_MARGIN = 8.0;
+
+    /**
+     * Caixa envolvente alargada. Só é recalculada quando a caixa real sai dela,
+     * o que permite às broadphases incrementais ignorar pequenos movimentos.
+     */
+    private double fatMinX, fatMinY, fatMaxX, fatMaxY;
+
+    /**
+     * Incrementado sempre que a caixa alargada é recalculada.
+     */
+    private int fatVersion;
+
+    /**
+     * Número total de recálculos de caixas alargadas, somado sobre todos os colliders.
+     */
+    private static final AtomicInteger fatRefits = new AtomicInteger();
+
+    /**
+     * Versão da Transform (ver Transform.version()) a que correspondem os dados do colisor em
+     * coordenadas do mundo, ou -1 se estes têm de ser recalculados no próximo adjustToTransform().
+     */
+    private int syncedVersion = -1;
+
     /**
      * Construtor da classe Collider.
      * @param t Transform associada ao colisor (posição, rotação e escala).
@@ -21,11 +77,142 @@ public abstract class Collider implements ICollider {
         this.transform = t;
     }
 
+    /**
+     * @return identificador único e não negativo do collider
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * Ativa ou desativa a deteção contínua para este collider.
+     * Colliders contínuos são testados ao longo de todo o movimento desde beginSweep(),
+     * e não apenas na posição final, para não atravessarem objetos quando se movem depressa.
+     * @param continuous true para usar deteção contínua
+     */
+    public void setContinuous(boolean continuous) {
+        this.continuous = continuous;
+        invalidate();
+        beginSweep();
+    }
+
+    /**
+     * @return true se o collider usa deteção contínua
+     */
+    public boolean isContinuous() {
+        return continuous;
+    }
+
+    /**
+     * Marca a posição atual como início do varrimento usado pela deteção contínua.
+     * Deve ser invocado antes de mover a Transform. Por omissão não faz nada.
+     */
+    public void beginSweep() {}
+
     /**
      * Aplica a Transform associada ao colisor, ajustando posição, rotação e escala
      * com base nos dados atuais do GameObject.
+     * Só recalcula a forma do colisor se a Transform mudou desde a última chamada, pelo que
+     * objetos parados não têm custo.
+     */
+    @Override
+    public final void adjustToTransform() {
+        int version = transform.version();
+        if (version == syncedVersion) return;
+        syncedVersion = version;
+        rebuildWorldShape();
+    }
+
+    /**
+     * Recalcula os dados do colisor em coordenadas do mundo (posição, vértices, caixa envolvente)
+     * a partir da Transform e dos dados locais guardados na criação.
+     */
+    protected abstract void rebuildWorldShape();
+
+    /**
+     * Obriga o próximo adjustToTransform() a recalcular a forma do colisor mesmo que a Transform
+     * não tenha mudado, por exemplo quando muda o início do varrimento.
+     */
+    protected void invalidate() {
+        syncedVersion = -1;
+    }
+
+    /**
+     * Repõe o estado inicial do colisor para a Transform atual, depois de esta ter sido
+     * redefinida (ver GameObjectPool). O varrimento recomeça na nova posição.
+     */
+    public void reset() {
+        invalidate();
+        adjustToTransform();
+        beginSweep();
+    }
+
+    /**
+     * Atualiza a caixa envolvente do colisor, acrescentando BOUNDS_MARGIN em todas as direções.
+     * @param minX menor coordenada x ocupada pelo colisor
+     * @param minY menor coordenada y ocupada pelo colisor
+     * @param maxX maior coordenada x ocupada pelo colisor
+     * @param maxY maior coordenada y ocupada pelo colisor
+     */
+    protected void setBounds(double minX, double minY, double maxX, double maxY) {
+        this.minX = minX - BOUNDS_MARGIN;
+        this.minY = minY - BOUNDS_MARGIN;
+        this.maxX = maxX + BOUNDS_MARGIN;
+        this.maxY = maxY + BOUNDS_MARGIN;
+
+        if (this.minX < fatMinX || this.minY < fatMinY || this.maxX > fatMaxX || this.maxY > fatMaxY) {
+            fatMinX = this.minX - FAT_MARGIN;
+            fatMinY = this.minY - FAT_MARGIN;
+            fatMaxX = this.maxX + FAT_MARGIN;
+            fatMaxY = this.maxY + FAT_MARGIN;
+            fatVersion++;
+            fatRefits.incrementAndGet();
+            if (transform != null) transform.markRefit();
+        }
+    }
+
+    @Override
+    public double minX() { return minX; }
+
+    @Override
+    public double minY() { return minY; }
+
+    @Override
+    public double maxX() { return maxX; }
+
+    @Override
+    public double maxY() { return maxY; }
+
+    /**
+     * @return menor coordenada x da caixa envolvente alargada
+     */
+    public double fatMinX() { return fatMinX; }
+
+    /**
+     * @return menor coordenada y da caixa envolvente alargada
+     */
+    public double fatMinY() { return fatMinY; }
+
+    /**
+     * @return maior coordenada x da caixa envolvente alargada
+     */
+    public double fatMaxX() { return fatMaxX; }
+
+    /**
+     * @return maior coordenada y da caixa envolvente alargada
+     */
+    public double fatMaxY() { return fatMaxY; }
+
+    /**
+     * @return versão da caixa alargada, incrementada sempre que esta é recalculada
+     */
+    public int fatVersion() { return fatVersion; }
+
+    /**
+     * Permite saber se alguma caixa alargada mudou desde uma leitura anterior.
+     * @return número total de recálculos de caixas alargadas de todos os colliders
      */
-    public abstract void adjustToTransform();
+    public static int fatRefits() { return fatRefits.get(); }
 
     /**
      * Representação textual do colisor.
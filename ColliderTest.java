@@ -1,4 +1,5 @@
 import static org.junit.Assert.*;
+import java.awt.Point;
 import org.junit.Test;
 
 public class ColliderTest {
@@ -29,4 +30,47 @@ public class ColliderTest {
         assertTrue(result.startsWith("("));
         assertTrue(result.contains("5.00"));
     }
+
+    @Test
+    public void testFatBoundsOnlyRefitWhenLeft() {
+        Transform t = new Transform(100, 100, 0, 0, 1.0);
+        CircleCollider c = CircleCollider.create(t, 0, 0, 5);
+        int version = c.fatVersion();
+        assertTrue(c.fatMinX() <= c.minX() && c.fatMaxX() >= c.maxX());
+
+        t.move(new Point(2, 2), 0);
+        c.adjustToTransform();
+        assertEquals(version, c.fatVersion());
+
+        t.move(new Point(50, 0), 0);
+        c.adjustToTransform();
+        assertEquals(version + 1, c.fatVersion());
+        assertTrue(c.fatMinX() <= c.minX() && c.fatMaxX() >= c.maxX());
+    }
+
+    @Test
+    public void testRadiusDoesNotCompoundWithScale() {
+        Transform t = new Transform(0, 0, 0, 0, 0.5);
+        CircleCollider c = CircleCollider.create(t, 0, 0, 10);
+        assertEquals(5.0, c.getRadius(), 0.01);
+
+        c.adjustToTransform();
+        t.move(1, 0, 0);
+        c.adjustToTransform();
+        assertEquals(5.0, c.getRadius(), 0.01);
+    }
+
+    @Test
+    public void testBeginSweepRebuildsBoundsWithoutMoving() {
+        Transform t = new Transform(0, 0, 0, 0, 1.0);
+        CircleCollider c = CircleCollider.create(t, 0, 0, 5);
+        c.setContinuous(true);
+        t.move(100, 0, 0);
+        c.adjustToTransform();
+        assertTrue(c.minX() < 0);
+
+        c.beginSweep();
+        c.adjustToTransform();
+        assertEquals(95 - Collider.BOUNDS_MARGIN, c.minX(), 1e-9);
+    }
 }
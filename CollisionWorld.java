@@ -0,0 +1,265 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Mundo de colisões dividido por layer.
+ * Cada layer da Transform tem a sua própria broadphase, e uma matriz de colisão indica que pares
+ * de layers podem colidir. Pares de layers que nunca colidem nunca são enumerados.
+ *
+ * As partições são mantidas de forma incremental: cada objeto fica na partição da sua layer entre frames
+ * e só é movido quando a layer muda (ou retirado quando deixa de estar ativo); a broadphase antiga e a
+ * nova tratam a mudança pelos seus mecanismos incrementais.
+ * Como o número de layers é pequeno, as partições e a matriz são procuradas linearmente,
+ * o que evita alocar chaves (boxing) a cada frame.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv Por omissão, cada layer colide apenas consigo própria.
+ */
+public class CollisionWorld {
+
+    /**
+     * Partição de uma layer: a sua broadphase, os objetos da layer
+     * e o índice de cada objeto na lista global do último findPairs().
+     */
+    private static class Partition {
+        final int layer;
+        final IBroadphase broadphase;
+        final List<GameObject> members = new ArrayList<>();
+        int[] globalIndex = new int[16];
+
+        Partition(int layer, IBroadphase broadphase) {
+            this.layer = layer;
+            this.broadphase = broadphase;
+        }
+
+        /**
+         * @return posição do objeto em members
+         */
+        int add(GameObject go, int index) {
+            if (members.size() == globalIndex.length) {
+                globalIndex = Arrays.copyOf(globalIndex, globalIndex.length * 2);
+            }
+            globalIndex[members.size()] = index;
+            members.add(go);
+            return members.size() - 1;
+        }
+    }
+
+    private Supplier<IBroadphase> factory;
+    private final List<Partition> active = new ArrayList<>();
+
+    /**
+     * Partição e posição nela de cada objeto, indexadas por GameObject.id() (partição null se o objeto
+     * não está em nenhuma), e último frame em que o objeto foi visto.
+     */
+    private Partition[] owner = new Partition[0];
+    private int[] slot = new int[0];
+    private int[] seen = new int[0];
+    private int frame;
+
+    /**
+     * Pares de layers (pairKey()) cujo valor na matriz de colisão difere da regra por omissão.
+     */
+    private long[] exceptions = new long[8];
+    private int exceptionCount;
+
+    private final PairList localPairs = new PairList();
+    private final IntList localHits = new IntList();
+
+    /**
+     * Cria um mundo de colisões.
+     * @param factory cria a broadphase de cada nova partição
+     */
+    public CollisionWorld(Supplier<IBroadphase> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Define a broadphase das partições. As partições existentes são descartadas
+     * e recriadas no próximo findPairs().
+     * @param factory cria a broadphase de cada nova partição
+     */
+    public void setBroadphase(Supplier<IBroadphase> factory) {
+        this.factory = factory;
+        active.clear();
+        Arrays.fill(owner, null);
+    }
+
+    /**
+     * Define se objetos de duas layers podem colidir.
+     * @param layerA primeira layer
+     * @param layerB segunda layer (pode ser igual à primeira)
+     * @param collide true se os pares destas layers devem ser testados
+     */
+    public void setLayerCollision(int layerA, int layerB, boolean collide) {
+        long key = pairKey(layerA, layerB);
+        int index = exceptionIndex(key);
+        if (collide == (layerA == layerB)) {
+            if (index >= 0) exceptions[index] = exceptions[--exceptionCount];
+        } else if (index < 0) {
+            if (exceptionCount == exceptions.length) {
+                exceptions = Arrays.copyOf(exceptions, exceptionCount * 2);
+            }
+            exceptions[exceptionCount++] = key;
+        }
+    }
+
+    /**
+     * @param layerA primeira layer
+     * @param layerB segunda layer
+     * @return true se objetos destas layers podem colidir
+     */
+    public boolean canCollide(int layerA, int layerB) {
+        return (layerA == layerB) != (exceptionIndex(pairKey(layerA, layerB)) >= 0);
+    }
+
+    private int exceptionIndex(long key) {
+        for (int k = 0; k < exceptionCount; k++) {
+            if (exceptions[k] == key) return k;
+        }
+        return -1;
+    }
+
+    /**
+     * Atualiza as partições (movendo apenas os objetos que mudaram de layer, entraram ou saíram),
+     * atualiza as broadphases e acrescenta a out os pares candidatos (i, j), com i < j e índices
+     * em objects, de layers que podem colidir.
+     * @param objects objetos ativos, com os colliders já ajustados
+     * @param out lista onde os pares são acrescentados
+     */
+    public void findPairs(List<GameObject> objects, PairList out) {
+        frame++;
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject go = objects.get(i);
+            int id = go.id();
+            if (id >= owner.length) grow(id);
+            seen[id] = frame;
+            Partition p = owner[id];
+            int layer = go.transform().layer();
+            if (p != null && p.layer == layer) {
+                p.globalIndex[slot[id]] = i;
+                continue;
+            }
+            if (p != null) removeMember(p, slot[id]);
+            p = partition(layer);
+            if (p == null) {
+                p = new Partition(layer, factory.get());
+                active.add(p);
+            }
+            owner[id] = p;
+            slot[id] = p.add(go, i);
+        }
+
+        for (int a = active.size() - 1; a >= 0; a--) {
+            Partition p = active.get(a);
+            for (int k = p.members.size() - 1; k >= 0; k--) {
+                GameObject go = p.members.get(k);
+                if (seen[go.id()] != frame) {
+                    owner[go.id()] = null;
+                    removeMember(p, k);
+                }
+            }
+            p.broadphase.update(p.members);
+            if (p.members.isEmpty()) {
+                active.remove(a);
+            }
+        }
+
+        for (int a = 0; a < active.size(); a++) {
+            Partition pa = active.get(a);
+            if (canCollide(pa.layer, pa.layer)) {
+                localPairs.clear();
+                pa.broadphase.findPairs(localPairs);
+                for (int k = 0; k < localPairs.size(); k++) {
+                    addPair(out, pa.globalIndex[localPairs.first(k)], pa.globalIndex[localPairs.second(k)]);
+                }
+            }
+            for (int b = a + 1; b < active.size(); b++) {
+                Partition pb = active.get(b);
+                if (canCollide(pa.layer, pb.layer)) {
+                    crossPairs(pa, pb, out);
+                }
+            }
+        }
+    }
+
+    /**
+     * Acrescenta a out os índices (em objects do último findPairs()) dos objetos de todas as layers
+     * cuja caixa envolvente se sobrepõe à caixa indicada.
+     * @param minX menor coordenada x da caixa
+     * @param minY menor coordenada y da caixa
+     * @param maxX maior coordenada x da caixa
+     * @param maxY maior coordenada y da caixa
+     * @param out lista onde os índices são acrescentados
+     */
+    public void query(double minX, double minY, double maxX, double maxY, IntList out) {
+        for (int a = 0; a < active.size(); a++) {
+            Partition p = active.get(a);
+            localHits.clear();
+            p.broadphase.query(minX, minY, maxX, maxY, localHits);
+            for (int k = 0; k < localHits.size(); k++) {
+                out.add(p.globalIndex[localHits.get(k)]);
+            }
+        }
+    }
+
+    /**
+     * Retira um objeto de uma partição, substituindo-o pelo último.
+     */
+    private void removeMember(Partition p, int k) {
+        int lastIndex = p.members.size() - 1;
+        GameObject last = p.members.remove(lastIndex);
+        if (k != lastIndex) {
+            p.members.set(k, last);
+            p.globalIndex[k] = p.globalIndex[lastIndex];
+            slot[last.id()] = k;
+        }
+    }
+
+    private void grow(int id) {
+        int capacity = Math.max(id + 1, owner.length * 2);
+        owner = Arrays.copyOf(owner, capacity);
+        slot = Arrays.copyOf(slot, capacity);
+        seen = Arrays.copyOf(seen, capacity);
+    }
+
+    /**
+     * @return partição ativa da layer indicada, ou null
+     */
+    private Partition partition(int layer) {
+        for (int a = 0; a < active.size(); a++) {
+            if (active.get(a).layer == layer) return active.get(a);
+        }
+        return null;
+    }
+
+    /**
+     * Pares entre duas partições: cada objeto da partição menor consulta a broadphase da maior.
+     */
+    private void crossPairs(Partition pa, Partition pb, PairList out) {
+        Partition small = pa.members.size() <= pb.members.size() ? pa : pb;
+        Partition large = small == pa ? pb : pa;
+        for (int s = 0; s < small.members.size(); s++) {
+            ICollider c = small.members.get(s).collider();
+            localHits.clear();
+            large.broadphase.query(c.minX(), c.minY(), c.maxX(), c.maxY(), localHits);
+            for (int k = 0; k < localHits.size(); k++) {
+                addPair(out, small.globalIndex[s], large.globalIndex[localHits.get(k)]);
+            }
+        }
+    }
+
+    private static void addPair(PairList out, int i, int j) {
+        out.add(Math.min(i, j), Math.max(i, j));
+    }
+
+    private static long pairKey(int layerA, int layerB) {
+        int lo = Math.min(layerA, layerB);
+        int hi = Math.max(layerA, layerB);
+        return ((long) lo << 32) | (hi & 0xffffffffL);
+    }
+}
@@ -0,0 +1,135 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tipo de componente do EntityWorld.
+ * Um componente pode guardar width() valores double por entidade (guardados em arrays primitivos
+ * contíguos em cada Chunk), uma referência para um objeto, ou nada (marcador, que apenas
+ * distingue arquétipos).
+ * Cada tipo tem um identificador entre 0 e MAX_TYPES - 1, usado como bit da máscara dos arquétipos.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv 0 <= id() < MAX_TYPES. Dois tipos distintos têm identificadores distintos.
+ */
+public final class ComponentType {
+
+    /**
+     * Número máximo de tipos de componente (bits de uma máscara long).
+     */
+    public static final int MAX_TYPES = 64;
+
+    private static final List<ComponentType> registry = new ArrayList<>();
+
+    private final int id;
+    private final String name;
+    private final int width;
+    private final boolean reference;
+
+    private ComponentType(int id, String name, int width, boolean reference) {
+        this.id = id;
+        this.name = name;
+        this.width = width;
+        this.reference = reference;
+    }
+
+    /**
+     * Regista um componente com width valores double por entidade.
+     * @param name nome do componente
+     * @param width número de valores por entidade (por exemplo 2 para x e y)
+     * @return novo tipo de componente
+     */
+    public static ComponentType doubles(String name, int width) {
+        if (width <= 0) throw new IllegalArgumentException("width deve ser positivo: " + width);
+        return register(name, width, false);
+    }
+
+    /**
+     * Regista um componente que guarda uma referência por entidade.
+     * @param name nome do componente
+     * @return novo tipo de componente
+     */
+    public static ComponentType reference(String name) {
+        return register(name, 0, true);
+    }
+
+    /**
+     * Regista um componente marcador, sem dados.
+     * @param name nome do componente
+     * @return novo tipo de componente
+     */
+    public static ComponentType marker(String name) {
+        return register(name, 0, false);
+    }
+
+    private static synchronized ComponentType register(String name, int width, boolean reference) {
+        if (registry.size() == MAX_TYPES) {
+            throw new IllegalStateException("Demasiados tipos de componente: " + name);
+        }
+        ComponentType type = new ComponentType(registry.size(), name, width, reference);
+        registry.add(type);
+        return type;
+    }
+
+    /**
+     * Calcula a máscara de um conjunto de tipos.
+     * @param types tipos de componente
+     * @return máscara com o bit de cada tipo
+     */
+    public static long mask(ComponentType... types) {
+        long mask = 0;
+        for (ComponentType type : types) {
+            mask |= type.bit();
+        }
+        return mask;
+    }
+
+    /**
+     * @param id identificador de um tipo registado
+     * @return tipo de componente com esse identificador
+     */
+    static synchronized ComponentType byId(int id) {
+        return registry.get(id);
+    }
+
+    /**
+     * @return identificador do tipo
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * @return bit do tipo nas máscaras dos arquétipos
+     */
+    public long bit() {
+        return 1L << id;
+    }
+
+    /**
+     * @return nome do componente
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return número de valores double por entidade (0 para referências e marcadores)
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * @return true se o componente guarda uma referência por entidade
+     */
+    public boolean isReference() {
+        return reference;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Tipos de componente usados pelo motor.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv Cada tipo é registado uma única vez.
+ */
+public final class Components {
+
+    /**
+     * Posição (x, y) da entidade.
+     */
+    public static final ComponentType POSITION = ComponentType.doubles("Position", 2);
+
+    /**
+     * Velocidade (vx, vy) da entidade, em pixels por segundo.
+     */
+    public static final ComponentType VELOCITY = ComponentType.doubles("Velocity", 2);
+
+    /**
+     * Layer da entidade (guardada como double para poder ser alterada por sistemas).
+     */
+    public static final ComponentType LAYER = ComponentType.doubles("Layer", 1);
+
+    /**
+     * Caixa envolvente (minX, minY, maxX, maxY) do collider da entidade.
+     */
+    public static final ComponentType BOUNDS = ComponentType.doubles("Bounds", 4);
+
+    /**
+     * GameObject representado pela entidade (ver GameObjectSystem).
+     */
+    public static final ComponentType GAME_OBJECT = ComponentType.reference("GameObject");
+
+    private Components() {}
+}
@@ -0,0 +1,209 @@
+import java.util.Arrays;
+
+/**
+ * Cache persistente dos pares de GameObjects em contacto.
+ * Os pares são identificados por PairSet.pack() sobre os ids dos objetos e guardados numa tabela
+ * de endereçamento aberto juntamente com os dois objetos e o frame em que foram vistos.
+ * Comparando o frame de cada par com o frame atual distingue-se o início, a continuação e o fim
+ * de cada contacto, sem alocar mapas ou listas por frame.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv A tabela nunca fica mais de 50% ocupada. Cada par guardado foi visto num frame <= frame atual.
+ */
+public class ContactCache {
+
+    /**
+     * Estados devolvidos por touch().
+     */
+    public static final int BEGIN = 0;
+    public static final int STAY = 1;
+
+    private long[] keys;
+    private GameObject[] first, second;
+    private int[] seen;
+    private int mask;
+    private int size;
+    private int frame;
+
+    /**
+     * Pares cujo contacto terminou no último endFrame().
+     */
+    private long[] endedKeys = new long[16];
+    private GameObject[] endedFirst = new GameObject[16], endedSecond = new GameObject[16];
+    private int endedCount;
+
+    /**
+     * Cria uma cache vazia.
+     */
+    public ContactCache() {
+        allocate(64);
+    }
+
+    /**
+     * Inicia um novo frame de contactos.
+     */
+    public void beginFrame() {
+        frame++;
+    }
+
+    /**
+     * Regista que dois objetos estão em contacto no frame atual.
+     * @param a primeiro objeto
+     * @param b segundo objeto
+     * @return BEGIN se o contacto começou neste frame, STAY se já existia
+     */
+    public int touch(GameObject a, GameObject b) {
+        long key = PairSet.pack(a.id(), b.id());
+        int slot = find(key);
+        if (keys[slot] == key) {
+            seen[slot] = frame;
+            return STAY;
+        }
+        keys[slot] = key;
+        first[slot] = a.id() < b.id() ? a : b;
+        second[slot] = a.id() < b.id() ? b : a;
+        seen[slot] = frame;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return BEGIN;
+    }
+
+    /**
+     * Remove os pares que não foram tocados no frame atual.
+     * Os pares removidos ficam disponíveis através de endedCount(), endedFirst() e endedSecond(),
+     * ordenados pelos ids dos objetos.
+     */
+    public void endFrame() {
+        endedCount = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == PairSet.EMPTY || seen[slot] == frame) continue;
+            if (endedCount == endedKeys.length) {
+                endedKeys = Arrays.copyOf(endedKeys, endedCount * 2);
+            }
+            endedKeys[endedCount++] = keys[slot];
+        }
+        Arrays.sort(endedKeys, 0, endedCount);
+
+        if (endedFirst.length < endedCount) {
+            endedFirst = new GameObject[endedKeys.length];
+            endedSecond = new GameObject[endedKeys.length];
+        }
+        for (int k = 0; k < endedCount; k++) {
+            int slot = find(endedKeys[k]);
+            endedFirst[k] = first[slot];
+            endedSecond[k] = second[slot];
+            removeAt(slot);
+        }
+    }
+
+    /**
+     * @return número de contactos terminados no último endFrame()
+     */
+    public int endedCount() {
+        return endedCount;
+    }
+
+    /**
+     * @param k posição do contacto terminado
+     * @return objeto com o menor id do contacto k
+     */
+    public GameObject endedFirst(int k) {
+        return endedFirst[k];
+    }
+
+    /**
+     * @param k posição do contacto terminado
+     * @return objeto com o maior id do contacto k
+     */
+    public GameObject endedSecond(int k) {
+        return endedSecond[k];
+    }
+
+    /**
+     * @param a primeiro objeto
+     * @param b segundo objeto
+     * @return true se os objetos estão registados em contacto
+     */
+    public boolean contains(GameObject a, GameObject b) {
+        long key = PairSet.pack(a.id(), b.id());
+        return keys[find(key)] == key;
+    }
+
+    /**
+     * @return número de pares em contacto
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove todos os pares sem gerar fins de contacto.
+     */
+    public void clear() {
+        Arrays.fill(keys, PairSet.EMPTY);
+        Arrays.fill(first, null);
+        Arrays.fill(second, null);
+        size = 0;
+        endedCount = 0;
+    }
+
+    private void removeAt(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != PairSet.EMPTY) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                first[hole] = first[next];
+                second[hole] = second[next];
+                seen[hole] = seen[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = PairSet.EMPTY;
+        first[hole] = null;
+        second[hole] = null;
+        size--;
+    }
+
+    private int find(long key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != PairSet.EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        first = new GameObject[capacity];
+        second = new GameObject[capacity];
+        seen = new int[capacity];
+        Arrays.fill(keys, PairSet.EMPTY);
+        mask = capacity - 1;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        GameObject[] oldFirst = first, oldSecond = second;
+        int[] oldSeen = seen;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == PairSet.EMPTY) continue;
+            int slot = find(oldKeys[i]);
+            keys[slot] = oldKeys[i];
+            first[slot] = oldFirst[i];
+            second[slot] = oldSecond[i];
+            seen[slot] = oldSeen[i];
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,334 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Mundo de entidades organizado por arquétipos (entity-component-system).
+ * Uma entidade é um inteiro; os seus componentes vivem numa linha de um Chunk do arquétipo
+ * correspondente ao seu conjunto de componentes. Acrescentar ou retirar um componente move a
+ * entidade para outro arquétipo. Os sistemas (ISystem) percorrem os chunks dos arquétipos que
+ * têm os componentes de que precisam, sem chamadas virtuais por entidade.
+ *
+ * Uma entidade é identificada por um handle com o índice da sua posição (INDEX_BITS bits) e a geração
+ * desse índice. Os índices de entidades destruídas são reutilizados, mas com a geração seguinte, pelo
+ * que um handle de uma entidade destruída nunca volta a ser válido: isAlive() devolve false e os
+ * restantes métodos lançam IllegalArgumentException. Um índice cuja geração chegou a MAX_GENERATION
+ * deixa de ser reutilizado.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv Cada entidade viva ocupa exatamente uma linha de um chunk. size() é o número de entidades vivas.
+ *      Os handles são não negativos.
+ */
+public class EntityWorld {
+
+    /**
+     * Número de bits do índice num handle de entidade; os restantes bits (exceto o de sinal) são a geração.
+     */
+    public static final int INDEX_BITS = 22;
+    public static final int MAX_ENTITIES = 1 << INDEX_BITS;
+    public static final int MAX_GENERATION = (1 << (31 - INDEX_BITS)) - 1;
+    private static final int INDEX_MASK = MAX_ENTITIES - 1;
+
+    private final ArchetypeMap archetypesByMask = new ArchetypeMap();
+    private final List<Archetype> archetypes = new ArrayList<>();
+    private final List<Archetype> archetypesView = Collections.unmodifiableList(archetypes);
+
+    /**
+     * Localização de cada índice de entidade (chunk e linha), chunk null se a entidade não existe,
+     * e geração atual do índice.
+     */
+    private Chunk[] entityChunk = new Chunk[64];
+    private int[] entityRow = new int[64];
+    private int[] generation = new int[64];
+    private int nextEntity;
+    private int[] free = new int[16];
+    private int freeCount;
+    private int size;
+
+    /**
+     * Cria uma entidade com os componentes indicados, com valores a zero (ou null).
+     * @param types componentes da entidade
+     * @return handle da entidade
+     */
+    public int create(ComponentType... types) {
+        int index;
+        if (freeCount > 0) {
+            index = free[--freeCount];
+        } else {
+            if (nextEntity == MAX_ENTITIES) throw new IllegalStateException("Demasiadas entidades");
+            index = nextEntity++;
+            if (index == entityChunk.length) {
+                entityChunk = Arrays.copyOf(entityChunk, index * 2);
+                entityRow = Arrays.copyOf(entityRow, index * 2);
+                generation = Arrays.copyOf(generation, index * 2);
+            }
+        }
+        int entity = (generation[index] << INDEX_BITS) | index;
+        Archetype archetype = archetype(ComponentType.mask(types));
+        Chunk chunk = archetype.chunkWithSpace();
+        int row = chunk.size++;
+        chunk.entities[row] = entity;
+        ComponentType[] all = archetype.types();
+        for (int slot = 0; slot < all.length; slot++) {
+            int w = all[slot].width();
+            if (w > 0) Arrays.fill(chunk.doubles[slot], row * w, row * w + w, 0);
+        }
+        entityChunk[index] = chunk;
+        entityRow[index] = row;
+        size++;
+        return entity;
+    }
+
+    /**
+     * Destrói uma entidade. A última entidade do arquétipo passa a ocupar a sua linha e o índice
+     * passa à geração seguinte, invalidando o handle.
+     * @param entity entidade viva
+     */
+    public void destroy(int entity) {
+        Chunk chunk = chunkOf(entity);
+        int index = entity & INDEX_MASK;
+        removeRow(chunk, entityRow[index]);
+        entityChunk[index] = null;
+        size--;
+        if (++generation[index] > MAX_GENERATION) return;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = index;
+    }
+
+    /**
+     * @param entity handle de entidade
+     * @return true se a entidade existe, ou seja, se o índice está ocupado e com a geração do handle
+     */
+    public boolean isAlive(int entity) {
+        if (entity < 0) return false;
+        int index = entity & INDEX_MASK;
+        return index < nextEntity && entityChunk[index] != null && generation[index] == entity >>> INDEX_BITS;
+    }
+
+    /**
+     * @param entity handle de entidade
+     * @return índice da entidade, entre 0 e MAX_ENTITIES - 1
+     */
+    public static int index(int entity) {
+        return entity & INDEX_MASK;
+    }
+
+    /**
+     * @param entity handle de entidade
+     * @return geração da entidade, entre 0 e MAX_GENERATION
+     */
+    public static int generation(int entity) {
+        return entity >>> INDEX_BITS;
+    }
+
+    /**
+     * @param entity entidade viva
+     * @param type tipo de componente
+     * @return true se a entidade tem o componente
+     */
+    public boolean has(int entity, ComponentType type) {
+        return chunkOf(entity).archetype().has(type);
+    }
+
+    /**
+     * Acrescenta um componente a uma entidade, movendo-a para o arquétipo correspondente.
+     * Os valores do novo componente começam a zero (ou null). Não faz nada se a entidade já o tiver.
+     * @param entity entidade viva
+     * @param type componente a acrescentar
+     */
+    public void add(int entity, ComponentType type) {
+        Archetype from = chunkOf(entity).archetype();
+        if (from.has(type)) return;
+        Archetype to = from.addEdge(type);
+        if (to == null) {
+            to = archetype(from.mask() | type.bit());
+            from.setAddEdge(type, to);
+        }
+        move(entity, to);
+    }
+
+    /**
+     * Retira um componente de uma entidade, movendo-a para o arquétipo correspondente.
+     * Não faz nada se a entidade não o tiver.
+     * @param entity entidade viva
+     * @param type componente a retirar
+     */
+    public void remove(int entity, ComponentType type) {
+        Archetype from = chunkOf(entity).archetype();
+        if (!from.has(type)) return;
+        Archetype to = from.removeEdge(type);
+        if (to == null) {
+            to = archetype(from.mask() & ~type.bit());
+            from.setRemoveEdge(type, to);
+        }
+        move(entity, to);
+    }
+
+    /**
+     * @param entity entidade viva
+     * @param type componente double da entidade
+     * @param field campo do componente, entre 0 e type.width() - 1
+     * @return valor do campo
+     */
+    public double get(int entity, ComponentType type, int field) {
+        Chunk chunk = chunkOf(entity);
+        return chunk.doubles(type)[entityRow[entity & INDEX_MASK] * type.width() + field];
+    }
+
+    /**
+     * @param entity entidade viva
+     * @param type componente double da entidade
+     * @param field campo do componente, entre 0 e type.width() - 1
+     * @param value novo valor do campo
+     */
+    public void set(int entity, ComponentType type, int field, double value) {
+        Chunk chunk = chunkOf(entity);
+        chunk.doubles(type)[entityRow[entity & INDEX_MASK] * type.width() + field] = value;
+    }
+
+    /**
+     * @param entity entidade viva
+     * @param type componente referência da entidade
+     * @return referência guardada
+     */
+    public Object getReference(int entity, ComponentType type) {
+        return chunkOf(entity).references(type)[entityRow[entity & INDEX_MASK]];
+    }
+
+    /**
+     * @param entity entidade viva
+     * @param type componente referência da entidade
+     * @param value referência a guardar
+     */
+    public void setReference(int entity, ComponentType type, Object value) {
+        chunkOf(entity).references(type)[entityRow[entity & INDEX_MASK]] = value;
+    }
+
+    /**
+     * Executa um sistema sobre todos os chunks não vazios dos arquétipos com os seus componentes.
+     * @param system sistema a executar
+     */
+    public void run(ISystem system) {
+        long required = ComponentType.mask(system.components());
+        for (int a = 0; a < archetypes.size(); a++) {
+            Archetype archetype = archetypes.get(a);
+            if (!archetype.matches(required)) continue;
+            List<Chunk> chunks = archetype.chunks();
+            for (int c = 0; c < chunks.size(); c++) {
+                if (chunks.get(c).size > 0) system.update(chunks.get(c));
+            }
+        }
+    }
+
+    /**
+     * @return arquétipos criados até agora, pela ordem de criação
+     */
+    public List<Archetype> archetypes() {
+        return archetypesView;
+    }
+
+    /**
+     * @return número de entidades vivas
+     */
+    public int size() {
+        return size;
+    }
+
+    private Chunk chunkOf(int entity) {
+        if (!isAlive(entity)) throw new IllegalArgumentException("Entidade inexistente: " + entity);
+        return entityChunk[entity & INDEX_MASK];
+    }
+
+    private Archetype archetype(long mask) {
+        Archetype archetype = archetypesByMask.get(mask);
+        if (archetype == null) {
+            archetype = new Archetype(mask);
+            archetypesByMask.put(archetype);
+            archetypes.add(archetype);
+        }
+        return archetype;
+    }
+
+    /**
+     * Copia a entidade para o arquétipo indicado e liberta a linha antiga.
+     */
+    private void move(int entity, Archetype archetype) {
+        Chunk from = entityChunk[entity & INDEX_MASK];
+        int fromRow = entityRow[entity & INDEX_MASK];
+        Chunk to = archetype.chunkWithSpace();
+        int toRow = to.size++;
+        Chunk.copyRow(from, fromRow, to, toRow);
+        removeRow(from, fromRow);
+        entityChunk[entity & INDEX_MASK] = to;
+        entityRow[entity & INDEX_MASK] = toRow;
+    }
+
+    /**
+     * Liberta uma linha, preenchendo-a com a última entidade do arquétipo para manter os chunks densos.
+     */
+    private void removeRow(Chunk chunk, int row) {
+        Archetype archetype = chunk.archetype();
+        Chunk last = archetype.lastChunk();
+        int lastRow = last.size - 1;
+        if (last != chunk || lastRow != row) {
+            Chunk.copyRow(last, lastRow, chunk, row);
+            int moved = chunk.entities[row];
+            entityChunk[moved & INDEX_MASK] = chunk;
+            entityRow[moved & INDEX_MASK] = row;
+        }
+        last.clearRow(lastRow);
+        last.size--;
+        archetype.trim();
+    }
+
+    /**
+     * Tabela de arquétipos indexada pela máscara, com endereçamento aberto e sondagem linear sobre
+     * arrays primitivos, sem caixas Long. Os arquétipos nunca são retirados.
+     */
+    private static final class ArchetypeMap {
+        private long[] keys = new long[64];
+        private Archetype[] values = new Archetype[64];
+        private int size;
+
+        Archetype get(long mask) {
+            int m = keys.length - 1;
+            for (int slot = hash(mask) & m; values[slot] != null; slot = (slot + 1) & m) {
+                if (keys[slot] == mask) return values[slot];
+            }
+            return null;
+        }
+
+        void put(Archetype archetype) {
+            if ((size + 1) * 2 > keys.length) grow();
+            insert(archetype);
+            size++;
+        }
+
+        private void insert(Archetype archetype) {
+            int m = keys.length - 1;
+            int slot = hash(archetype.mask()) & m;
+            while (values[slot] != null) slot = (slot + 1) & m;
+            keys[slot] = archetype.mask();
+            values[slot] = archetype;
+        }
+
+        private void grow() {
+            Archetype[] old = values;
+            keys = new long[old.length * 2];
+            values = new Archetype[old.length * 2];
+            for (Archetype archetype : old) {
+                if (archetype != null) insert(archetype);
+            }
+        }
+
+        private static int hash(long mask) {
+            long h = mask * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Testes unitários para a classe EntityWorld.
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ */
+public class EntityWorldTest {
+
+    private static final ComponentType HEALTH = ComponentType.doubles("TestHealth", 1);
+    private static final ComponentType FROZEN = ComponentType.marker("TestFrozen");
+
+    @Test
+    public void testComponentsSurviveArchetypeChanges() {
+        EntityWorld world = new EntityWorld();
+        int a = world.create(Components.POSITION, HEALTH);
+        int b = world.create(Components.POSITION, HEALTH);
+        world.set(a, Components.POSITION, 0, 3);
+        world.set(a, Components.POSITION, 1, 4);
+        world.set(a, HEALTH, 0, 100);
+        world.set(b, HEALTH, 0, 50);
+
+        world.add(a, Components.VELOCITY);
+        assertTrue(world.has(a, Components.VELOCITY));
+        assertEquals(3, world.get(a, Components.POSITION, 0), 0);
+        assertEquals(4, world.get(a, Components.POSITION, 1), 0);
+        assertEquals(100, world.get(a, HEALTH, 0), 0);
+        assertEquals(0, world.get(a, Components.VELOCITY, 0), 0);
+        assertEquals(50, world.get(b, HEALTH, 0), 0);
+
+        world.remove(a, HEALTH);
+        assertFalse(world.has(a, HEALTH));
+        assertEquals(3, world.get(a, Components.POSITION, 0), 0);
+
+        world.destroy(b);
+        assertFalse(world.isAlive(b));
+        assertEquals(1, world.size());
+        int c = world.create(Components.POSITION);
+        assertEquals(EntityWorld.index(b), EntityWorld.index(c));
+        assertEquals(EntityWorld.generation(b) + 1, EntityWorld.generation(c));
+        assertFalse(world.isAlive(b));
+        assertTrue(world.isAlive(c));
+        assertEquals(0, world.get(c, Components.POSITION, 0), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStaleHandleIsRejected() {
+        EntityWorld world = new EntityWorld();
+        int a = world.create(Components.POSITION);
+        world.destroy(a);
+        world.create(Components.POSITION);
+        world.set(a, Components.POSITION, 0, 1);
+    }
+
+    @Test
+    public void testSaturatedIndexIsRetired() {
+        EntityWorld world = new EntityWorld();
+        int entity = world.create(HEALTH);
+        for (int g = 0; g < EntityWorld.MAX_GENERATION; g++) {
+            world.destroy(entity);
+            entity = world.create(HEALTH);
+            assertEquals(0, EntityWorld.index(entity));
+        }
+        assertEquals(EntityWorld.MAX_GENERATION, EntityWorld.generation(entity));
+        world.destroy(entity);
+        int fresh = world.create(HEALTH);
+        assertEquals(1, EntityWorld.index(fresh));
+        assertEquals(1, world.size());
+    }
+
+    @Test
+    public void testSystemsVisitOnlyMatchingDenseChunks() {
+        EntityWorld world = new EntityWorld();
+        int count = 100_000;
+        int[] entities = new int[count];
+        for (int i = 0; i < count; i++) {
+            entities[i] = world.create(Components.POSITION, Components.VELOCITY);
+            world.set(entities[i], Components.VELOCITY, 0, i);
+            world.set(entities[i], Components.VELOCITY, 1, 1);
+        }
+        for (int i = 0; i < count; i += 3) {
+            world.add(entities[i], FROZEN);
+        }
+        for (int i = 1; i < count; i += 3) {
+            world.destroy(entities[i]);
+        }
+        world.create(Components.POSITION);
+
+        world.run(new MovementSystem(0.5));
+        for (int i = 0; i < count; i++) {
+            if (i % 3 == 1) continue;
+            assertEquals(i * 0.5, world.get(entities[i], Components.POSITION, 0), 0);
+            assertEquals(0.5, world.get(entities[i], Components.POSITION, 1), 0);
+        }
+
+        // Todos os chunks estão cheios exceto o último de cada arquétipo.
+        for (Archetype archetype : world.archetypes()) {
+            List<Chunk> chunks = archetype.chunks();
+            for (int k = 0; k + 1 < chunks.size(); k++) {
+                assertEquals(Chunk.CAPACITY, chunks.get(k).size());
+            }
+        }
+
+        List<Integer> frozen = new ArrayList<>();
+        world.run(new ISystem() {
+            @Override public ComponentType[] components() { return new ComponentType[] { FROZEN }; }
+            @Override public void update(Chunk chunk) {
+                for (int row = 0; row < chunk.size(); row++) frozen.add(chunk.entity(row));
+            }
+        });
+        assertEquals((count + 2) / 3, frozen.size());
+    }
+}
@@ -0,0 +1,169 @@
+import java.util.Arrays;
+
+/**
+ * Fotografia compacta do que deve ser desenhado num frame: para cada sprite a posição, o ângulo,
+ * a escala, o identificador no AssetManager e a layer, em arrays primitivos.
+ * É preenchida pela simulação e lida pela thread de desenho, sem referências para os GameObjects,
+ * pelo que o desenho não depende do estado do jogo enquanto este é atualizado (ver TripleBuffer).
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv 0 <= size() <= capacidade dos arrays.
+ */
+public class FrameSnapshot {
+    private double[] x = new double[256], y = new double[256];
+    private double[] angle = new double[256], scale = new double[256];
+    private int[] sprite = new int[256], layer = new int[256];
+    private int size;
+    private long step;
+
+    /**
+     * Espaço de trabalho de sort(): a permutação dos sprites e os arrays de destino.
+     */
+    private int[] order = new int[256], mergeBuffer = new int[256];
+    private double[] scratchDouble = new double[256];
+    private int[] scratchInt = new int[256];
+
+    /**
+     * Esvazia a fotografia, mantendo a capacidade já reservada.
+     * @param step passo de simulação a que a fotografia corresponde
+     */
+    public void clear(long step) {
+        this.size = 0;
+        this.step = step;
+    }
+
+    /**
+     * Acrescenta um sprite a desenhar centrado num ponto.
+     * @param x coordenada x do centro
+     * @param y coordenada y do centro
+     * @param angle rotação em graus
+     * @param scale fator de escala do sprite
+     * @param sprite identificador do sprite
+     * @param layer layer do sprite
+     */
+    public void add(double x, double y, double angle, double scale, int sprite, int layer) {
+        if (size == this.x.length) {
+            int capacity = size * 2;
+            this.x = Arrays.copyOf(this.x, capacity);
+            this.y = Arrays.copyOf(this.y, capacity);
+            this.angle = Arrays.copyOf(this.angle, capacity);
+            this.scale = Arrays.copyOf(this.scale, capacity);
+            this.sprite = Arrays.copyOf(this.sprite, capacity);
+            this.layer = Arrays.copyOf(this.layer, capacity);
+        }
+        this.x[size] = x;
+        this.y[size] = y;
+        this.angle[size] = angle;
+        this.scale[size] = scale;
+        this.sprite[size] = sprite;
+        this.layer[size] = layer;
+        size++;
+    }
+
+    /**
+     * Ordena os sprites por layer e, dentro de cada layer, por sprite, para que as cópias consecutivas
+     * da mesma imagem fiquem juntas. A ordenação é estável: sprites com a mesma layer e o mesmo sprite
+     * mantêm a ordem em que foram acrescentados. Não aloca memória depois de a capacidade estabilizar.
+     */
+    public void sort() {
+        // Os arrays de trabalho têm sempre a capacidade das colunas, com que são trocados em permute().
+        if (order.length != this.x.length) {
+            order = new int[this.x.length];
+            mergeBuffer = new int[this.x.length];
+            scratchDouble = new double[this.x.length];
+            scratchInt = new int[this.x.length];
+        }
+        boolean sorted = true;
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+            if (i > 0 && compare(i - 1, i) > 0) sorted = false;
+        }
+        if (sorted) return;
+        mergeSort(0, size);
+
+        x = permute(x);
+        y = permute(y);
+        angle = permute(angle);
+        scale = permute(scale);
+        sprite = permute(sprite);
+        layer = permute(layer);
+    }
+
+    private int compare(int a, int b) {
+        if (layer[a] != layer[b]) return Integer.compare(layer[a], layer[b]);
+        return Integer.compare(sprite[a], sprite[b]);
+    }
+
+    /**
+     * Ordena order[from, to) por merge sort, que é estável.
+     */
+    private void mergeSort(int from, int to) {
+        if (to - from < 2) return;
+        int mid = (from + to) >>> 1;
+        mergeSort(from, mid);
+        mergeSort(mid, to);
+        if (compare(order[mid - 1], order[mid]) <= 0) return;
+        System.arraycopy(order, from, mergeBuffer, from, to - from);
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            order[k++] = compare(mergeBuffer[j], mergeBuffer[i]) < 0 ? mergeBuffer[j++] : mergeBuffer[i++];
+        }
+        while (i < mid) order[k++] = mergeBuffer[i++];
+        while (j < to) order[k++] = mergeBuffer[j++];
+    }
+
+    /**
+     * Reordena uma coluna segundo order, trocando-a com o array de trabalho.
+     */
+    private double[] permute(double[] column) {
+        double[] result = scratchDouble;
+        for (int i = 0; i < size; i++) {
+            result[i] = column[order[i]];
+        }
+        scratchDouble = column;
+        return result;
+    }
+
+    private int[] permute(int[] column) {
+        int[] result = scratchInt;
+        for (int i = 0; i < size; i++) {
+            result[i] = column[order[i]];
+        }
+        scratchInt = column;
+        return result;
+    }
+
+    /**
+     * @return número de sprites na fotografia
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return passo de simulação a que a fotografia corresponde
+     */
+    public long step() {
+        return step;
+    }
+
+    /** @return coordenada x do centro do sprite i */
+    public double x(int i) { return x[i]; }
+
+    /** @return coordenada y do centro do sprite i */
+    public double y(int i) { return y[i]; }
+
+    /** @return rotação em graus do sprite i */
+    public double angle(int i) { return angle[i]; }
+
+    /** @return fator de escala do sprite i */
+    public double scale(int i) { return scale[i]; }
+
+    /** @return identificador do sprite i */
+    public int sprite(int i) { return sprite[i]; }
+
+    /** @return layer do sprite i */
+    public int layer(int i) { return layer[i]; }
+}
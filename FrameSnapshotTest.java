@@ -0,0 +1,61 @@
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Testes unitários para a classe FrameSnapshot.
+ * Valida o crescimento da capacidade e a ordenação estável por layer e sprite.
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ */
+public class FrameSnapshotTest {
+
+    private final FrameSnapshot frame = new FrameSnapshot();
+
+    @Test
+    public void testClearKeepsStep() {
+        frame.add(1, 2, 3, 4, 5, 6);
+        frame.clear(42);
+        assertEquals(0, frame.size());
+        assertEquals(42, frame.step());
+    }
+
+    @Test
+    public void testSortByLayerThenSpriteIsStable() {
+        frame.add(0, 0, 0, 1, 3, 1);
+        frame.add(1, 0, 0, 1, 2, 0);
+        frame.add(2, 0, 0, 1, 3, 0);
+        frame.add(3, 0, 0, 1, 2, 1);
+        frame.add(4, 0, 0, 1, 2, 0);
+        frame.sort();
+
+        // x guarda a ordem de inserção
+        double[] expected = {1, 4, 2, 3, 0};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], frame.x(i), 0);
+        }
+    }
+
+    @Test
+    public void testSortAfterGrowing() {
+        for (int round = 0; round < 3; round++) {
+            frame.clear(round);
+            int count = 300 << round;
+            for (int i = 0; i < count; i++) {
+                frame.add(i, -i, i, 1, (i * 7919) % 13, (i * 31) % 5);
+            }
+            frame.sort();
+            assertEquals(count, frame.size());
+            for (int i = 1; i < count; i++) {
+                int layerOrder = Integer.compare(frame.layer(i - 1), frame.layer(i));
+                assertTrue(layerOrder < 0 || layerOrder == 0 && frame.sprite(i - 1) <= frame.sprite(i));
+                if (layerOrder == 0 && frame.sprite(i - 1) == frame.sprite(i)) {
+                    assertTrue(frame.x(i - 1) < frame.x(i));
+                }
+                assertEquals(-frame.x(i), frame.y(i), 0);
+                assertEquals(frame.x(i), frame.angle(i), 0);
+                assertEquals((int) frame.x(i) * 31 % 5, frame.layer(i));
+            }
+        }
+    }
+}
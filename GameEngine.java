@@ -1,8 +1,15 @@
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 import java.util.LinkedHashMap;
-import java.awt.Point;
+import java.awt.geom.Point2D;
+import java.util.Comparator;
+import java.util.function.Predicate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
 
 /**
  * Motor principal do jogo que gere o ciclo de vida dos GameObjects.
@@ -30,6 +37,35 @@ public class GameEngine {
         return instance;
     }
 
+    /**
+     * Colunas com os valores das Transforms dos objetos ativos, pela ordem de enabledObjects.
+     */
+    private final TransformStore transforms = new TransformStore();
+
+    /**
+     * Mundo de entidades (ECS). Cada objeto ativo é representado por uma entidade (ver GameObjectSystem);
+     * as restantes entidades e os seus componentes são criados diretamente em world(). Todas são
+     * processadas pelos sistemas em cada update().
+     */
+    private final EntityWorld world = new EntityWorld();
+
+    /**
+     * Sistemas do adaptador dos GameObjects, executados antes e depois dos restantes sistemas.
+     */
+    private final GameObjectSystem gameObjectsIn = new GameObjectSystem(true);
+    private final GameObjectSystem gameObjectsOut = new GameObjectSystem(false);
+
+    /**
+     * Sistema de movimento, registado por omissão com o passo fixo do GameLoop. Move também os objetos
+     * ativos cuja entidade tenha Components.VELOCITY.
+     */
+    private final MovementSystem movement = new MovementSystem(GameLoop.DEFAULT_STEP_NANOS / 1e9);
+
+    /**
+     * Sistemas executados a cada update(), pela ordem em que foram adicionados.
+     */
+    private final List<ISystem> systems = new ArrayList<>(List.of(movement));
+
     /**
      * Lista de objetos do jogo.
      * Contém todos os objetos, independentemente de estarem ativos ou não.
@@ -38,52 +74,653 @@ public class GameEngine {
 
     /**
      * Lista de objetos ativos no jogo.
+     * Cada objeto guarda a sua posição nesta lista (e em objects), pelo que adicionar e retirar
+     * objetos custa O(1): um objeto retirado é substituído pelo último da lista. A ordem resultante
+     * depende apenas da sequência de operações, pelo que é determinista.
      */
     private final List<GameObject> enabledObjects = new ArrayList<>();
 
+    /**
+     * Vista só de leitura, sem cópia, da lista de objetos ativos.
+     */
+    private final List<GameObject> enabledView = Collections.unmodifiableList(enabledObjects);
+
+    /**
+     * Objetos ativos agrupados por tag (índice = tag) e as respetivas vistas só de leitura.
+     * Mantidos em addEnabled()/removeEnabled() com a mesma troca com o último elemento.
+     */
+    private final List<List<GameObject>> tagBuckets = new ArrayList<>();
+    private final List<List<GameObject>> tagViews = new ArrayList<>();
+
+    /**
+     * Tipos de alteração estrutural guardados no buffer de comandos; POST executa uma ação de post().
+     */
+    private static final int ADD = 0, DESTROY = 1, ENABLE = 2, DISABLE = 3, POST = 4;
+
+    /**
+     * Buffer de comandos: alterações estruturais pedidas durante update(), aplicadas pela ordem
+     * em que foram pedidas quando a atualização termina.
+     */
+    private final CommandBuffer commands = new CommandBuffer();
+    private int updateDepth;
+
+    /**
+     * Número de objetos ativos por tarefa da fase paralela de update().
+     */
+    private static final int UPDATE_CHUNK = 64;
+
+    /**
+     * Pool usado na fase paralela de update(), ou null se essa fase for executada na thread atual.
+     */
+    private ForkJoinPool updatePool;
+
+    /**
+     * Buffer de comandos de cada bloco de UPDATE_CHUNK objetos da fase paralela, juntos ao buffer
+     * principal pela ordem dos blocos, e o buffer do bloco em execução em cada thread.
+     */
+    private final List<CommandBuffer> updateBuffers = new ArrayList<>();
+    private final ThreadLocal<CommandBuffer> jobCommands = new ThreadLocal<>();
+
+    /**
+     * Verdadeiro durante a fase paralela de update(): a cache de eixos não é alterada,
+     * para poder ser lida por várias threads.
+     */
+    private boolean parallelPhase;
+
+    /**
+     * Mundo de colisões, com uma broadphase por layer e a matriz de colisão entre layers.
+     */
+    private final CollisionWorld collisionWorld = new CollisionWorld(SpatialHash::new);
+
+    /**
+     * Pares candidatos devolvidos pela broadphase, reutilizados entre frames.
+     */
+    private final PairList candidates = new PairList();
+
+    /**
+     * Último eixo separador de cada par de polígonos (ou polígono e círculo) testado.
+     */
+    private final SeparatingAxisCache axisCache = new SeparatingAxisCache(1 << 16);
+
+    /**
+     * Pares em contacto persistentes entre passagens de colisões, usados para distinguir
+     * o início, a continuação e o fim de cada contacto.
+     */
+    private final ContactCache contacts = new ContactCache();
+
+    /**
+     * Pares em contacto na última passagem de colisões, pela ordem (i, j) dos objetos ativos,
+     * e o respetivo estado (ContactCache.BEGIN ou ContactCache.STAY).
+     */
+    private final List<GameObject> contactFirst = new ArrayList<>();
+    private final List<GameObject> contactSecond = new ArrayList<>();
+    private final IntList contactState = new IntList();
+
+    /**
+     * Índice espacial dos objetos ativos usado pelas consultas (overlapping, withinRadius, nearest, raycast).
+     * Como guarda caixas alargadas, só precisa de ser atualizado quando a lista de objetos ativos
+     * muda ou quando alguma caixa alargada é recalculada.
+     *
+     * Durante a atualização dos comportamentos em update() o índice é atualizado uma única vez, no início,
+     * e fica congelado (queryIndexFrozen), pelo que pode ser consultado por várias threads. Os objetos
+     * cuja caixa real sai da caixa alargada durante a atualização (teletransportes, projéteis rápidos)
+     * ficam registados no TransformStore (ver TransformStore.markRefit()) e as consultas testam-nos
+     * diretamente, além dos encontrados no índice.
+     */
+    private final AABBTree queryIndex = new AABBTree();
+    private boolean queryIndexDirty = true;
+    private boolean queryIndexFrozen;
+    private int queryIndexRefits;
+    private int queryIndexUpdates;
+    private final ThreadLocal<IntList> queryHits = ThreadLocal.withInitial(IntList::new);
+
+    /**
+     * Número mínimo de pares candidatos por tarefa da fase estreita paralela.
+     */
+    private static final int NARROWPHASE_CHUNK = 256;
+
+    /**
+     * Pool usado na fase estreita paralela, ou null se a fase estreita for sequencial.
+     */
+    private ForkJoinPool narrowphasePool;
+
+    /**
+     * Resultado da fase estreita para cada par candidato: -1 se houver colisão,
+     * caso contrário o eixo separador encontrado.
+     */
+    private int[] pairAxis = new int[64];
+
+    /**
+     * Tabela de sprites, indexada pela chave do sprite (uma tag): identificador do sprite no AssetManager,
+     * ou -1 se a chave não tiver sprite, e fator de escala aplicado à escala da Transform.
+     */
+    private int[] spriteIds = new int[0];
+    private double[] spriteScales = new double[0];
+
     /**
      * Adiciona um objeto ao jogo.
+     * Durante update() a adição só é aplicada (e onInit() chamado) quando a atualização termina.
      * @param go
      */
     public void add(GameObject go) {
+        if (defer(ADD, go)) return;
+        go.objectIndex = objects.size();
         objects.add(go);
-        enabledObjects.add(go);
+        addEnabled(go);
+        go.enabled = true;
+        queryIndexDirty = true;
         go.behaviour().onInit();
     }
 
     /**
      * Remove um objeto do jogo.
      * Se o objeto estiver ativo, ele será desativado antes de ser removido.
+     * Durante update() o objeto deixa imediatamente de ser considerado ativo (isEnabled() e consultas),
+     * mas só é retirado das listas, e onDestroy() chamado, quando a atualização termina.
+     * Objetos obtidos de um GameObjectPool são depois devolvidos ao pool.
      * @param go Objeto a ser removido
      */
     public void destroy(GameObject go) {
-        objects.remove(go);
-        enabledObjects.remove(go);
+        if (defer(DESTROY, go)) return;
+        go.enabled = false;
+        if (go.objectIndex >= 0) {
+            GameObject last = objects.remove(objects.size() - 1);
+            if (last != go) {
+                objects.set(go.objectIndex, last);
+                last.objectIndex = go.objectIndex;
+            }
+            go.objectIndex = -1;
+        }
+        removeEnabled(go);
+        queryIndexDirty = true;
         go.behaviour().onDestroy();
+        if (go.pool != null) go.pool.release(go);
     }
 
     /**
      * Ativa um objeto do jogo.
-     * Se o objeto já estiver ativo, não faz nada.
+     * Se o objeto já estiver ativo, não faz nada. Durante update() é aplicado quando a atualização termina.
      * @param go Objeto a ser ativado
      */
     public void enable(GameObject go) {
-        if (!enabledObjects.contains(go)) {
-            enabledObjects.add(go);
+        if (defer(ENABLE, go)) return;
+        if (go.enabledIndex < 0) {
+            addEnabled(go);
+            go.enabled = true;
+            queryIndexDirty = true;
             go.behaviour().onEnabled();
         }
     }
 
     /**
      * Desativa um objeto do jogo.
+     * Durante update() o objeto deixa imediatamente de ser considerado ativo,
+     * mas só é retirado da lista, e onDisabled() chamado, quando a atualização termina.
      * @param go Objeto a ser desativado
      */
     public void disable(GameObject go) {
-        if (enabledObjects.remove(go)) {
+        if (defer(DISABLE, go)) return;
+        go.enabled = false;
+        if (go.enabledIndex >= 0) {
+            removeEnabled(go);
+            queryIndexDirty = true;
             go.behaviour().onDisabled();
         }
     }
 
+    private void addEnabled(GameObject go) {
+        go.enabledIndex = enabledObjects.size();
+        enabledObjects.add(go);
+        transforms.attach((Transform) go.transform());
+        go.entity = GameObjectSystem.create(world, go);
+        List<GameObject> bucket = bucket(go.tag());
+        go.tagIndex = bucket.size();
+        bucket.add(go);
+    }
+
+    /**
+     * Retira um objeto da lista de ativos em tempo constante, trocando-o com o último.
+     */
+    private void removeEnabled(GameObject go) {
+        if (go.enabledIndex < 0) return;
+        GameObject last = enabledObjects.remove(enabledObjects.size() - 1);
+        if (last != go) {
+            enabledObjects.set(go.enabledIndex, last);
+            last.enabledIndex = go.enabledIndex;
+        }
+        go.enabledIndex = -1;
+        transforms.detach((Transform) go.transform());
+        if (world.isAlive(go.entity)) world.destroy(go.entity);
+        go.entity = -1;
+
+        List<GameObject> bucket = tagBuckets.get(go.tag());
+        last = bucket.remove(bucket.size() - 1);
+        if (last != go) {
+            bucket.set(go.tagIndex, last);
+            last.tagIndex = go.tagIndex;
+        }
+        go.tagIndex = -1;
+    }
+
+    private List<GameObject> bucket(int tag) {
+        while (tagBuckets.size() <= tag) {
+            List<GameObject> bucket = new ArrayList<>();
+            tagBuckets.add(bucket);
+            tagViews.add(Collections.unmodifiableList(bucket));
+        }
+        return tagBuckets.get(tag);
+    }
+
+    /**
+     * Obtém os objetos ativos com uma tag, sem os copiar.
+     * Tal como enabled(), a lista acompanha as alterações e pode conter objetos destruídos
+     * durante a atualização em curso (ver isEnabled()).
+     * @param tag tag procurada (ver Tags.intern())
+     * @return vista dos objetos ativos com a tag
+     */
+    public List<GameObject> withTag(int tag) {
+        bucket(tag);
+        return tagViews.get(tag);
+    }
+
+    /**
+     * Obtém um objeto ativo com uma tag, por exemplo o jogador.
+     * @param tag tag procurada (ver Tags.intern())
+     * @return primeiro objeto ativo com a tag, ou null se não existir
+     */
+    public GameObject first(int tag) {
+        if (tag >= tagBuckets.size()) return null;
+        List<GameObject> bucket = tagBuckets.get(tag);
+        for (int k = 0; k < bucket.size(); k++) {
+            if (bucket.get(k).enabled) return bucket.get(k);
+        }
+        return null;
+    }
+
+    /**
+     * @param go objeto a verificar
+     * @return true se o objeto está ativo e não foi destruído nem desativado
+     */
+    public boolean isEnabled(GameObject go) {
+        return go.enabled;
+    }
+
+    /**
+     * Obtém o mundo de entidades do motor.
+     * @return EntityWorld onde vivem as entidades
+     */
+    public EntityWorld world() {
+        return world;
+    }
+
+    /**
+     * Obtém o sistema de movimento executado em cada update() sobre as entidades com
+     * Components.POSITION e Components.VELOCITY.
+     * @return MovementSystem do motor
+     */
+    public MovementSystem movement() {
+        return movement;
+    }
+
+    /**
+     * Acrescenta um sistema executado em cada update(), depois dos onUpdate() dos objetos.
+     * O sistema vê os objetos ativos através das suas entidades (ver GameObjectSystem).
+     * @param system sistema a executar
+     */
+    public void addSystem(ISystem system) {
+        systems.add(system);
+    }
+
+    /**
+     * Chama onUpdate() em todos os objetos ativos e executa os sistemas do mundo de entidades.
+     * As alterações estruturais (add, destroy, enable, disable) pedidas durante a atualização são
+     * guardadas e aplicadas no fim, pela ordem em que foram pedidas, pelo que a lista devolvida por
+     * enabled() não muda enquanto é percorrida. Objetos destruídos ou desativados durante a
+     * atualização já não são atualizados.
+     * Sem pool de atualização, onUpdate() é chamado um objeto de cada vez, pela ordem de enabled().
+     * Com um pool definido com setParallelUpdate(), os comportamentos que o permitem
+     * (IBehaviour.isParallelSafe()) são atualizados primeiro, em paralelo, e os restantes depois,
+     * pela ordem de enabled().
+     * Depois, as entidades dos objetos ativos recebem a posição, a layer e a caixa dos seus colliders,
+     * os sistemas são executados pela ordem em que foram adicionados e as posições e layers alteradas
+     * pelos sistemas são aplicadas às Transforms (ver GameObjectSystem).
+     */
+    public void update() {
+        transforms.savePrevious();
+        updateDepth++;
+        try {
+            updateBehaviours(null);
+            world.run(gameObjectsIn);
+            for (int k = 0; k < systems.size(); k++) {
+                world.run(systems.get(k));
+            }
+            world.run(gameObjectsOut);
+        } finally {
+            endUpdate();
+        }
+    }
+
+    /**
+     * Executa uma ação depois da atualização em curso, na thread do motor e pela ordem em que foi
+     * pedida em relação às outras alterações estruturais. Fora de update() a ação é executada logo.
+     * Permite aos comportamentos da fase paralela alterar estado partilhado (pontuação, pools, ...).
+     * @param action ação a executar
+     */
+    public void post(Runnable action) {
+        if (!defer(POST, action)) action.run();
+    }
+
+    /**
+     * Define o pool usado para atualizar em paralelo os comportamentos com IBehaviour.isParallelSafe().
+     * Os objetos ativos são divididos em blocos com buffers de comandos próprios, juntos pela ordem
+     * dos blocos, pelo que o resultado não depende do número de threads. Com pool, os comportamentos
+     * paralelos são atualizados antes dos restantes e as alterações estruturais que pedem só têm
+     * efeito depois da fase paralela.
+     * @param pool pool onde os blocos são atualizados, ou null para os atualizar na thread atual
+     */
+    public void setParallelUpdate(ForkJoinPool pool) {
+        this.updatePool = pool;
+    }
+
+    /**
+     * Chama onUpdate() nos objetos ativos. Sem pool (ou com um único bloco), e sempre que são dadas
+     * velocidades, um objeto de cada vez pela ordem da lista, movendo-o e ajustando o collider antes
+     * de onUpdate() se tiver velocidade. Com pool, primeiro, bloco a bloco, nos comportamentos que
+     * podem ser atualizados em paralelo; depois de juntar os seus comandos, nos restantes, pela ordem da lista.
+     * @param velocities velocidades por objeto (ver simulate()), ou null
+     */
+    private void updateBehaviours(Map<GameObject, double[]> velocities) {
+        int chunks = (enabledObjects.size() + UPDATE_CHUNK - 1) / UPDATE_CHUNK;
+        refreshQueryIndex();
+        queryIndexFrozen = true;
+        transforms.beginRefitLog();
+        try {
+            if (updatePool == null || chunks <= 1 || velocities != null) {
+                for (int i = 0; i < enabledObjects.size(); i++) {
+                    GameObject go = enabledObjects.get(i);
+                    if (!go.enabled) continue;
+                    double[] v = velocities != null ? velocities.get(go) : null;
+                    if (v != null) {
+                        go.transform().move((int) v[0], (int) v[1], (int) v[2]);
+                        go.transform().rotate(v[3]);
+                        go.transform().scale(v[4]);
+                        go.collider().adjustToTransform();
+                        transforms.synced[i] = transforms.version[i];
+                    }
+                    go.behaviour().onUpdate();
+                }
+                return;
+            }
+
+            while (updateBuffers.size() < chunks) {
+                updateBuffers.add(new CommandBuffer());
+            }
+            parallelPhase = true;
+            try {
+                updatePool.invoke(new UpdateTask(0, chunks));
+            } finally {
+                parallelPhase = false;
+            }
+
+            for (int c = 0; c < chunks; c++) {
+                CommandBuffer buffer = updateBuffers.get(c);
+                for (int k = 0; k < buffer.size(); k++) {
+                    defer(buffer.ops.get(k), buffer.args.get(k));
+                }
+                buffer.clear();
+            }
+
+            for (int i = 0; i < enabledObjects.size(); i++) {
+                GameObject go = enabledObjects.get(i);
+                if (go.enabled && !go.behaviour().isParallelSafe()) go.behaviour().onUpdate();
+            }
+        } finally {
+            transforms.endRefitLog();
+            queryIndexFrozen = false;
+        }
+    }
+
+    /**
+     * Atualiza os comportamentos paralelos de um bloco, guardando os comandos no buffer do bloco.
+     */
+    private void updateChunk(int chunk) {
+        CommandBuffer buffer = updateBuffers.get(chunk);
+        buffer.clear();
+        jobCommands.set(buffer);
+        try {
+            int end = Math.min(enabledObjects.size(), (chunk + 1) * UPDATE_CHUNK);
+            for (int i = chunk * UPDATE_CHUNK; i < end; i++) {
+                GameObject go = enabledObjects.get(i);
+                if (go.enabled && go.behaviour().isParallelSafe()) go.behaviour().onUpdate();
+            }
+        } finally {
+            // set(null) em vez de remove(): remove() apaga a entrada da thread e o set() seguinte voltaria a alocá-la.
+            jobCommands.set(null);
+        }
+    }
+
+    /**
+     * Tarefa fork/join que divide um intervalo de blocos de objetos ativos até blocos individuais.
+     */
+    private class UpdateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from, to;
+
+        UpdateTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                updateChunk(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new UpdateTask(from, mid), new UpdateTask(mid, to));
+        }
+    }
+
+    /**
+     * Guarda uma alteração estrutural no buffer do bloco da fase paralela em execução ou, durante uma
+     * atualização, no buffer de comandos. Objetos destruídos ou desativados no buffer de comandos
+     * deixam logo de ser considerados ativos; na fase paralela isso só acontece quando os buffers
+     * dos blocos são juntos, para o resultado não depender da ordem de execução das threads.
+     * @return true se a alteração foi adiada
+     */
+    private boolean defer(int op, Object arg) {
+        CommandBuffer job = jobCommands.get();
+        if (job != null) {
+            job.add(op, arg);
+            return true;
+        }
+        if (updateDepth == 0) return false;
+        if (op == DESTROY || op == DISABLE) ((GameObject) arg).enabled = false;
+        commands.add(op, arg);
+        return true;
+    }
+
+    /**
+     * Termina uma atualização e, se for a mais exterior, aplica o buffer de comandos.
+     */
+    private void endUpdate() {
+        if (--updateDepth > 0) return;
+        for (int k = 0; k < commands.size(); k++) {
+            Object arg = commands.args.get(k);
+            switch (commands.ops.get(k)) {
+                case ADD -> add((GameObject) arg);
+                case DESTROY -> destroy((GameObject) arg);
+                case ENABLE -> enable((GameObject) arg);
+                case DISABLE -> disable((GameObject) arg);
+                case POST -> ((Runnable) arg).run();
+                default -> throw new IllegalStateException("Comando desconhecido: " + commands.ops.get(k));
+            }
+        }
+        commands.clear();
+    }
+
+    /**
+     * Sequência de alterações estruturais adiadas e respetivos argumentos (GameObject ou, para POST, Runnable).
+     */
+    private static final class CommandBuffer {
+        final IntList ops = new IntList();
+        final List<Object> args = new ArrayList<>();
+
+        void add(int op, Object arg) {
+            ops.add(op);
+            args.add(arg);
+        }
+
+        int size() {
+            return ops.size();
+        }
+
+        void clear() {
+            ops.clear();
+            args.clear();
+        }
+    }
+
+    /**
+     * Obtém o armazenamento em colunas onde as Transforms dos objetos ativos guardam os seus valores.
+     * A linha de cada Transform é a posição do seu objeto em enabled().
+     * @return TransformStore do motor
+     */
+    public TransformStore transforms() {
+        return transforms;
+    }
+
+    /**
+     * Ajusta os colliders dos objetos ativos cuja Transform mudou desde o último ajuste.
+     * Percorre diretamente as colunas de versões do TransformStore e só acede aos objetos que mudaram.
+     */
+    public void syncColliders() {
+        int[] version = transforms.version;
+        int[] synced = transforms.synced;
+        for (int row = 0, n = transforms.size(); row < n; row++) {
+            if (version[row] == synced[row]) continue;
+            synced[row] = version[row];
+            enabledObjects.get(row).collider().adjustToTransform();
+        }
+    }
+
+    /**
+     * Associa um sprite aos objetos com um nome (ou a uma chave usada com GameObject.setSpriteKey()).
+     * @param name nome dos objetos ou do sprite
+     * @param sprite identificador do sprite no AssetManager, ou -1 para não desenhar estes objetos
+     * @param scale fator aplicado à escala da Transform ao desenhar
+     */
+    public void setSprite(String name, int sprite, double scale) {
+        int key = Tags.intern(name);
+        if (key >= spriteIds.length) {
+            int old = spriteIds.length;
+            spriteIds = Arrays.copyOf(spriteIds, Math.max(key + 1, old * 2));
+            spriteScales = Arrays.copyOf(spriteScales, spriteIds.length);
+            Arrays.fill(spriteIds, old, spriteIds.length, -1);
+        }
+        spriteIds[key] = sprite;
+        spriteScales[key] = scale;
+    }
+
+    /**
+     * Acrescenta a uma fotografia os sprites dos objetos ativos com sprite na tabela (ver setSprite()),
+     * centrados no collider, com o ângulo e a layer da Transform. Depois de acrescentar os restantes
+     * sprites do frame, a fotografia deve ser ordenada com FrameSnapshot.sort().
+     * @param out fotografia a preencher
+     */
+    public void drawList(FrameSnapshot out) {
+        for (GameObject go : enabledObjects) {
+            addSprite(out, go, 0, 0, 1);
+        }
+    }
+
+    /**
+     * Acrescenta a uma fotografia, em coordenadas do ecrã, os sprites dos objetos ativos visíveis por
+     * uma câmara. Os objetos são obtidos com uma consulta ao índice espacial pelo retângulo visível
+     * (com a margem da câmara), pelo que o custo depende dos objetos visíveis e não do total de objetos.
+     * Os sprites ficam pela ordem da lista de objetos ativos, como em drawList(FrameSnapshot).
+     * @param out fotografia a preencher
+     * @param camera câmara que define a parte visível do mundo
+     */
+    public void drawList(FrameSnapshot out, Camera camera) {
+        drawList(out, camera, 1);
+    }
+
+    /**
+     * Como drawList(FrameSnapshot, Camera), mas com as posições e ângulos interpolados entre o início e
+     * o fim do último passo (ver renderX()), para desenhar entre passos fixos sem saltos.
+     * @param out fotografia a preencher
+     * @param camera câmara que define a parte visível do mundo
+     * @param alpha fração do passo seguinte já decorrida, em [0, 1] (ver GameLoop.alpha())
+     */
+    public void drawList(FrameSnapshot out, Camera camera, double alpha) {
+        IntList hits = queryHits.get();
+        queryBox(camera.minX(), camera.minY(), camera.maxX(), camera.maxY(), hits);
+        for (int k = 0; k < hits.size(); k++) {
+            GameObject go = enabledObjects.get(hits.get(k));
+            if (go.enabled) addSprite(out, go, camera.x(), camera.y(), alpha);
+        }
+    }
+
+    private void addSprite(FrameSnapshot out, GameObject go, double offsetX, double offsetY, double alpha) {
+        int key = go.spriteKey();
+        if (key >= spriteIds.length || spriteIds[key] < 0) return;
+        ITransform t = go.transform();
+        out.add(renderX(go, alpha) - offsetX, renderY(go, alpha) - offsetY, renderAngle(go, alpha),
+            t.scale() * spriteScales[key], spriteIds[key], t.layer());
+    }
+
+    /**
+     * Obtém a coordenada x do centro do collider interpolada entre o início do último passo (alpha 0)
+     * e o estado atual (alpha 1). O desenho fica assim até um passo atrás da simulação, mas sem saltos
+     * quando a taxa de desenho não coincide com a dos passos.
+     * @param go objeto ativo
+     * @param alpha fração em [0, 1]
+     * @return coordenada x a desenhar
+     */
+    public double renderX(GameObject go, double alpha) {
+        Transform t = (Transform) go.transform();
+        if (t.store() != transforms || alpha >= 1) return go.collider().posX();
+        return go.collider().posX() - (transforms.x[t.row()] - transforms.prevX[t.row()]) * (1 - alpha);
+    }
+
+    /**
+     * Como renderX(), para a coordenada y.
+     * @param go objeto ativo
+     * @param alpha fração em [0, 1]
+     * @return coordenada y a desenhar
+     */
+    public double renderY(GameObject go, double alpha) {
+        Transform t = (Transform) go.transform();
+        if (t.store() != transforms || alpha >= 1) return go.collider().posY();
+        return go.collider().posY() - (transforms.y[t.row()] - transforms.prevY[t.row()]) * (1 - alpha);
+    }
+
+    /**
+     * Como renderX(), para o ângulo da Transform, interpolado pelo caminho mais curto.
+     * @param go objeto ativo
+     * @param alpha fração em [0, 1]
+     * @return ângulo a desenhar, em graus
+     */
+    public double renderAngle(GameObject go, double alpha) {
+        Transform t = (Transform) go.transform();
+        if (t.store() != transforms || alpha >= 1) return t.angle();
+        double delta = transforms.angle[t.row()] - transforms.prevAngle[t.row()];
+        delta -= 360 * Math.floor((delta + 180) / 360);
+        return t.angle() - delta * (1 - alpha);
+    }
+
+    /**
+     * Obtém os objetos ativos sem os copiar.
+     * A lista é só de leitura e acompanha as alterações; durante update() não muda,
+     * fora dele não deve ser alterada (add, destroy, enable, disable) enquanto é percorrida.
+     * @return vista da lista de objetos ativos
+     */
+    public List<GameObject> enabled() {
+        return enabledView;
+    }
+
     /**
      * Obtém todos os objetos do jogo.
      * @return Lista de objetos do jogo
@@ -92,6 +729,333 @@ public class GameEngine {
         return new ArrayList<>(enabledObjects);
     }
 
+    /**
+     * Obtém os objetos ativos cujo collider colide com o collider indicado,
+     * excluindo o objeto a que esse collider pertence.
+     * @param collider collider a testar
+     * @return objetos em colisão, pela ordem de getEnabled()
+     */
+    public List<GameObject> overlapping(ICollider collider) {
+        return overlapping(collider, new ArrayList<>());
+    }
+
+    /**
+     * Como overlapping(ICollider), mas preenche uma lista do chamador em vez de criar uma nova,
+     * pelo que não aloca quando a lista já tem capacidade suficiente.
+     * @param collider collider a testar
+     * @param out lista a preencher; o conteúdo anterior é descartado
+     * @return out, com os objetos em colisão pela ordem de getEnabled()
+     */
+    public List<GameObject> overlapping(ICollider collider, List<GameObject> out) {
+        out.clear();
+        IntList hits = queryHits.get();
+        queryBox(collider.minX(), collider.minY(), collider.maxX(), collider.maxY(), hits);
+        for (int k = 0; k < hits.size(); k++) {
+            GameObject go = enabledObjects.get(hits.get(k));
+            if (go.enabled && go.collider() != collider && detectCollision(collider, go.collider())) {
+                out.add(go);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Obtém os objetos ativos cujo centroide está a uma distância máxima de um ponto.
+     * @param point centro da consulta
+     * @param radius distância máxima
+     * @return objetos encontrados, pela ordem de getEnabled()
+     */
+    public List<GameObject> withinRadius(Point2D point, double radius) {
+        return withinRadius(point.getX(), point.getY(), radius, new ArrayList<>());
+    }
+
+    /**
+     * Como withinRadius(Point2D, double), mas com o centro em coordenadas primitivas e preenchendo
+     * uma lista do chamador, pelo que não aloca quando a lista já tem capacidade suficiente.
+     * @param x coordenada x do centro da consulta
+     * @param y coordenada y do centro da consulta
+     * @param radius distância máxima
+     * @param out lista a preencher; o conteúdo anterior é descartado
+     * @return out, com os objetos encontrados pela ordem de getEnabled()
+     */
+    public List<GameObject> withinRadius(double x, double y, double radius, List<GameObject> out) {
+        out.clear();
+        IntList hits = queryHits.get();
+        queryBox(x - radius, y - radius, x + radius, y + radius, hits);
+        for (int k = 0; k < hits.size(); k++) {
+            GameObject go = enabledObjects.get(hits.get(k));
+            if (go.enabled && distanceSq(go, x, y) <= radius * radius) {
+                out.add(go);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Obtém os k objetos ativos aceites pelo filtro com centroide mais próximo de um ponto.
+     * A caixa de consulta começa pequena e duplica até conter k objetos aceites dentro do raio
+     * ou até abranger todos os objetos ativos.
+     * @param point ponto de referência
+     * @param k número máximo de objetos devolvidos
+     * @param filter objetos aceites
+     * @return até k objetos, do mais próximo para o mais afastado (empates pela ordem de getEnabled())
+     */
+    public List<GameObject> nearest(Point2D point, int k, Predicate<GameObject> filter) {
+        List<GameObject> result = new ArrayList<>();
+        if (k <= 0) return result;
+
+        IntList hits = queryHits.get();
+        double radius = 64;
+        while (true) {
+            queryBox(point.getX() - radius, point.getY() - radius, point.getX() + radius, point.getY() + radius, hits);
+            boolean all = hits.size() == enabledObjects.size();
+            result.clear();
+            for (int h = 0; h < hits.size(); h++) {
+                GameObject go = enabledObjects.get(hits.get(h));
+                if (go.enabled && (all || distanceSq(go, point) <= radius * radius) && filter.test(go)) {
+                    result.add(go);
+                }
+            }
+            // Objetos fora do círculo podem estar mais perto do que outros ainda não encontrados.
+            if (result.size() >= k || all) break;
+            radius *= 2;
+        }
+        result.sort(Comparator.comparingDouble(go -> distanceSq(go, point)));
+        return result.size() > k ? new ArrayList<>(result.subList(0, k)) : result;
+    }
+
+    /**
+     * Lança um raio contra os colliders dos objetos ativos.
+     * @param origin origem do raio
+     * @param dirX componente x da direção (não precisa de ser unitária)
+     * @param dirY componente y da direção
+     * @param maxDistance comprimento máximo do raio
+     * @param filter objetos que podem ser atingidos
+     * @return primeiro objeto atingido, ou null
+     */
+    public RaycastHit raycast(Point2D origin, double dirX, double dirY, double maxDistance, Predicate<GameObject> filter) {
+        RaycastHit hit = new RaycastHit();
+        return raycast(origin.getX(), origin.getY(), dirX, dirY, maxDistance, filter, hit) ? hit : null;
+    }
+
+    /**
+     * Como raycast(Point2D, ...), mas com a origem em coordenadas primitivas e guardando o resultado
+     * num RaycastHit do chamador, pelo que não aloca.
+     * @param originX coordenada x da origem do raio
+     * @param originY coordenada y da origem do raio
+     * @param dirX componente x da direção (não precisa de ser unitária)
+     * @param dirY componente y da direção
+     * @param maxDistance comprimento máximo do raio
+     * @param filter objetos que podem ser atingidos
+     * @param out recebe o primeiro objeto atingido; não é alterado se nenhum objeto for atingido
+     * @return true se algum objeto foi atingido
+     */
+    public boolean raycast(double originX, double originY, double dirX, double dirY, double maxDistance,
+                           Predicate<GameObject> filter, RaycastHit out) {
+        return cast(originX, originY, dirX, dirY, maxDistance, filter, null, out);
+    }
+
+    /**
+     * Lança um raio contra os colliders dos objetos ativos e devolve todos os objetos atingidos.
+     * @param origin origem do raio
+     * @param dirX componente x da direção (não precisa de ser unitária)
+     * @param dirY componente y da direção
+     * @param maxDistance comprimento máximo do raio
+     * @param filter objetos que podem ser atingidos
+     * @return objetos atingidos, do mais próximo para o mais afastado (empates pela ordem de getEnabled())
+     */
+    public List<RaycastHit> raycastAll(Point2D origin, double dirX, double dirY, double maxDistance, Predicate<GameObject> filter) {
+        List<RaycastHit> hits = new ArrayList<>();
+        cast(origin.getX(), origin.getY(), dirX, dirY, maxDistance, filter, hits, null);
+        return hits;
+    }
+
+    /**
+     * Lança um segmento entre dois pontos, por exemplo para verificar linha de visão.
+     * @param from início do segmento
+     * @param to fim do segmento
+     * @param filter objetos que podem ser atingidos
+     * @return primeiro objeto atingido a partir de from, ou null
+     */
+    public RaycastHit segmentCast(Point2D from, Point2D to, Predicate<GameObject> filter) {
+        return raycast(from, to.getX() - from.getX(), to.getY() - from.getY(), from.distance(to), filter);
+    }
+
+    /**
+     * Como segmentCast(Point2D, Point2D, Predicate), mas com os pontos em coordenadas primitivas e
+     * guardando o resultado num RaycastHit do chamador, pelo que não aloca.
+     * @param fromX coordenada x do início do segmento
+     * @param fromY coordenada y do início do segmento
+     * @param toX coordenada x do fim do segmento
+     * @param toY coordenada y do fim do segmento
+     * @param filter objetos que podem ser atingidos
+     * @param out recebe o primeiro objeto atingido a partir do início; não é alterado se nenhum objeto for atingido
+     * @return true se algum objeto foi atingido
+     */
+    public boolean segmentCast(double fromX, double fromY, double toX, double toY, Predicate<GameObject> filter, RaycastHit out) {
+        double dx = toX - fromX, dy = toY - fromY;
+        return raycast(fromX, fromY, dx, dy, Math.sqrt(dx * dx + dy * dy), filter, out);
+    }
+
+    /**
+     * Lança um segmento entre dois pontos e devolve todos os objetos atingidos.
+     * @param from início do segmento
+     * @param to fim do segmento
+     * @param filter objetos que podem ser atingidos
+     * @return objetos atingidos, do mais próximo de from para o mais afastado
+     */
+    public List<RaycastHit> segmentCastAll(Point2D from, Point2D to, Predicate<GameObject> filter) {
+        return raycastAll(from, to.getX() - from.getX(), to.getY() - from.getY(), from.distance(to), filter);
+    }
+
+    /**
+     * Percorre o índice espacial ao longo do raio e testa os colliders atravessados.
+     * @param all se não for null, recebe todos os objetos atingidos por ordem de distância
+     * @param first se não for null, recebe o objeto atingido mais próximo
+     * @return true se algum objeto foi atingido
+     */
+    private boolean cast(double ox, double oy, double dirX, double dirY, double maxDistance,
+                         Predicate<GameObject> filter, List<RaycastHit> all, RaycastHit first) {
+        double length = Math.sqrt(dirX * dirX + dirY * dirY);
+        if (length == 0) {
+            // Um segmento de comprimento zero apenas testa a origem.
+            dirX = 1;
+            dirY = 0;
+            maxDistance = 0;
+        } else {
+            dirX /= length;
+            dirY /= length;
+        }
+
+        refreshQueryIndex();
+        IntList hits = queryHits.get();
+        hits.clear();
+        queryIndex.raycast(ox, oy, dirX, dirY, maxDistance, hits);
+        if (queryIndexFrozen) {
+            // O raio exato é testado a seguir; basta juntar os objetos que saíram da caixa alargada.
+            for (int k = 0, n = transforms.refitCount(); k < n; k++) {
+                int row = transforms.refitRow(k);
+                if (row >= 0) hits.add(row);
+            }
+        }
+        hits.sort();
+        hits.distinct();
+
+        GameObject nearest = null;
+        double nearestT = 0;
+        for (int k = 0; k < hits.size(); k++) {
+            GameObject go = enabledObjects.get(hits.get(k));
+            if (!go.enabled || !filter.test(go)) continue;
+            double t = go.collider().raycast(ox, oy, dirX, dirY, maxDistance);
+            if (t < 0) continue;
+            if (nearest == null || t < nearestT) {
+                nearest = go;
+                nearestT = t;
+            }
+            if (all != null) all.add(new RaycastHit(go, t, ox + dirX * t, oy + dirY * t));
+        }
+        if (all != null) {
+            all.sort(Comparator.comparingDouble(RaycastHit::distance));
+        }
+        if (nearest != null && first != null) {
+            first.set(nearest, nearestT, ox + dirX * nearestT, oy + dirY * nearestT);
+        }
+        return nearest != null;
+    }
+
+    /**
+     * Substitui o conteúdo de hits pelos índices, por ordem crescente, dos objetos ativos
+     * cuja caixa envolvente se sobrepõe à caixa indicada.
+     */
+    private void queryBox(double minX, double minY, double maxX, double maxY, IntList hits) {
+        refreshQueryIndex();
+        hits.clear();
+        queryIndex.query(minX, minY, maxX, maxY, hits);
+        if (queryIndexFrozen) {
+            for (int k = 0, n = transforms.refitCount(); k < n; k++) {
+                int row = transforms.refitRow(k);
+                if (row < 0) continue;
+                ICollider c = enabledObjects.get(row).collider();
+                if (c.minX() <= maxX && minX <= c.maxX() && c.minY() <= maxY && minY <= c.maxY()) hits.add(row);
+            }
+        }
+        hits.sort();
+        hits.distinct();
+    }
+
+    /**
+     * Atualiza o índice espacial se a lista de objetos ativos ou alguma caixa alargada mudou.
+     * Durante a atualização dos comportamentos as consultas usam o índice do início da atualização
+     * e o registo de caixas alargadas recalculadas do TransformStore.
+     */
+    private void refreshQueryIndex() {
+        if (queryIndexFrozen) return;
+        int refits = Collider.fatRefits();
+        if (queryIndexDirty || refits != queryIndexRefits) {
+            queryIndex.update(enabledObjects);
+            queryIndexDirty = false;
+            queryIndexRefits = refits;
+            queryIndexUpdates++;
+        }
+    }
+
+    /**
+     * @return número de vezes que o índice espacial das consultas foi atualizado
+     */
+    int queryIndexUpdates() {
+        return queryIndexUpdates;
+    }
+
+    private static double distanceSq(GameObject go, Point2D point) {
+        return distanceSq(go, point.getX(), point.getY());
+    }
+
+    private static double distanceSq(GameObject go, double x, double y) {
+        double dx = go.collider().posX() - x;
+        double dy = go.collider().posY() - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Define a broadphase usada na deteção de colisões.
+     * É criada uma broadphase por layer; o resultado de simulate() não depende da broadphase escolhida.
+     * @param factory cria a broadphase de cada layer
+     */
+    public void setBroadphase(Supplier<IBroadphase> factory) {
+        collisionWorld.setBroadphase(factory);
+    }
+
+    /**
+     * Define se objetos de duas layers podem colidir.
+     * Por omissão cada layer colide apenas consigo própria.
+     * @param layerA primeira layer
+     * @param layerB segunda layer (pode ser igual à primeira)
+     * @param collide true se os pares destas layers devem ser testados
+     */
+    public void setLayerCollision(int layerA, int layerB, boolean collide) {
+        collisionWorld.setLayerCollision(layerA, layerB, collide);
+    }
+
+    /**
+     * @param layerA primeira layer
+     * @param layerB segunda layer
+     * @return true se objetos destas layers podem colidir
+     */
+    public boolean canCollide(int layerA, int layerB) {
+        return collisionWorld.canCollide(layerA, layerB);
+    }
+
+    /**
+     * Ativa ou desativa a fase estreita paralela.
+     * Os pares candidatos são divididos em blocos testados em paralelo num ForkJoinPool e
+     * os resultados são juntos pela ordem dos pares, pelo que o mapa de colisões e a ordem
+     * das chamadas a onCollision() são iguais aos do modo sequencial.
+     * @param pool pool onde os blocos são testados, ou null para a fase estreita sequencial
+     */
+    public void setParallelNarrowphase(ForkJoinPool pool) {
+        this.narrowphasePool = pool;
+    }
+
     /**
      * Simula o movimento dos objetos do jogo por um número de frames.
      * @param frames
@@ -99,28 +1063,31 @@ public class GameEngine {
      * @return
      */
     public Map<GameObject, List<GameObject>> simulate(int frames, Map<GameObject, double[]> velocities) {
+        // Os colliders contínuos são testados ao longo de todo o movimento destes frames.
+        for (GameObject go : enabledObjects) {
+            Collider c = (Collider) go.collider();
+            if (c.isContinuous()) c.beginSweep();
+        }
+
+        // Em cada frame cada objeto é movido, o seu collider ajustado e o seu onUpdate() chamado, um objeto
+        // de cada vez; as alterações estruturais feitas em onUpdate() são aplicadas no fim de cada frame.
         for (int i = 0; i < frames; i++) {
-            for (GameObject go : enabledObjects) {
-                double[] v = velocities.get(go);
-                go.transform().move(new Point((int) v[0], (int) v[1]), (int) v[2]);
-                go.transform().rotate(v[3]);
-                go.transform().scale(v[4]);
-                go.collider().adjustToTransform();
-                go.behaviour().onUpdate();
+            updateDepth++;
+            try {
+                updateBehaviours(velocities);
+            } finally {
+                endUpdate();
             }
         }
 
+        findContacts();
+
         Map<GameObject, List<GameObject>> collisions = new LinkedHashMap<>();
-        for (int i = 0; i < enabledObjects.size(); i++) {
-            GameObject a = enabledObjects.get(i);
-            for (int j = i + 1; j < enabledObjects.size(); j++) {
-                GameObject b = enabledObjects.get(j);
-                if (a.transform().layer() != b.transform().layer()) continue;
-                if (detectCollision(a.collider(), b.collider())) {
-                    collisions.computeIfAbsent(a, _ -> new ArrayList<>()).add(b);
-                    collisions.computeIfAbsent(b, _ -> new ArrayList<>()).add(a);
-                }
-            }
+        for (int k = 0; k < contactFirst.size(); k++) {
+            GameObject a = contactFirst.get(k);
+            GameObject b = contactSecond.get(k);
+            collisions.computeIfAbsent(a, _ -> new ArrayList<>()).add(b);
+            collisions.computeIfAbsent(b, _ -> new ArrayList<>()).add(a);
         }
 
         for (Map.Entry<GameObject, List<GameObject>> entry : collisions.entrySet()) {
@@ -128,29 +1095,194 @@ public class GameEngine {
                 entry.getKey().behaviour().onCollision(other);
             }
         }
+        dispatchContactEvents();
 
         return collisions;
     }
 
+    /**
+     * Executa uma passagem de colisões sobre os objetos ativos, sem os mover.
+     * Para cada par em contacto, pela ordem dos objetos ativos, chama onCollision() em ambos os objetos;
+     * depois dispara onContactBegin()/onContactStay() e, para os contactos que terminaram, onContactEnd().
+     * Ao contrário de simulate(), não constrói o mapa de colisões e não aloca em regime estável.
+     * @return número de pares em contacto
+     */
+    public int collide() {
+        findContacts();
+        for (int k = 0; k < contactFirst.size(); k++) {
+            GameObject a = contactFirst.get(k);
+            GameObject b = contactSecond.get(k);
+            a.behaviour().onCollision(b);
+            b.behaviour().onCollision(a);
+        }
+        dispatchContactEvents();
+        return contactFirst.size();
+    }
+
+    /**
+     * Obtém os pares candidatos da broadphase, testa-os na fase estreita e atualiza a cache de contactos.
+     */
+    private void findContacts() {
+        // Os pares são ordenados por (i, j) para manter a ordem do teste exaustivo.
+        candidates.clear();
+        collisionWorld.findPairs(enabledObjects, candidates);
+        candidates.sort();
+
+        int n = candidates.size();
+        if (pairAxis.length < n) {
+            pairAxis = new int[Math.max(n, pairAxis.length * 2)];
+        }
+        if (narrowphasePool != null && n > NARROWPHASE_CHUNK) {
+            narrowphasePool.invoke(new NarrowphaseTask(0, n));
+        } else {
+            testCandidates(0, n);
+        }
+
+        // A cache de eixos e a cache de contactos só são escritas aqui, pela ordem dos pares.
+        contactFirst.clear();
+        contactSecond.clear();
+        contactState.clear();
+        contacts.beginFrame();
+        for (int k = 0; k < n; k++) {
+            GameObject a = enabledObjects.get(candidates.first(k));
+            GameObject b = enabledObjects.get(candidates.second(k));
+            long key = axisKey(a.collider(), b.collider());
+            if (key != PairSet.EMPTY) {
+                axisCache.put(key, pairAxis[k]);
+            }
+            if (pairAxis[k] < 0) {
+                contactFirst.add(a);
+                contactSecond.add(b);
+                contactState.add(contacts.touch(a, b));
+            }
+        }
+        contacts.endFrame();
+    }
+
+    /**
+     * Testa na fase estreita os pares candidatos [from, to), guardando o resultado em pairAxis.
+     * Apenas lê a cache de eixos, pelo que pode correr em paralelo sobre intervalos disjuntos.
+     */
+    private void testCandidates(int from, int to) {
+        for (int k = from; k < to; k++) {
+            ICollider a = enabledObjects.get(candidates.first(k)).collider();
+            ICollider b = enabledObjects.get(candidates.second(k)).collider();
+            pairAxis[k] = separatingAxis(a, b);
+        }
+    }
+
+    /**
+     * Tarefa fork/join que divide um intervalo de pares candidatos até blocos de NARROWPHASE_CHUNK pares.
+     */
+    private class NarrowphaseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from, to;
+
+        NarrowphaseTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= NARROWPHASE_CHUNK) {
+                testCandidates(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new NarrowphaseTask(from, mid), new NarrowphaseTask(mid, to));
+        }
+    }
+
+    /**
+     * Dispara os eventos de início, continuação e fim de contacto da última passagem de colisões.
+     */
+    private void dispatchContactEvents() {
+        for (int k = 0; k < contactFirst.size(); k++) {
+            GameObject a = contactFirst.get(k);
+            GameObject b = contactSecond.get(k);
+            if (contactState.get(k) == ContactCache.BEGIN) {
+                a.behaviour().onContactBegin(b);
+                b.behaviour().onContactBegin(a);
+            } else {
+                a.behaviour().onContactStay(b);
+                b.behaviour().onContactStay(a);
+            }
+        }
+        for (int k = 0; k < contacts.endedCount(); k++) {
+            GameObject a = contacts.endedFirst(k);
+            GameObject b = contacts.endedSecond(k);
+            a.behaviour().onContactEnd(b);
+            b.behaviour().onContactEnd(a);
+        }
+    }
+
     /**
      * Deteta colisão entre dois colliders.
-     * Atualmente apenas utiliza do CircleCollider
-        * @param a Primeiro collider
-        * @param b Segundo collider
-        * @return Verdadeiro se houver colisão, falso caso contrário
-    **/
-public boolean detectCollision(ICollider a, ICollider b) {
-    if (a instanceof CircleCollider && b instanceof CircleCollider) {
-        CircleCollider ca = (CircleCollider) a;
-        CircleCollider cb = (CircleCollider) b;
-
-        double dx = ca.centroid().x - cb.centroid().x;
-        double dy = ca.centroid().y - cb.centroid().y;
-        double distanceSq = dx * dx + dy * dy;
-        double radiusSum = ca.getRadius() + cb.getRadius();
-
-        return distanceSq <= radiusSum * radiusSum;
-    }
-    return false;
-}
+     * Pares de círculos usam os centroides inteiros e, se algum for contínuo, o instante de impacto
+     * ao longo do varrimento; pares com polígonos usam o teorema do
+     * eixo separador, testando primeiro o último eixo separador encontrado para o par.
+     * @param a Primeiro collider
+     * @param b Segundo collider
+     * @return Verdadeiro se houver colisão, falso caso contrário
+     */
+    public boolean detectCollision(ICollider a, ICollider b) {
+        int axis = separatingAxis(a, b);
+        long key = axisKey(a, b);
+        if (key != PairSet.EMPTY && !parallelPhase) {
+            axisCache.put(key, axis);
+        }
+        return axis < 0;
+    }
+
+    /**
+     * Teste da fase estreita sem efeitos secundários: lê a cache de eixos mas não a escreve.
+     * @return -1 se os colliders colidem; caso contrário o eixo separador encontrado
+     * (0 para pares sem eixos indexados)
+     */
+    private int separatingAxis(ICollider a, ICollider b) {
+        if (a instanceof CircleCollider && b instanceof CircleCollider) {
+            CircleCollider ca = (CircleCollider) a;
+            CircleCollider cb = (CircleCollider) b;
+
+            // Centroides arredondados para inteiros, como em centroid(), mas sem alocar Points.
+            double dx = (int) ca.posX() - (int) cb.posX();
+            double dy = (int) ca.posY() - (int) cb.posY();
+            double distanceSq = dx * dx + dy * dy;
+            double radiusSum = ca.getRadius() + cb.getRadius();
+
+            if (distanceSq <= radiusSum * radiusSum) return -1;
+            // Círculos rápidos podem ter atravessado o outro durante o frame.
+            return (ca.isContinuous() || cb.isContinuous()) && ca.timeOfImpact(cb) >= 0 ? -1 : 0;
+        }
+        if (a instanceof PolygonCollider && b instanceof PolygonCollider) {
+            PolygonCollider pa = (PolygonCollider) a;
+            PolygonCollider pb = (PolygonCollider) b;
+            // O índice do eixo depende de qual polígono é testado primeiro.
+            if (pb.id() < pa.id()) {
+                PolygonCollider tmp = pa;
+                pa = pb;
+                pb = tmp;
+            }
+            return pa.findSeparatingAxis(pb, axisCache.get(axisKey(pa, pb)));
+        }
+        if (a instanceof PolygonCollider && b instanceof CircleCollider) {
+            return ((PolygonCollider) a).findSeparatingAxis((CircleCollider) b, axisCache.get(axisKey(a, b)));
+        }
+        if (a instanceof CircleCollider && b instanceof PolygonCollider) {
+            return ((PolygonCollider) b).findSeparatingAxis((CircleCollider) a, axisCache.get(axisKey(a, b)));
+        }
+        return a.collidesWith(b) ? -1 : 0;
+    }
+
+    /**
+     * Chave do par na cache de eixos separadores.
+     * @return PairSet.pack() dos ids dos colliders, ou PairSet.EMPTY se o par não tem polígonos
+     */
+    private static long axisKey(ICollider a, ICollider b) {
+        if (!(a instanceof PolygonCollider) && !(b instanceof PolygonCollider)) {
+            return PairSet.EMPTY;
+        }
+        return PairSet.pack(((Collider) a).id(), ((Collider) b).id());
+    }
 }
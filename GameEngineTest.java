@@ -0,0 +1,907 @@
+import static org.junit.Assert.*;
+
+import java.util.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.function.Supplier;
+
+/**
+ * Testes unitários para a classe GameEngine.
+ * Valida que a deteção de colisões devolve o mesmo resultado com qualquer broadphase.
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ */
+public class GameEngineTest {
+
+    private final GameEngine engine = GameEngine.getInstance();
+
+    /**
+     * Comportamento vazio usado pelos objetos de teste.
+     */
+    private static class NoBehaviour implements IBehaviour {
+        @Override public void onInit() {}
+        @Override public void onEnabled() {}
+        @Override public void onDisabled() {}
+        @Override public void onDestroy() {}
+        @Override public void onUpdate() {}
+        @Override public void onCollision(GameObject other) {}
+        @Override public void setControlledObject(GameObject go) {}
+    }
+
+    @Before
+    public void setUp() {
+        clearEngine();
+    }
+
+    @After
+    public void tearDown() {
+        clearEngine();
+        engine.setBroadphase(SpatialHash::new);
+        engine.setParallelNarrowphase(null);
+        engine.setParallelUpdate(null);
+        engine.setLayerCollision(0, 1, false);
+        engine.setLayerCollision(1, 1, true);
+        Behaviour.resetGameState();
+    }
+
+    private void clearEngine() {
+        for (GameObject go : engine.getEnabled()) {
+            engine.destroy(go);
+        }
+    }
+
+    private GameObject addCircle(String name, double x, double y, int layer, double r) {
+        Transform t = new Transform(x, y, layer, 0, 1.0);
+        GameObject go = new GameObject(name, t, CircleCollider.create(t, 0, 0, r), new NoBehaviour());
+        engine.add(go);
+        return go;
+    }
+
+    private void addRandomCircles(long seed, int count, int size) {
+        Random random = new Random(seed);
+        for (int i = 0; i < count; i++) {
+            double r = random.nextBoolean() ? 5 : 30;
+            addCircle("Obj" + i, random.nextDouble() * size, random.nextDouble() * size, random.nextInt(2), r);
+        }
+    }
+
+    private List<Map.Entry<GameObject, List<GameObject>>> collide(Supplier<IBroadphase> broadphase) {
+        engine.setBroadphase(broadphase);
+        return collide();
+    }
+
+    private List<Map.Entry<GameObject, List<GameObject>>> collide() {
+        return new ArrayList<>(engine.simulate(0, new HashMap<>()).entrySet());
+    }
+
+    /**
+     * Resultado de referência: testa todos os pares i < j de layers que podem colidir.
+     */
+    private List<Map.Entry<GameObject, List<GameObject>>> bruteForce() {
+        List<GameObject> objects = engine.getEnabled();
+        Map<GameObject, List<GameObject>> collisions = new LinkedHashMap<>();
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject a = objects.get(i);
+            for (int j = i + 1; j < objects.size(); j++) {
+                GameObject b = objects.get(j);
+                if (!engine.canCollide(a.transform().layer(), b.transform().layer())) continue;
+                if (engine.detectCollision(a.collider(), b.collider())) {
+                    collisions.computeIfAbsent(a, _ -> new ArrayList<>()).add(b);
+                    collisions.computeIfAbsent(b, _ -> new ArrayList<>()).add(a);
+                }
+            }
+        }
+        return new ArrayList<>(collisions.entrySet());
+    }
+
+    @Test
+    public void testSpatialHashMatchesBruteForce() {
+        addRandomCircles(42, 400, 800);
+        List<Map.Entry<GameObject, List<GameObject>>> expected = bruteForce();
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, collide(BruteForceBroadphase::new));
+        assertEquals(expected, collide(SpatialHash::new));
+        assertEquals(expected, collide(() -> new SpatialHash(16)));
+    }
+
+    /**
+     * Move os objetos durante vários frames, destruindo, criando e mudando objetos de layer
+     * pelo caminho, e compara a broadphase indicada com o teste exaustivo a cada frame.
+     */
+    private void assertMatchesBruteForceWhileObjectsMove(Supplier<IBroadphase> broadphase) {
+        addRandomCircles(7, 300, 800);
+        engine.setBroadphase(broadphase);
+        Random random = new Random(3);
+        Map<GameObject, double[]> velocities = new HashMap<>();
+
+        for (int frame = 0; frame < 20; frame++) {
+            velocities.clear();
+            for (GameObject go : engine.getEnabled()) {
+                int dlayer = random.nextInt(50) == 0 ? 1 - 2 * go.transform().layer() : 0;
+                velocities.put(go, new double[] { random.nextInt(7) - 3, random.nextInt(7) - 3, dlayer, 0, 0 });
+            }
+            engine.simulate(1, velocities);
+            if (frame % 5 == 4) {
+                engine.destroy(engine.getEnabled().get(random.nextInt(engine.getEnabled().size())));
+                addCircle("New" + frame, random.nextDouble() * 800, random.nextDouble() * 800, 0, 30);
+            }
+            assertEquals(bruteForce(), collide());
+        }
+    }
+
+    @Test
+    public void testAABBTreeMatchesBruteForceWhileObjectsMove() {
+        assertMatchesBruteForceWhileObjectsMove(AABBTree::new);
+    }
+
+    @Test
+    public void testSweepAndPruneMatchesBruteForceWhileObjectsMove() {
+        assertMatchesBruteForceWhileObjectsMove(SweepAndPrune::new);
+    }
+
+    @Test
+    public void testLayerMatrixAllowsCrossLayerPairs() {
+        GameObject bullet = addCircle("Bullet", 0, 0, 1, 5);
+        GameObject enemy = addCircle("Enemy", 6, 0, 0, 5);
+        addCircle("Bullet", 3, 0, 1, 5);
+
+        engine.setLayerCollision(0, 1, true);
+        engine.setLayerCollision(1, 1, false);
+        for (Supplier<IBroadphase> broadphase : List.<Supplier<IBroadphase>>of(BruteForceBroadphase::new, SpatialHash::new, AABBTree::new, SweepAndPrune::new)) {
+            assertEquals(bruteForce(), collide(broadphase));
+            Map<GameObject, List<GameObject>> collisions = engine.simulate(0, new HashMap<>());
+            assertEquals(3, collisions.size());
+            assertEquals(1, collisions.get(bullet).size());
+            assertEquals(2, collisions.get(enemy).size());
+        }
+    }
+
+    @Test
+    public void testPolygonPairsAreDetected() {
+        Transform t = new Transform(0, 0, 0, 0, 1.0);
+        GameObject wall = new GameObject("Wall", t, PolygonCollider.create(t, Arrays.asList(
+            new java.awt.Point.Double(-100, -10), new java.awt.Point.Double(100, -10),
+            new java.awt.Point.Double(100, 10), new java.awt.Point.Double(-100, 10))), new NoBehaviour());
+        engine.add(wall);
+        GameObject hit = addCircle("Hit", 90, 15, 0, 6);
+        addCircle("Miss", 105, 15, 0, 6);
+
+        for (int frame = 0; frame < 3; frame++) {
+            Map<GameObject, List<GameObject>> collisions = engine.simulate(0, new HashMap<>());
+            assertEquals(List.of(hit), collisions.get(wall));
+            assertEquals(List.of(wall), collisions.get(hit));
+            assertEquals(2, collisions.size());
+        }
+    }
+
+    @Test
+    public void testFastContinuousCircleHitsDuringSimulate() {
+        GameObject enemy = addCircle("Enemy", 50, 0, 0, 10);
+        GameObject bullet = addCircle("Bullet", 0, 0, 0, 5);
+        GameObject slow = addCircle("Slow", 0, 200, 0, 5);
+        GameObject other = addCircle("Enemy", 50, 200, 0, 10);
+        ((Collider) bullet.collider()).setContinuous(true);
+
+        Map<GameObject, double[]> velocities = new HashMap<>();
+        velocities.put(enemy, new double[] { 0, 0, 0, 0, 0 });
+        velocities.put(bullet, new double[] { 100, 0, 0, 0, 0 });
+        velocities.put(slow, new double[] { 100, 0, 0, 0, 0 });
+        velocities.put(other, new double[] { 0, 0, 0, 0, 0 });
+        Map<GameObject, List<GameObject>> collisions = engine.simulate(1, velocities);
+
+        assertEquals(List.of(bullet), collisions.get(enemy));
+        assertNull("sem deteção contínua o objeto atravessa o inimigo", collisions.get(slow));
+    }
+
+    @Test
+    public void testParallelNarrowphaseMatchesSequential() {
+        addRandomCircles(11, 2000, 1500);
+        Random random = new Random(5);
+        for (int i = 0; i < 200; i++) {
+            Transform t = new Transform(random.nextDouble() * 1500, random.nextDouble() * 1500, 0, 0, 1.0);
+            engine.add(new GameObject("Poly" + i, t, PolygonCollider.create(t, Arrays.asList(
+                new java.awt.Point.Double(-12, -8), new java.awt.Point.Double(12, -8),
+                new java.awt.Point.Double(0, 14))), new NoBehaviour()));
+        }
+        List<Map.Entry<GameObject, List<GameObject>>> expected = collide();
+        assertFalse(expected.isEmpty());
+
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+        try {
+            engine.setParallelNarrowphase(pool);
+            assertEquals(expected, collide());
+            assertEquals(expected, collide());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testOverlappingMatchesLinearScanWhileObjectsMove() {
+        addRandomCircles(21, 300, 800);
+        Random random = new Random(9);
+        Map<GameObject, double[]> velocities = new HashMap<>();
+        for (int frame = 0; frame < 10; frame++) {
+            velocities.clear();
+            for (GameObject go : engine.getEnabled()) {
+                velocities.put(go, new double[] { random.nextInt(21) - 10, random.nextInt(21) - 10, 0, 0, 0 });
+            }
+            engine.simulate(1, velocities);
+            engine.destroy(engine.getEnabled().get(random.nextInt(engine.getEnabled().size())));
+
+            for (GameObject probe : engine.getEnabled()) {
+                List<GameObject> expected = new ArrayList<>();
+                for (GameObject go : engine.getEnabled()) {
+                    if (go != probe && engine.detectCollision(probe.collider(), go.collider())) expected.add(go);
+                }
+                assertEquals(expected, engine.overlapping(probe.collider()));
+            }
+        }
+    }
+
+    @Test
+    public void testWithinRadiusAndNearest() {
+        GameObject a = addCircle("A", 0, 0, 0, 5);
+        GameObject b = addCircle("B", 30, 0, 0, 5);
+        GameObject c = addCircle("C", 0, 100, 1, 5);
+        GameObject d = addCircle("D", 1000, 1000, 0, 5);
+        java.awt.Point origin = new java.awt.Point(0, 0);
+
+        assertEquals(List.of(a, b), engine.withinRadius(origin, 50));
+        assertEquals(List.of(a, b, c), engine.withinRadius(origin, 100));
+        assertEquals(List.of(b, c), engine.nearest(origin, 2, go -> go != a));
+        assertEquals(List.of(a, b, c, d), engine.nearest(origin, 10, _ -> true));
+        assertEquals(List.of(d), engine.nearest(new java.awt.Point(900, 900), 1, _ -> true));
+    }
+
+    @Test
+    public void testRaycastMatchesLinearScan() {
+        addRandomCircles(31, 300, 800);
+        Random random = new Random(13);
+        for (int k = 0; k < 50; k++) {
+            java.awt.geom.Point2D.Double from = new java.awt.geom.Point2D.Double(random.nextDouble() * 800, random.nextDouble() * 800);
+            java.awt.geom.Point2D.Double to = new java.awt.geom.Point2D.Double(random.nextDouble() * 800, random.nextDouble() * 800);
+            double length = from.distance(to);
+            double dx = (to.x - from.x) / length, dy = (to.y - from.y) / length;
+
+            List<GameObject> expected = new ArrayList<>();
+            for (GameObject go : engine.getEnabled()) {
+                if (go.collider().raycast(from.x, from.y, dx, dy, length) >= 0) expected.add(go);
+            }
+            expected.sort(Comparator.comparingDouble(go -> go.collider().raycast(from.x, from.y, dx, dy, length)));
+
+            List<GameObject> actual = new ArrayList<>();
+            for (RaycastHit hit : engine.segmentCastAll(from, to, _ -> true)) actual.add(hit.object());
+            assertEquals(expected, actual);
+            RaycastHit first = engine.segmentCast(from, to, _ -> true);
+            assertEquals(expected.isEmpty() ? null : expected.get(0), first == null ? null : first.object());
+        }
+    }
+
+    @Test
+    public void testSegmentCastLineOfSight() {
+        GameObject shooter = addCircle("Shooter", 0, 0, 0, 10);
+        GameObject blocker = addCircle("Blocker", 100, 0, 0, 10);
+        GameObject target = addCircle("Target", 200, 0, 0, 10);
+        java.awt.Point from = new java.awt.Point(0, 0), to = new java.awt.Point(200, 0);
+
+        RaycastHit hit = engine.segmentCast(from, to, go -> go != shooter);
+        assertSame(blocker, hit.object());
+        assertEquals(90, hit.distance(), 1e-9);
+        assertEquals(90, hit.x(), 1e-9);
+        assertSame(target, engine.segmentCast(from, to, go -> go == target).object());
+        assertNull(engine.raycast(from, 0, 1, 1000, go -> go != shooter));
+    }
+
+    @Test
+    public void testSteadyStateFrameDoesNotAllocate() {
+        addRandomCircles(17, 500, 800);
+        Random random = new Random(19);
+        for (int i = 0; i < 50; i++) {
+            Transform t = new Transform(random.nextDouble() * 800, random.nextDouble() * 800, 0, 0, 1.0);
+            engine.add(new GameObject("Poly" + i, t, PolygonCollider.create(t, Arrays.asList(
+                new java.awt.Point.Double(-12, -8), new java.awt.Point.Double(12, -8),
+                new java.awt.Point.Double(0, 14))), new NoBehaviour()));
+        }
+        engine.setLayerCollision(0, 1, true);
+        List<GameObject> objects = engine.getEnabled();
+
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        // Os objetos oscilam com período de 8 frames, pelo que o aquecimento percorre todos os estados.
+        for (int frame = 0; frame < 2000; frame++) {
+            frame(objects, frame);
+        }
+        assertTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int frame = 0; frame < 80; frame++) {
+            frame(objects, frame);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertEquals(0, allocated);
+    }
+
+    @Test
+    public void testGameFrameWithEnemiesSoldiersAndBulletsDoesNotAllocate() {
+        addCircle("Player", 960, 540, 0, 30);
+        // Os inimigos ficam numa layer sem colisões entre si, para não serem destruídos pelos próprios projéteis em collide().
+        engine.setLayerCollision(1, 1, false);
+        engine.setLayerCollision(0, 1, true);
+        List<GameObject> spawned = new ArrayList<>();
+
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        for (int round = 0; round < 40; round++) {
+            spawnRound(spawned);
+            for (int frame = 0; frame < 150; frame++) gameFrame();
+            endRound(spawned);
+        }
+
+        spawnRound(spawned);
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int frame = 0; frame < 150; frame++) gameFrame();
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Todos dispararam no primeiro frame da ronda e os projéteis atingiram o jogador sem destruir ninguém.
+        assertTrue(Behaviour.wasPlayerHit());
+        assertTrue(Behaviour.bulletPool().hits() > 0 && Behaviour.soldierBulletPool().hits() > 0);
+        for (GameObject go : spawned) assertTrue(engine.isEnabled(go));
+        assertEquals(spawned.size() + 1, engine.enabled().size());
+        endRound(spawned);
+        assertEquals(0, allocated);
+    }
+
+    /**
+     * Inimigos a 450 px e soldados a 250 px do jogador, em direções diferentes para que nenhum projétil
+     * atravesse outro objeto, e um soldado atrás de outro, sem linha de visão, que não dispara.
+     * Os objetos saem dos pools com os temporizadores repostos, pelo que disparam no primeiro frame.
+     */
+    private void spawnRound(List<GameObject> spawned) {
+        for (int angle = 60; angle < 360; angle += 120) {
+            spawned.add(Behaviour.enemyPool().acquire(960 + 450 * Math.cos(Math.toRadians(angle)),
+                540 + 450 * Math.sin(Math.toRadians(angle)), 1, 0, 1.0));
+        }
+        for (int angle = 0; angle < 360; angle += 120) {
+            spawned.add(Behaviour.soldierPool().acquire(960 + 250 * Math.cos(Math.toRadians(angle)),
+                540 + 250 * Math.sin(Math.toRadians(angle)), 0, 0, 1.0));
+        }
+        spawned.add(Behaviour.soldierPool().acquire(960 + 290, 540, 0, 0, 1.0));
+        for (GameObject go : spawned) engine.add(go);
+    }
+
+    private void endRound(List<GameObject> spawned) {
+        for (GameObject go : spawned) engine.destroy(go);
+        spawned.clear();
+        Behaviour.resetPlayerHit();
+    }
+
+    /**
+     * Frame do jogo: atualiza os comportamentos, ajusta os colliders e deteta colisões.
+     */
+    private void gameFrame() {
+        engine.update();
+        engine.syncColliders();
+        engine.collide();
+    }
+
+    /**
+     * Frame sem alocações: move os objetos com a API primitiva, ajusta os colliders e deteta colisões.
+     */
+    private void frame(List<GameObject> objects, int frame) {
+        double step = (frame & 4) == 0 ? 3 : -3;
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject go = objects.get(i);
+            go.transform().move(i % 2 == 0 ? step : -step, step, 0);
+            go.transform().rotate(5);
+            go.collider().adjustToTransform();
+        }
+        engine.collide();
+    }
+
+    @Test
+    public void testStructuralChangesDuringUpdateAreDeferred() {
+        List<String> log = new ArrayList<>();
+        GameObject[] victim = new GameObject[1];
+        Transform st = new Transform(0, 0, 0, 0, 1.0);
+        GameObject spawner = new GameObject("Spawner", st, CircleCollider.create(st, 0, 0, 5), new NoBehaviour() {
+            @Override public void onUpdate() {
+                log.add("update Spawner");
+                engine.destroy(victim[0]);
+                assertFalse(engine.isEnabled(victim[0]));
+                assertTrue(engine.enabled().contains(victim[0]));
+                Transform t = new Transform(0, 0, 0, 0, 1.0);
+                engine.add(new GameObject("Child", t, CircleCollider.create(t, 0, 0, 5), new NoBehaviour() {
+                    @Override public void onInit() { log.add("init Child"); }
+                }));
+            }
+        });
+        Transform vt = new Transform(0, 0, 0, 0, 1.0);
+        victim[0] = new GameObject("Victim", vt, CircleCollider.create(vt, 0, 0, 5), new NoBehaviour() {
+            @Override public void onUpdate() { log.add("update Victim"); }
+            @Override public void onDestroy() { log.add("destroy Victim"); }
+        });
+        engine.add(spawner);
+        engine.add(victim[0]);
+        List<GameObject> view = engine.enabled();
+
+        engine.update();
+        assertEquals(List.of("update Spawner", "destroy Victim", "init Child"), log);
+        assertSame(view, engine.enabled());
+        assertEquals(2, view.size());
+        assertEquals("Child", view.get(1).name());
+        assertTrue(engine.overlapping(spawner.collider()).contains(view.get(1)));
+    }
+
+    /**
+     * Comportamento atualizado em paralelo: move o próprio objeto, destrói o objeto seguinte quando o
+     * seu índice é múltiplo de 3 e regista o índice com post().
+     */
+    private class ParallelBehaviour extends NoBehaviour {
+        private final int index;
+        private final GameObject[] all;
+        private final List<Integer> log;
+        private GameObject self;
+
+        ParallelBehaviour(int index, GameObject[] all, List<Integer> log) {
+            this.index = index;
+            this.all = all;
+            this.log = log;
+        }
+
+        @Override public void setControlledObject(GameObject go) { self = go; }
+        @Override public boolean isParallelSafe() { return true; }
+        @Override public void onUpdate() {
+            self.transform().move(1, 0, 0);
+            if (index % 3 == 0 && index > 0) engine.destroy(all[index - 1]);
+            assertTrue(engine.isEnabled(self));
+            engine.post(() -> log.add(index));
+        }
+    }
+
+    /**
+     * Atualiza uma vez objetos com ParallelBehaviour seguidos de um objeto sequencial que regista
+     * quantos objetos paralelos continuam ativos quando é atualizado. Como o objeto sequencial é o
+     * último, a ordem original (um objeto de cada vez, pela ordem de enabled()) é também a da
+     * atualização com pool, e cada objeto paralelo só destrói objetos já atualizados.
+     * @return número de objetos ativos visto pelo objeto sequencial, seguido dos índices registados por post()
+     */
+    private List<Integer> runParallelUpdate(int count) {
+        List<Integer> log = new ArrayList<>();
+        GameObject[] all = new GameObject[count];
+        for (int i = 0; i < count; i++) {
+            Transform t = new Transform(i, 0, 0, 0, 1.0);
+            ParallelBehaviour behaviour = new ParallelBehaviour(i, all, log);
+            all[i] = new GameObject("Parallel", t, CircleCollider.create(t, 0, 0, 5), behaviour);
+            behaviour.setControlledObject(all[i]);
+            engine.add(all[i]);
+        }
+        Transform st = new Transform(0, 0, 0, 0, 1.0);
+        engine.add(new GameObject("Serial", st, CircleCollider.create(st, 0, 0, 5), new NoBehaviour() {
+            @Override public void onUpdate() {
+                int enabled = 0;
+                for (GameObject go : all) {
+                    if (engine.isEnabled(go)) enabled++;
+                }
+                engine.post(() -> log.add(-1));
+                log.add(enabled);
+            }
+        }));
+
+        engine.update();
+        for (int i = 0; i < count; i++) {
+            assertEquals(i + 1, all[i].transform().posX(), 1e-9);
+        }
+        clearEngine();
+        return log;
+    }
+
+    @Test
+    public void testParallelUpdateMatchesSequential() {
+        List<Integer> expected = runParallelUpdate(1000);
+        // Sem pool, um objeto de cada vez: os comandos são aplicados no fim, pela ordem em que foram pedidos.
+        assertEquals(1000 + 2, expected.size());
+        assertEquals(Integer.valueOf(1000 - 333), expected.get(0));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Integer.valueOf(i), expected.get(i + 1));
+        }
+        assertEquals(Integer.valueOf(-1), expected.get(1001));
+
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+        try {
+            engine.setParallelUpdate(pool);
+            assertEquals(expected, runParallelUpdate(1000));
+            assertEquals(expected, runParallelUpdate(1000));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testUpdateWithoutPoolKeepsListOrder() {
+        List<String> log = new ArrayList<>();
+        String[] names = { "Serial", "Parallel", "Serial", "Parallel" };
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i] + i;
+            boolean parallel = names[i].equals("Parallel");
+            Transform t = new Transform(0, 0, 0, 0, 1.0);
+            engine.add(new GameObject(name, t, CircleCollider.create(t, 0, 0, 5), new NoBehaviour() {
+                @Override public boolean isParallelSafe() { return parallel; }
+                @Override public void onUpdate() { log.add(name); }
+            }));
+        }
+        engine.update();
+        assertEquals(List.of("Serial0", "Parallel1", "Serial2", "Parallel3"), log);
+    }
+
+    @Test
+    public void testSimulateMovesAndUpdatesEachObjectInTurn() {
+        GameObject[] later = new GameObject[1];
+        double[] seen = new double[1];
+        Transform t = new Transform(0, 0, 0, 0, 1.0);
+        GameObject b = new GameObject("B", t, CircleCollider.create(t, 0, 0, 5), new NoBehaviour() {
+            // B é atualizado antes de A ser movido no mesmo frame.
+            @Override public void onUpdate() { seen[0] = later[0].collider().posX(); }
+        });
+        engine.add(b);
+        GameObject a = addCircle("A", 0, 0, 0, 5);
+        later[0] = a;
+        Map<GameObject, double[]> velocities = new HashMap<>();
+        velocities.put(a, new double[] { 10, 0, 0, 0, 0 });
+        velocities.put(b, new double[] { 0, 0, 0, 0, 0 });
+        engine.simulate(2, velocities);
+        assertEquals(10, seen[0], 1e-9);
+        assertEquals(20, a.collider().posX(), 1e-9);
+    }
+
+    @Test
+    public void testPostRunsAfterUpdateOrImmediately() {
+        List<String> log = new ArrayList<>();
+        engine.post(() -> log.add("now"));
+        assertEquals(List.of("now"), log);
+
+        Transform t = new Transform(0, 0, 0, 0, 1.0);
+        engine.add(new GameObject("Poster", t, CircleCollider.create(t, 0, 0, 5), new NoBehaviour() {
+            @Override public void onUpdate() {
+                engine.post(() -> log.add("posted"));
+                log.add("update");
+            }
+        }));
+        engine.update();
+        assertEquals(List.of("now", "update", "posted"), log);
+    }
+
+    @Test
+    public void testLifecycleSwapRemovesInConstantTime() {
+        GameObject a = addCircle("A", 0, 0, 0, 5);
+        GameObject b = addCircle("B", 0, 0, 0, 5);
+        GameObject c = addCircle("C", 0, 0, 0, 5);
+        GameObject d = addCircle("D", 0, 0, 0, 5);
+
+        engine.disable(b);
+        assertEquals(List.of(a, d, c), engine.enabled());
+        engine.disable(b);
+        engine.enable(a);
+        assertEquals(List.of(a, d, c), engine.enabled());
+        engine.enable(b);
+        assertEquals(List.of(a, d, c, b), engine.enabled());
+        engine.destroy(a);
+        assertEquals(List.of(b, d, c), engine.enabled());
+        engine.destroy(c);
+        assertEquals(List.of(b, d), engine.enabled());
+        assertTrue(engine.isEnabled(d));
+        assertFalse(engine.isEnabled(c));
+    }
+
+    @Test
+    public void testTagBucketsFollowLifecycle() {
+        int enemy = Tags.intern("Enemy");
+        int player = Tags.intern("Player");
+        GameObject e1 = addCircle("Enemy", 0, 0, 0, 5);
+        GameObject p = addCircle("Player", 0, 0, 0, 5);
+        GameObject e2 = addCircle("Enemy", 0, 0, 0, 5);
+
+        assertEquals(enemy, e1.tag());
+        assertEquals("Enemy", Tags.name(enemy));
+        assertEquals(List.of(e1, e2), engine.withTag(enemy));
+        assertSame(p, engine.first(player));
+
+        engine.disable(e1);
+        assertEquals(List.of(e2), engine.withTag(enemy));
+        engine.enable(e1);
+        engine.destroy(p);
+        assertEquals(List.of(e2, e1), engine.withTag(enemy));
+        assertNull(engine.first(player));
+        assertTrue(engine.withTag(Tags.intern("Unused tag")).isEmpty());
+    }
+
+    @Test
+    public void testUpdateRunsMovementSystemOnWorldEntities() {
+        EntityWorld world = engine.world();
+        int moving = world.create(Components.POSITION, Components.VELOCITY);
+        int still = world.create(Components.POSITION);
+        world.set(moving, Components.VELOCITY, 0, 60);
+        world.set(moving, Components.VELOCITY, 1, -120);
+        world.set(still, Components.POSITION, 0, 5);
+
+        engine.update();
+        engine.update();
+        assertEquals(2, world.get(moving, Components.POSITION, 0), 1e-6);
+        assertEquals(-4, world.get(moving, Components.POSITION, 1), 1e-6);
+        assertEquals(5, world.get(still, Components.POSITION, 0), 0);
+
+        world.destroy(moving);
+        world.destroy(still);
+    }
+
+    @Test
+    public void testGameObjectsAreEntitiesProcessedBySystems() {
+        EntityWorld world = engine.world();
+        GameObject a = addCircle("A", 10, 20, 1, 5);
+        GameObject b = addCircle("B", 100, 0, 0, 5);
+        assertTrue(world.isAlive(a.entity()));
+        assertSame(a, world.getReference(a.entity(), Components.GAME_OBJECT));
+        assertEquals(10, world.get(a.entity(), Components.POSITION, 0), 0);
+        assertEquals(1, world.get(a.entity(), Components.LAYER, 0), 0);
+        assertEquals(a.collider().minX(), world.get(a.entity(), Components.BOUNDS, 0), 0);
+
+        // Um GameObject com velocidade é movido pelo MovementSystem, como as restantes entidades.
+        world.add(a.entity(), Components.VELOCITY);
+        world.set(a.entity(), Components.VELOCITY, 0, 60);
+        b.transform().move(5, 0, 0);
+        engine.update();
+        engine.syncColliders();
+        assertEquals(11, a.transform().posX(), 1e-6);
+        assertEquals(11, a.collider().posX(), 1e-6);
+        assertEquals(20, a.transform().posY(), 1e-6);
+        assertEquals(105, world.get(b.entity(), Components.POSITION, 0), 0);
+        assertEquals(105, b.transform().posX(), 0);
+
+        int entity = a.entity();
+        engine.disable(a);
+        assertFalse(world.isAlive(entity));
+        assertEquals(-1, a.entity());
+        engine.enable(a);
+        assertTrue(world.isAlive(a.entity()));
+        assertEquals(11, world.get(a.entity(), Components.POSITION, 0), 1e-6);
+    }
+
+    /**
+     * Comportamento que regista os eventos de contacto recebidos.
+     */
+    private static class RecordingBehaviour extends NoBehaviour {
+        final List<String> events = new ArrayList<>();
+        @Override public void onContactBegin(GameObject other) { events.add("begin " + other.name()); }
+        @Override public void onContactStay(GameObject other) { events.add("stay " + other.name()); }
+        @Override public void onContactEnd(GameObject other) { events.add("end " + other.name()); }
+    }
+
+    @Test
+    public void testContactBeginStayEnd() {
+        RecordingBehaviour recorder = new RecordingBehaviour();
+        Transform t = new Transform(0, 0, 0, 0, 1.0);
+        GameObject a = new GameObject("A", t, CircleCollider.create(t, 0, 0, 10), recorder);
+        engine.add(a);
+        GameObject b = addCircle("B", 15, 0, 0, 10);
+
+        assertEquals(1, engine.collide());
+        assertEquals(1, engine.simulate(0, new HashMap<>()).get(a).size());
+        assertEquals(1, engine.collide());
+        b.transform().move(new java.awt.Point(100, 0), 0);
+        b.collider().adjustToTransform();
+        assertEquals(0, engine.collide());
+        assertEquals(0, engine.collide());
+
+        assertEquals(List.of("begin B", "stay B", "stay B", "end B"), recorder.events);
+    }
+
+    @Test
+    public void testContactEndsWhenObjectIsDestroyed() {
+        RecordingBehaviour recorder = new RecordingBehaviour();
+        Transform t = new Transform(0, 0, 0, 0, 1.0);
+        GameObject a = new GameObject("A", t, CircleCollider.create(t, 0, 0, 10), recorder);
+        engine.add(a);
+        GameObject b = addCircle("B", 15, 0, 0, 10);
+
+        engine.collide();
+        engine.destroy(b);
+        engine.collide();
+        assertEquals(List.of("begin B", "end B"), recorder.events);
+    }
+
+    @Test
+    public void testTouchingCirclesCollide() {
+        GameObject a = addCircle("A", 0, 0, 0, 10);
+        GameObject b = addCircle("B", 20, 0, 0, 10);
+        addCircle("C", 100, 0, 0, 10);
+
+        Map<GameObject, List<GameObject>> collisions = engine.simulate(0, new HashMap<>());
+        assertEquals(2, collisions.size());
+        assertEquals(List.of(b), collisions.get(a));
+        assertEquals(List.of(a), collisions.get(b));
+    }
+
+    @Test
+    public void testTransformRowsFollowEnabledOrder() {
+        GameObject a = addCircle("A", 0, 0, 0, 10);
+        GameObject b = addCircle("B", 100, 0, 0, 10);
+        GameObject c = addCircle("C", 200, 0, 0, 10);
+        engine.disable(a);
+        engine.destroy(b);
+        GameObject d = addCircle("D", 300, 0, 0, 10);
+        engine.enable(a);
+
+        TransformStore store = engine.transforms();
+        List<GameObject> enabled = engine.enabled();
+        assertEquals(enabled.size(), store.size());
+        for (int row = 0; row < enabled.size(); row++) {
+            assertSame(enabled.get(row).transform(), store.owner(row));
+            assertEquals(enabled.get(row).transform().posX(), store.x()[row], 0.001);
+        }
+        assertNull(((Transform) b.transform()).store());
+        assertTrue(enabled.containsAll(List.of(a, c, d)));
+    }
+
+    @Test
+    public void testSyncCollidersAdjustsOnlyMovedObjects() {
+        GameObject a = addCircle("A", 0, 0, 0, 10);
+        GameObject b = addCircle("B", 100, 0, 0, 10);
+        engine.syncColliders();
+        assertFalse(a.collider().collidesWith(b.collider()));
+
+        a.transform().move(50, 0, 0);
+        b.transform().move(-40, 0, 0);
+        assertEquals(0, a.collider().posX(), 0.001);
+        engine.syncColliders();
+        assertEquals(50, a.collider().posX(), 0.001);
+        assertEquals(60, b.collider().posX(), 0.001);
+        assertTrue(a.collider().collidesWith(b.collider()));
+    }
+
+    @Test
+    public void testDrawListUsesSpriteTable() {
+        engine.setSprite("DrawA", 7, 0.5);
+        engine.setSprite("DrawFrame", 9, 2.0);
+        GameObject a = addCircle("DrawA", 10, 20, 1, 5);
+        GameObject b = addCircle("DrawA", 30, 40, 0, 5);
+        addCircle("NoSprite", 0, 0, 0, 5);
+        b.setSpriteKey(Tags.intern("DrawFrame"));
+        a.transform().rotate(45);
+
+        FrameSnapshot frame = new FrameSnapshot();
+        engine.drawList(frame);
+        assertEquals(2, frame.size());
+        frame.sort();
+        assertEquals(9, frame.sprite(0));
+        assertEquals(30, frame.x(0), 1e-9);
+        assertEquals(2.0, frame.scale(0), 1e-9);
+        assertEquals(7, frame.sprite(1));
+        assertEquals(1, frame.layer(1));
+        assertEquals(45, frame.angle(1), 1e-9);
+        assertEquals(0.5, frame.scale(1), 1e-9);
+    }
+
+    @Test
+    public void testDrawListCullsObjectsOutsideCamera() {
+        engine.setSprite("DrawA", 7, 1.0);
+        addCircle("DrawA", 100, 100, 0, 5);
+        addCircle("DrawA", 1000, 100, 0, 5);
+        addCircle("DrawA", 430, 100, 0, 5);
+        Camera camera = new Camera(400, 300);
+        camera.setMargin(32);
+        camera.setPosition(50, 0);
+
+        FrameSnapshot frame = new FrameSnapshot();
+        engine.drawList(frame, camera);
+        assertEquals(2, frame.size());
+        assertEquals(50, frame.x(0), 1e-9);
+        assertEquals(100, frame.y(0), 1e-9);
+        assertEquals(380, frame.x(1), 1e-9);
+
+        camera.centerOn(1000, 100);
+        frame.clear(0);
+        engine.drawList(frame, camera);
+        assertEquals(1, frame.size());
+        assertEquals(200, frame.x(0), 1e-9);
+    }
+
+    @Test
+    public void testDrawListInterpolatesWithAlpha() {
+        engine.setSprite("Mover", 7, 1.0);
+        QueryingMover mover = new QueryingMover();
+        Transform t = new Transform(100, 50, 0, 0, 1.0);
+        GameObject go = new GameObject("Mover", t, CircleCollider.create(t, 0, 0, 5), mover);
+        mover.setControlledObject(go);
+        engine.add(go);
+        engine.update();
+        Camera camera = new Camera(400, 300);
+
+        FrameSnapshot frame = new FrameSnapshot();
+        engine.drawList(frame, camera, 0.5);
+        assertEquals(1, frame.size());
+        assertEquals(105, frame.x(0), 1e-9);
+        assertEquals(50, frame.y(0), 1e-9);
+
+        frame.clear(0);
+        engine.drawList(frame, camera, 1);
+        assertEquals(110, frame.x(0), 1e-9);
+
+        // Um salto com set() não é interpolado.
+        t.set(300, 50, 0, 0, 1.0);
+        go.collider().adjustToTransform();
+        assertEquals(300, engine.renderX(go, 0), 1e-9);
+    }
+
+    /**
+     * Comportamento que imita um projétil: desloca-se 10 pixels por update() e consulta os objetos sobrepostos.
+     */
+    private class QueryingMover extends NoBehaviour {
+        GameObject self;
+        int firstHit = -1;
+        int updates;
+        @Override public void setControlledObject(GameObject go) { self = go; }
+        @Override public void onUpdate() {
+            updates++;
+            self.transform().move(10, 0, 0);
+            self.collider().adjustToTransform();
+            if (firstHit < 0 && engine.overlapping(self.collider()).size() > 0) firstHit = updates;
+        }
+    }
+
+    @Test
+    public void testQueryIndexIsNotRebuiltPerQuery() {
+        List<QueryingMover> movers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            QueryingMover mover = new QueryingMover();
+            Transform t = new Transform(0, i * 100, 0, 0, 1.0);
+            GameObject go = new GameObject("Mover", t, CircleCollider.create(t, 0, 0, 5), mover);
+            mover.setControlledObject(go);
+            engine.add(go);
+            movers.add(mover);
+            addCircle("Target", 35, i * 100, 0, 5);
+        }
+
+        int before = engine.queryIndexUpdates();
+        for (int frame = 0; frame < 4; frame++) {
+            engine.update();
+        }
+        // No máximo uma atualização do índice por update(), e não uma por consulta.
+        assertTrue(engine.queryIndexUpdates() - before <= 4);
+        // As consultas com o índice congelado continuam a encontrar os alvos assim que estes são tocados.
+        for (QueryingMover mover : movers) {
+            assertEquals(3, mover.firstHit);
+        }
+    }
+
+    @Test
+    public void testFrozenQueriesFindTeleportedObjects() {
+        Transform tt = new Transform(0, 0, 0, 0, 1.0);
+        CircleCollider tc = CircleCollider.create(tt, 0, 0, 5);
+        GameObject teleported = new GameObject("Teleported", tt, tc, new NoBehaviour() {
+            @Override public void onUpdate() {
+                tt.set(500, 500, 0, 0, 1.0);
+                tc.adjustToTransform();
+            }
+        });
+        engine.add(teleported);
+        List<GameObject> found = new ArrayList<>();
+        RaycastHit hit = new RaycastHit();
+        boolean[] rayHit = new boolean[1];
+        Transform qt = new Transform(500, 500, 0, 0, 1.0);
+        CircleCollider qc = CircleCollider.create(qt, 0, 0, 5);
+        GameObject querier = new GameObject("Querier", qt, qc, new NoBehaviour() {
+            @Override public void onUpdate() {
+                engine.overlapping(qc, found);
+                rayHit[0] = engine.raycast(400, 500, 1, 0, 200, go -> go == teleported, hit);
+            }
+        });
+        engine.add(querier);
+        // O índice passa a ter o objeto na posição inicial, longe do ponto de chegada.
+        assertTrue(engine.overlapping(tc).isEmpty());
+
+        engine.update();
+        assertEquals(List.of(teleported), found);
+        assertTrue(rayHit[0]);
+        assertSame(teleported, hit.object());
+    }
+}
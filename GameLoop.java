@@ -0,0 +1,208 @@
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Ciclo de jogo com passo de simulação fixo, executado numa thread própria.
+ * O tempo real decorrido é acumulado e consumido em passos de duração fixa, pelo que a velocidade
+ * da simulação não depende do custo do desenho nem da precisão dos temporizadores. Se a simulação
+ * se atrasar, são executados no máximo maxStepsPerFrame passos seguidos e o restante atraso é
+ * descartado, para a simulação não ficar cada vez mais atrasada.
+ *
+ * Depois dos passos de cada frame, o renderer recebe a fração alpha em [0, 1) do próximo passo já
+ * decorrida, que permite interpolar entre os dois últimos estados da simulação.
+ *
+ * Cada passo é executado com o lock() do ciclo; quem ler ou alterar o estado do jogo noutra thread
+ * (por exemplo ao desenhar) deve sincronizar-se no mesmo lock.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv 0 <= alpha() < 1. Em cada frame são executados no máximo maxStepsPerFrame passos.
+ */
+public class GameLoop {
+
+    /**
+     * Duração por omissão de um passo de simulação (60 passos por segundo).
+     */
+    public static final long DEFAULT_STEP_NANOS = 1_000_000_000L / 60;
+
+    /**
+     * Número máximo por omissão de passos executados num frame para recuperar atrasos.
+     */
+    public static final int DEFAULT_MAX_STEPS = 5;
+
+    private final Runnable step;
+    private final DoubleConsumer renderer;
+    private final long stepNanos;
+    private final int maxStepsPerFrame;
+    private final Object lock = new Object();
+
+    private long accumulator;
+    private volatile double alpha;
+    private volatile long steps;
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * Cria um ciclo que executa GameEngine.update() a 60 passos por segundo.
+     * @param engine motor de jogo a atualizar
+     * @param renderer recebe alpha depois dos passos de cada frame, ou null se não houver desenho
+     */
+    public GameLoop(GameEngine engine, DoubleConsumer renderer) {
+        this(engine::update, renderer, DEFAULT_STEP_NANOS, DEFAULT_MAX_STEPS);
+    }
+
+    /**
+     * Cria um ciclo de jogo.
+     * @param step passo de simulação, executado com lock()
+     * @param renderer recebe alpha depois dos passos de cada frame, ou null se não houver desenho
+     * @param stepNanos duração de um passo em nanossegundos
+     * @param maxStepsPerFrame número máximo de passos executados seguidos num frame
+     */
+    public GameLoop(Runnable step, DoubleConsumer renderer, long stepNanos, int maxStepsPerFrame) {
+        if (stepNanos <= 0) throw new IllegalArgumentException("stepNanos deve ser positivo: " + stepNanos);
+        if (maxStepsPerFrame <= 0) throw new IllegalArgumentException("maxStepsPerFrame deve ser positivo: " + maxStepsPerFrame);
+        this.step = step;
+        this.renderer = renderer;
+        this.stepNanos = stepNanos;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    /**
+     * Inicia o ciclo numa thread própria, ao ritmo de um passo a cada stepNanos.
+     */
+    public void start() {
+        start(true);
+    }
+
+    /**
+     * Inicia o ciclo numa thread própria sem esperar entre passos: a simulação corre à velocidade máxima
+     * e o renderer, se existir, é chamado com alpha 0 depois de cada passo. Útil em servidores e simulações em lote.
+     */
+    public void startHeadless() {
+        start(false);
+    }
+
+    private synchronized void start(boolean paced) {
+        if (running) throw new IllegalStateException("O ciclo de jogo já está a correr");
+        running = true;
+        thread = new Thread(paced ? this::runPaced : this::runHeadless, "GameLoop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Pára o ciclo e espera que a thread termine o frame em curso.
+     * Não faz nada se o ciclo não estiver a correr.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (thread == null) return;
+        if (thread != Thread.currentThread()) {
+            boolean interrupted = false;
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    /**
+     * Executa passos seguidos na thread atual, sem esperar entre eles.
+     * @param count número de passos a executar
+     */
+    public void runSteps(int count) {
+        for (int i = 0; i < count; i++) {
+            runStep();
+        }
+    }
+
+    /**
+     * Acumula o tempo decorrido e executa os passos completos que couberem nele, no máximo maxStepsPerFrame.
+     * O atraso que não couber nesses passos é descartado. Atualiza alpha com a fração do próximo passo já acumulada.
+     * @param elapsedNanos tempo real decorrido desde o frame anterior
+     * @return número de passos executados
+     */
+    int advance(long elapsedNanos) {
+        accumulator += elapsedNanos;
+        int count = 0;
+        while (accumulator >= stepNanos && count < maxStepsPerFrame) {
+            runStep();
+            accumulator -= stepNanos;
+            count++;
+        }
+        if (accumulator >= stepNanos) {
+            accumulator %= stepNanos;
+        }
+        alpha = (double) accumulator / stepNanos;
+        return count;
+    }
+
+    private void runStep() {
+        synchronized (lock) {
+            step.run();
+        }
+        steps++;
+    }
+
+    private void runPaced() {
+        long previous = System.nanoTime();
+        while (running) {
+            long now = System.nanoTime();
+            advance(now - previous);
+            previous = now;
+            if (renderer != null) renderer.accept(alpha);
+
+            // Espera até o próximo passo estar completo no acumulador.
+            long wait = stepNanos - accumulator - (System.nanoTime() - now);
+            if (wait > 0) LockSupport.parkNanos(wait);
+        }
+    }
+
+    private void runHeadless() {
+        while (running) {
+            runStep();
+            if (renderer != null) renderer.accept(0);
+        }
+    }
+
+    /**
+     * @return objeto com que os passos são sincronizados
+     */
+    public Object lock() {
+        return lock;
+    }
+
+    /**
+     * @return fração do próximo passo já decorrida no último frame, em [0, 1)
+     */
+    public double alpha() {
+        return alpha;
+    }
+
+    /**
+     * @return número de passos executados desde a criação do ciclo
+     */
+    public long steps() {
+        return steps;
+    }
+
+    /**
+     * @return duração de um passo em nanossegundos
+     */
+    public long stepNanos() {
+        return stepNanos;
+    }
+
+    /**
+     * @return true se o ciclo estiver a correr numa thread própria
+     */
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,92 @@
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Testes unitários para a classe GameLoop.
+ * Valida o acumulador de passo fixo, o limite de passos por frame, alpha e os modos com e sem ritmo.
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ */
+public class GameLoopTest {
+
+    private static final long STEP = 1_000_000;
+
+    private int stepCount;
+
+    private GameLoop loop(int maxSteps) {
+        return new GameLoop(() -> stepCount++, null, STEP, maxSteps);
+    }
+
+    @Test
+    public void testAccumulatesPartialSteps() {
+        GameLoop loop = loop(5);
+        assertEquals(0, loop.advance(STEP / 2));
+        assertEquals(0.5, loop.alpha(), 1e-9);
+        assertEquals(1, loop.advance(STEP * 3 / 4));
+        assertEquals(0.25, loop.alpha(), 1e-9);
+        assertEquals(1, stepCount);
+        assertEquals(1, loop.steps());
+    }
+
+    @Test
+    public void testRunsSeveralStepsToCatchUp() {
+        GameLoop loop = loop(5);
+        assertEquals(3, loop.advance(STEP * 3 + STEP / 10));
+        assertEquals(3, stepCount);
+        assertEquals(0.1, loop.alpha(), 1e-9);
+    }
+
+    @Test
+    public void testDropsBacklogBeyondMaxSteps() {
+        GameLoop loop = loop(4);
+        assertEquals(4, loop.advance(STEP * 100 + STEP / 2));
+        assertEquals(0.5, loop.alpha(), 1e-9);
+        // O atraso descartado não é recuperado no frame seguinte.
+        assertEquals(0, loop.advance(0));
+        assertEquals(4, stepCount);
+    }
+
+    @Test
+    public void testRunStepsRunsExactCount() {
+        GameLoop loop = loop(1);
+        loop.runSteps(1000);
+        assertEquals(1000, stepCount);
+        assertEquals(1000, loop.steps());
+    }
+
+    @Test
+    public void testHeadlessRunsFasterThanRealTime() throws InterruptedException {
+        // Passo de um segundo: com ritmo, 50 ms não chegariam para nenhum passo.
+        GameLoop loop = new GameLoop(() -> {}, null, 1_000_000_000L, 5);
+        loop.startHeadless();
+        Thread.sleep(50);
+        loop.stop();
+        assertFalse(loop.isRunning());
+        assertTrue(loop.steps() > 1);
+    }
+
+    @Test
+    public void testPacedLoopStepsAndRenders() throws InterruptedException {
+        int[] frames = new int[1];
+        double[] lastAlpha = {-1};
+        GameLoop loop = new GameLoop(() -> {}, alpha -> { frames[0]++; lastAlpha[0] = alpha; }, STEP, 5);
+        loop.start();
+        Thread.sleep(100);
+        loop.stop();
+        assertTrue(loop.steps() > 0);
+        assertTrue(frames[0] > 0);
+        assertTrue(lastAlpha[0] >= 0 && lastAlpha[0] < 1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCannotStartTwice() {
+        GameLoop loop = loop(1);
+        loop.startHeadless();
+        try {
+            loop.start();
+        } finally {
+            loop.stop();
+        }
+    }
+}
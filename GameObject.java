@@ -1,12 +1,56 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * 
  */
 public class GameObject implements IGameObject {
+    /**
+     * Gerador de identificadores únicos de GameObjects.
+     */
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    private final int id = nextId.getAndIncrement();
     private String name;
     private Transform transform;
     private Collider collider;
     private IBehaviour behaviour;
 
+    /**
+     * Indica se o objeto está ativo no GameEngine. Passa a false logo que o objeto é destruído
+     * ou desativado, mesmo que a remoção das listas do motor seja adiada para o fim da atualização.
+     */
+    boolean enabled;
+
+    /**
+     * Posição do objeto nas listas de todos os objetos e de objetos ativos do GameEngine, ou -1.
+     */
+    int objectIndex = -1;
+    int enabledIndex = -1;
+
+    /**
+     * Tag do objeto (ver Tags) e posição do objeto no grupo de objetos ativos com essa tag, ou -1.
+     */
+    private final int tag;
+    int tagIndex = -1;
+
+    /**
+     * Pool a que o objeto é devolvido quando é destruído (null se não vem de um pool)
+     * e se está atualmente guardado nele.
+     */
+    GameObjectPool pool;
+    boolean inPool;
+
+    /**
+     * Entidade que representa o objeto no EntityWorld do GameEngine enquanto está ativo, ou -1.
+     */
+    int entity = -1;
+
+    /**
+     * Chave do sprite com que o objeto é desenhado (uma tag, ver Tags), resolvida pela tabela de sprites
+     * do GameEngine. Por omissão é a tag do próprio objeto.
+     */
+    private int spriteKey;
+
     /**
      * Construtor para criar um GameObject com nome, transform, collider e comportamento.
      *
@@ -20,6 +64,48 @@ public class GameObject implements IGameObject {
         this.transform = transform;
         this.collider = collider;
         this.behaviour = behaviour;
+        this.tag = Tags.intern(name);
+        this.spriteKey = tag;
+    }
+
+    /**
+     * Obtém a tag do objeto, o identificador inteiro do seu nome (ver Tags.intern()).
+     * @return tag do objeto
+     */
+    public int tag() {
+        return tag;
+    }
+
+    /**
+     * Obtém a chave do sprite com que o objeto é desenhado (ver GameEngine.setSprite()).
+     * @return tag do sprite
+     */
+    public int spriteKey() {
+        return spriteKey;
+    }
+
+    /**
+     * Altera o sprite com que o objeto é desenhado, por exemplo para animar o objeto.
+     * @param spriteKey tag do sprite (Tags.intern() do nome registado com GameEngine.setSprite())
+     */
+    public void setSpriteKey(int spriteKey) {
+        this.spriteKey = spriteKey;
+    }
+
+    /**
+     * Obtém a entidade que representa o objeto no EntityWorld do GameEngine (ver GameObjectSystem).
+     * @return handle da entidade enquanto o objeto está ativo, ou -1
+     */
+    public int entity() {
+        return entity;
+    }
+
+    /**
+     * Obtém o identificador único do objeto, usado para identificar pares de objetos em contacto.
+     * @return identificador não negativo
+     */
+    public int id() {
+        return id;
     }
 
     @Override
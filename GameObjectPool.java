@@ -0,0 +1,96 @@
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * Pool de GameObjects de um mesmo tipo (por exemplo projéteis ou inimigos), para reutilizar os objetos
+ * destruídos em vez de criar novos GameObjects, Transforms, Colliders e comportamentos.
+ * Os objetos obtidos com acquire() são devolvidos ao pool quando são destruídos no GameEngine.
+ *
+ * Um objeto devolvido ao pool pode voltar a ser entregue por acquire(): quem guardar referências
+ * para objetos destruídos não as deve usar depois disso.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv hits() + misses() é o número de chamadas a acquire(). Um objeto está no pool no máximo uma vez.
+ */
+public class GameObjectPool {
+
+    private final Supplier<GameObject> factory;
+    private final ArrayDeque<GameObject> free = new ArrayDeque<>();
+    private int hits;
+    private int misses;
+
+    /**
+     * Cria um pool vazio.
+     * @param factory cria um novo objeto quando o pool não tem nenhum disponível; o comportamento
+     *                do objeto criado já deve estar associado a ele (setControlledObject())
+     */
+    public GameObjectPool(Supplier<GameObject> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Obtém um objeto do pool, ou cria um novo se não houver nenhum disponível.
+     * A Transform do objeto recebe os valores indicados, o collider é reposto para a nova Transform,
+     * o sprite volta a ser o da tag do objeto e o comportamento recebe onReset(). O objeto ainda tem de ser adicionado ao GameEngine.
+     * @param x coordenada x da posição
+     * @param y coordenada y da posição
+     * @param layer camada do objeto
+     * @param angle rotação em graus
+     * @param scale fator de escala
+     * @return objeto pronto a ser adicionado ao jogo
+     */
+    public GameObject acquire(double x, double y, int layer, double angle, double scale) {
+        GameObject go = free.pollLast();
+        if (go != null) {
+            hits++;
+        } else {
+            misses++;
+            go = factory.get();
+            go.pool = this;
+        }
+        go.inPool = false;
+        go.setSpriteKey(go.tag());
+        ((Transform) go.transform()).set(x, y, layer, angle, scale);
+        ((Collider) go.collider()).reset();
+        go.behaviour().onReset();
+        return go;
+    }
+
+    /**
+     * Devolve um objeto destruído ao pool. Não faz nada se o objeto já lá estiver.
+     * @param go objeto obtido deste pool
+     */
+    void release(GameObject go) {
+        if (go.inPool) return;
+        go.inPool = true;
+        free.addLast(go);
+    }
+
+    /**
+     * @return número de chamadas a acquire() que reutilizaram um objeto
+     */
+    public int hits() {
+        return hits;
+    }
+
+    /**
+     * @return número de chamadas a acquire() que tiveram de criar um objeto
+     */
+    public int misses() {
+        return misses;
+    }
+
+    /**
+     * @return número de objetos guardados no pool, prontos a ser reutilizados
+     */
+    public int available() {
+        return free.size();
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + hits + " misses=" + misses + " available=" + available();
+    }
+}
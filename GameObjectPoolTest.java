@@ -0,0 +1,111 @@
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Testes unitários para a classe GameObjectPool.
+ * Valida a reutilização dos objetos destruídos, a reposição do seu estado e as estatísticas.
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ */
+public class GameObjectPoolTest {
+
+    private final GameEngine engine = GameEngine.getInstance();
+
+    /**
+     * Comportamento que conta as chamadas a onReset().
+     */
+    private static class CountingBehaviour implements IBehaviour {
+        int resets;
+        @Override public void onInit() {}
+        @Override public void onEnabled() {}
+        @Override public void onDisabled() {}
+        @Override public void onDestroy() {}
+        @Override public void onUpdate() {}
+        @Override public void onCollision(GameObject other) {}
+        @Override public void setControlledObject(GameObject go) {}
+        @Override public void onReset() { resets++; }
+    }
+
+    private final GameObjectPool pool = new GameObjectPool(() -> {
+        Transform t = new Transform(0, 0, 0, 0, 2.0);
+        return new GameObject("Pooled", t, CircleCollider.create(t, 0, 0, 5), new CountingBehaviour());
+    });
+
+    @After
+    public void tearDown() {
+        for (GameObject go : engine.getEnabled()) {
+            engine.destroy(go);
+        }
+    }
+
+    @Test
+    public void testFirstAcquireIsMiss() {
+        GameObject go = pool.acquire(10, 20, 1, 45, 1.0);
+        assertEquals(0, pool.hits());
+        assertEquals(1, pool.misses());
+        assertEquals(10, go.transform().posX(), 1e-9);
+        assertEquals(20, go.transform().posY(), 1e-9);
+        assertEquals(1, go.transform().layer());
+        assertEquals(1, ((CountingBehaviour) go.behaviour()).resets);
+    }
+
+    @Test
+    public void testDestroyReturnsObjectToPool() {
+        GameObject go = pool.acquire(10, 20, 0, 0, 1.0);
+        engine.add(go);
+        assertEquals(0, pool.available());
+
+        engine.destroy(go);
+        assertEquals(1, pool.available());
+        assertSame(go, pool.acquire(0, 0, 0, 0, 1.0));
+        assertEquals(1, pool.hits());
+        assertEquals(0, pool.available());
+    }
+
+    @Test
+    public void testHitResetsTransformColliderAndBehaviour() {
+        GameObject go = pool.acquire(10, 20, 0, 0, 1.0);
+        engine.add(go);
+        go.transform().move(300, 300, 2);
+        ((Collider) go.collider()).adjustToTransform();
+        engine.destroy(go);
+
+        GameObject reused = pool.acquire(100, 50, 0, 90, 2.0);
+        assertSame(go, reused);
+        assertEquals(100, reused.transform().posX(), 1e-9);
+        assertEquals(50, reused.transform().posY(), 1e-9);
+        assertEquals(0, reused.transform().layer());
+        assertEquals(90, reused.transform().angle(), 1e-9);
+        assertEquals(2.0, reused.transform().scale(), 1e-9);
+        // Raio 5 com escala 2, mais a margem da caixa envolvente
+        Collider c = (Collider) reused.collider();
+        assertEquals(100 - 10 - Collider.BOUNDS_MARGIN, c.minX(), 1e-9);
+        assertEquals(50 + 10 + Collider.BOUNDS_MARGIN, c.maxY(), 1e-9);
+        assertEquals(2, ((CountingBehaviour) reused.behaviour()).resets);
+    }
+
+    @Test
+    public void testDoubleDestroyDoesNotDuplicate() {
+        GameObject go = pool.acquire(10, 20, 0, 0, 1.0);
+        engine.add(go);
+        engine.destroy(go);
+        engine.destroy(go);
+        assertEquals(1, pool.available());
+    }
+
+    @Test
+    public void testDestroyDuringUpdateReturnsObjectWhenUpdateEnds() {
+        GameObject bullet = pool.acquire(10, 20, 0, 0, 1.0);
+        Transform t = new Transform(0, 0, 0, 0, 1.0);
+        engine.add(new GameObject("Killer", t, CircleCollider.create(t, 0, 0, 1), new CountingBehaviour() {
+            @Override public void onUpdate() { engine.destroy(bullet); }
+        }));
+        engine.add(bullet);
+
+        engine.update();
+        assertFalse(engine.isEnabled(bullet));
+        assertEquals(1, pool.available());
+    }
+}
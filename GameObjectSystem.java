@@ -0,0 +1,87 @@
+/**
+ * Adaptador entre os GameObjects e o EntityWorld do GameEngine.
+ * Cada GameObject ativo é representado por uma entidade com Components.POSITION, Components.LAYER,
+ * Components.BOUNDS e Components.GAME_OBJECT (ver GameObject.entity()), pelo que os sistemas podem
+ * processar os GameObjects como quaisquer outras entidades, por exemplo acrescentando-lhes
+ * Components.VELOCITY para serem movidos pelo MovementSystem.
+ *
+ * Em cada update() o GameEngine executa um GameObjectSystem que copia a posição e a layer da Transform
+ * e a caixa do collider para os componentes, depois os restantes sistemas, e por fim um
+ * GameObjectSystem que aplica às Transforms as posições e layers alteradas pelos sistemas.
+ * A caixa envolvente é só de leitura: corresponde ao collider no início dos sistemas.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv A linha de cada entidade com Components.GAME_OBJECT guarda um GameObject ativo.
+ */
+public class GameObjectSystem implements ISystem {
+
+    private static final ComponentType[] COMPONENTS = {
+        Components.POSITION, Components.LAYER, Components.BOUNDS, Components.GAME_OBJECT
+    };
+
+    private final boolean toComponents;
+
+    /**
+     * Cria o sistema.
+     * @param toComponents true para copiar os GameObjects para os componentes, false para aplicar
+     *                     os componentes alterados pelos sistemas aos GameObjects
+     */
+    public GameObjectSystem(boolean toComponents) {
+        this.toComponents = toComponents;
+    }
+
+    /**
+     * Cria a entidade que representa um GameObject, com os valores atuais da sua Transform e do seu collider.
+     * @param world mundo onde a entidade é criada
+     * @param go objeto representado
+     * @return handle da entidade
+     */
+    public static int create(EntityWorld world, GameObject go) {
+        int entity = world.create(COMPONENTS);
+        world.setReference(entity, Components.GAME_OBJECT, go);
+        ITransform t = go.transform();
+        ICollider c = go.collider();
+        world.set(entity, Components.POSITION, 0, t.posX());
+        world.set(entity, Components.POSITION, 1, t.posY());
+        world.set(entity, Components.LAYER, 0, t.layer());
+        world.set(entity, Components.BOUNDS, 0, c.minX());
+        world.set(entity, Components.BOUNDS, 1, c.minY());
+        world.set(entity, Components.BOUNDS, 2, c.maxX());
+        world.set(entity, Components.BOUNDS, 3, c.maxY());
+        return entity;
+    }
+
+    @Override
+    public ComponentType[] components() {
+        return COMPONENTS;
+    }
+
+    @Override
+    public void update(Chunk chunk) {
+        double[] position = chunk.doubles(Components.POSITION);
+        double[] layer = chunk.doubles(Components.LAYER);
+        double[] bounds = chunk.doubles(Components.BOUNDS);
+        Object[] objects = chunk.references(Components.GAME_OBJECT);
+        for (int row = 0; row < chunk.size(); row++) {
+            GameObject go = (GameObject) objects[row];
+            ITransform t = go.transform();
+            if (toComponents) {
+                ICollider c = go.collider();
+                position[row * 2] = t.posX();
+                position[row * 2 + 1] = t.posY();
+                layer[row] = t.layer();
+                bounds[row * 4] = c.minX();
+                bounds[row * 4 + 1] = c.minY();
+                bounds[row * 4 + 2] = c.maxX();
+                bounds[row * 4 + 3] = c.maxY();
+            } else {
+                double dx = position[row * 2] - t.posX();
+                double dy = position[row * 2 + 1] - t.posY();
+                int dlayer = (int) layer[row] - t.layer();
+                t.move(dx, dy, dlayer);
+            }
+        }
+    }
+}
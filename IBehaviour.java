@@ -6,4 +6,40 @@ public interface IBehaviour {
     void onUpdate();
     void onCollision(GameObject other);
     void setControlledObject(GameObject go);
+
+    /**
+     * Chamado uma única vez quando este objeto começa a colidir com outro.
+     * @param other objeto com que o contacto começou
+     */
+    default void onContactBegin(GameObject other) {}
+
+    /**
+     * Chamado em cada passagem de colisões seguinte enquanto o contacto se mantém.
+     * @param other objeto com que o contacto continua
+     */
+    default void onContactStay(GameObject other) {}
+
+    /**
+     * Chamado uma única vez quando o contacto com outro objeto termina,
+     * incluindo quando um dos objetos deixa de estar ativo.
+     * @param other objeto com que o contacto terminou
+     */
+    default void onContactEnd(GameObject other) {}
+
+    /**
+     * Chamado quando o objeto é reutilizado por um GameObjectPool, antes de voltar a ser adicionado
+     * ao jogo. Deve repor o estado do comportamento como se o objeto tivesse acabado de ser criado.
+     */
+    default void onReset() {}
+
+    /**
+     * Indica se onUpdate() pode ser executado em paralelo com o de outros objetos (ver
+     * GameEngine.setParallelUpdate()). Só é seguro se onUpdate() alterar apenas o próprio objeto e o
+     * estado deste comportamento, se limitar a ler os restantes objetos e fizer as outras alterações
+     * através do GameEngine (add, destroy, enable, disable ou post). Deve devolver sempre o mesmo valor.
+     * @return true se o comportamento pode ser atualizado em paralelo
+     */
+    default boolean isParallelSafe() {
+        return false;
+    }
 }
@@ -0,0 +1,37 @@
+import java.util.List;
+
+/**
+ * Interface para a fase larga (broadphase) da deteção de colisões.
+ * Uma broadphase recebe os objetos ativos e devolve apenas os pares cujas caixas envolventes
+ * se podem sobrepor, evitando testar todos os pares na fase estreita.
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ * @inv Todo o par que colide na fase estreita é devolvido por findPairs().
+ */
+public interface IBroadphase {
+    /**
+     * Atualiza a estrutura com os objetos indicados.
+     * O índice de cada objeto na lista é o identificador usado nos pares devolvidos.
+     * @param objects objetos a considerar, com os colliders já ajustados à Transform
+     */
+    void update(List<GameObject> objects);
+
+    /**
+     * Acrescenta a out os pares candidatos (i, j), com i < j, cujas caixas envolventes se sobrepõem.
+     * Cada par surge uma única vez, sem ordem definida.
+     * @param out lista onde os pares são acrescentados
+     */
+    void findPairs(PairList out);
+
+    /**
+     * Acrescenta a out os índices dos objetos cuja caixa envolvente se sobrepõe à caixa indicada
+     * (incluindo o contacto). Cada índice surge uma única vez, sem ordem definida.
+     * Usa o estado do último update().
+     * @param minX menor coordenada x da caixa
+     * @param minY menor coordenada y da caixa
+     * @param maxX maior coordenada x da caixa
+     * @param maxY maior coordenada y da caixa
+     * @param out lista onde os índices são acrescentados
+     */
+    void query(double minX, double minY, double maxX, double maxY, IntList out);
+}
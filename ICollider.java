@@ -14,11 +14,55 @@ public interface ICollider {
      */
     Point centroid();
 
+    /**
+     * Coordenada x do centro do colisor, sem alocar um Point.
+     * @return coordenada x do centro
+     */
+    double posX();
+
+    /**
+     * Coordenada y do centro do colisor, sem alocar um Point.
+     * @return coordenada y do centro
+     */
+    double posY();
+
     /**
      * Aplica a transformação atual (posição, rotação e escala) ao colisor.
      */
     void adjustToTransform();
 
+    /**
+     * @return menor coordenada x da caixa envolvente do colisor
+     */
+    double minX();
+
+    /**
+     * @return menor coordenada y da caixa envolvente do colisor
+     */
+    double minY();
+
+    /**
+     * @return maior coordenada x da caixa envolvente do colisor
+     */
+    double maxX();
+
+    /**
+     * @return maior coordenada y da caixa envolvente do colisor
+     */
+    double maxY();
+
+    /**
+     * Interseta um raio com o colisor.
+     * @param originX coordenada x da origem do raio
+     * @param originY coordenada y da origem do raio
+     * @param dirX componente x da direção do raio (unitária)
+     * @param dirY componente y da direção do raio (unitária)
+     * @param maxDistance comprimento máximo do raio
+     * @return distância desde a origem até à entrada no colisor (0 se a origem estiver dentro),
+     * ou -1 se o raio não o atingir até maxDistance
+     */
+    double raycast(double originX, double originY, double dirX, double dirY, double maxDistance);
+
     /**
      * Verifica se o colisor colide com outro colisor.
      * @param other outro colisor a ser verificado
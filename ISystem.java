@@ -0,0 +1,21 @@
+/**
+ * Interface para um sistema do EntityWorld.
+ * Um sistema declara os componentes de que precisa e é chamado uma vez por chunk de cada
+ * arquétipo que tenha todos esses componentes, percorrendo os arrays do chunk diretamente.
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ * @inv components() não muda entre chamadas.
+ */
+public interface ISystem {
+    /**
+     * @return componentes que as entidades processadas têm de ter
+     */
+    ComponentType[] components();
+
+    /**
+     * Processa as entidades de um chunk.
+     * Não deve criar nem destruir entidades, nem acrescentar ou retirar componentes.
+     * @param chunk chunk com size() entidades com todos os componentes de components()
+     */
+    void update(Chunk chunk);
+}
@@ -16,6 +16,14 @@ public interface ITransform {
      */
     void move(Point dPos, int dlayer);
 
+    /**
+     * Move esta Transform por dx, dy e dlayer, sem alocar um Point.
+     * @param dx deslocamento em x
+     * @param dy deslocamento em y
+     * @param dlayer deslocamento da layer
+     */
+    void move(double dx, double dy, int dlayer);
+
     /**
      * Roda esta Transform pelo ângulo indicado (anti-horário).
      * @param dTheta ângulo a adicionar
@@ -47,6 +55,14 @@ public interface ITransform {
      * @return escala atual
      */
     double scale();
+
+    /**
+     * @return coordenada x da posição, sem arredondamento
+     */
     double posX();
+
+    /**
+     * @return coordenada y da posição, sem arredondamento
+     */
     double posY();
 }
@@ -0,0 +1,65 @@
+import java.util.Arrays;
+
+/**
+ * Lista crescente de inteiros primitivos, reutilizável entre frames para evitar alocações.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv 0 <= size() <= capacidade interna.
+ */
+public class IntList {
+    private int[] values = new int[16];
+    private int size;
+
+    /**
+     * Acrescenta um valor ao fim da lista.
+     * @param value valor a acrescentar
+     */
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * @param k posição na lista
+     * @return valor na posição k
+     */
+    public int get(int k) {
+        return values[k];
+    }
+
+    /**
+     * @return número de valores na lista
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Ordena os valores por ordem crescente.
+     */
+    public void sort() {
+        Arrays.sort(values, 0, size);
+    }
+
+    /**
+     * Remove os valores repetidos de uma lista ordenada, mantendo a ordem.
+     */
+    public void distinct() {
+        int n = 0;
+        for (int k = 0; k < size; k++) {
+            if (n == 0 || values[k] != values[n - 1]) values[n++] = values[k];
+        }
+        size = n;
+    }
+
+    /**
+     * Esvazia a lista mantendo a capacidade já reservada.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
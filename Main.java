@@ -1,15 +1,16 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
 import java.io.File;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 import javax.sound.sampled.*;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Set;
-import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Função main em que é responsavel por fazer a parte de GUI separada do motor de jogo
@@ -27,7 +28,7 @@ public class Main extends JFrame implements KeyListener {
      * Representa o objeto do jogo controlado pelo jogador.
      * Contém informações sobre a posição, ângulo, escala e comportamento do objeto.
      */
-    private transient GameObject go;
+    private transient volatile GameObject go;
 
     /**
      * Representa o painel de jogo onde os objetos são desenhados.
@@ -36,34 +37,78 @@ public class Main extends JFrame implements KeyListener {
     private JLabel status;
 
     /**
-     * Imagens usadas no jogo, incluindo fundo, tanque, projéteis, inimigos e efeitos visuais.
-     * As imagens são carregadas a partir de arquivos no sistema de arquivos.
+     * Sprites usados no jogo, incluindo fundo, tanque, projéteis, inimigos e efeitos visuais.
+     * São descodificados uma única vez no arranque pelo AssetManager; o desenho usa os seus identificadores.
      */
-    private BufferedImage background, tankImage, bulletImage, enemyImage, heartImage, shieldImage, bubbleImage;
+    private final transient AssetManager assets = new AssetManager(new File("Sprites"));
+    private int background, tankSprite, bulletSprite, soldierBulletSprite, enemySprite, heartSprite, shieldSprite, bubbleSprite;
 
     /**
      * Frames de explosão usados para animar explosões no jogo.
-     * Cada frame é uma imagem que representa um estado da explosão.
+     * Cada frame é o identificador de um sprite que representa um estado da explosão.
      */
-    private BufferedImage[] explosionFrames;
+    private int[] explosionFrames;
 
     /**
-     * Painel de jogo que exibe os objetos e o estado do jogo.
-     * É atualizado a cada frame para refletir as mudanças no estado do jogo.
+     * Variantes rodadas e escaladas dos sprites, para desenhar cada objeto com uma cópia simples.
+     * O orçamento de memória (64 MB) chega para todos os ângulos dos sprites usados em simultâneo.
+     * Só é usada pela thread de desenho.
      */
-    private GamePanel gamePanel;
+    private final transient SpriteCache spriteCache = new SpriteCache(assets, 64L << 20);
+
+    /**
+     * Layers dos efeitos (escudo e explosões) e do HUD, acima das layers de todos os objetos.
+     */
+    private static final int EFFECT_LAYER = 1 << 20;
+    private static final int HUD_LAYER = EFFECT_LAYER + 1;
+
+    /**
+     * Fotografia de um frame: os sprites a desenhar e o estado do HUD.
+     */
+    private static final class Frame extends FrameSnapshot {
+        int score;
+        boolean gameOver;
+    }
+
+    /**
+     * Fotografias publicadas pelo ciclo de jogo depois de cada frame e desenhadas pela thread de desenho,
+     * que assim nunca lê os GameObjects nem espera pelo lock do ciclo.
+     */
+    private final transient TripleBuffer<Frame> frames = new TripleBuffer<>(Frame::new);
+
+    /**
+     * Fontes e textos do HUD, criados uma única vez para o desenho de cada frame não alocar memória.
+     * O texto da pontuação só é recriado quando a pontuação muda e só é usado pela thread de desenho.
+     */
+    private static final Font SCORE_FONT = new Font("Arial", Font.BOLD, 24);
+    private static final Font GAME_OVER_FONT = new Font("Arial", Font.BOLD, 36);
+    private static final String GAME_OVER_MESSAGE = "Pressione ENTER para jogar novamente!";
+    private int scoreTextValue = -1;
+    private String scoreText = "";
+
+    /**
+     * Área de jogo, desenhada ativamente pela thread de desenho através de uma BufferStrategy.
+     */
+    private Canvas canvas;
+
+    /**
+     * Parte do mundo visível na área de jogo. Só os objetos que a câmara vê são publicados nas fotografias.
+     * Só é acedida com o lock do ciclo de jogo.
+     */
+    private final transient Camera camera = new Camera(0, 0);
 
     /**
      * Conjunto de teclas ativas que controlam o comportamento do objeto do jogo.
      * Permite que o jogador mova o objeto e execute ações como disparar projéteis.
+     * É alterado na thread do Swing e lido na thread do ciclo de jogo.
      */
-    private final Set<Integer> activeKeys = new HashSet<>();
+    private final Set<Integer> activeKeys = ConcurrentHashMap.newKeySet();
 
     /**
-     * Timer que controla o loop de movimento do jogo.
-     * Atualiza o estado do jogo e redesenha o painel a cada 16 milissegundos (aproximadamente 60 FPS).
+     * Ciclo de jogo que atualiza o estado do jogo com passo fixo (60 passos por segundo) numa thread própria
+     * e publica a fotografia do estado do jogo depois de cada frame.
      */
-    private Timer movementTimer;
+    private transient GameLoop loop;
 
     /**
      * Clip de áudio que toca a música de fundo do jogo.
@@ -82,13 +127,14 @@ public class Main extends JFrame implements KeyListener {
      * Controlam o fluxo do jogo e determinam quando o jogo deve ser reiniciado ou pausado.
      */
     private int playerLives = 3;
-    private boolean isPaused = false;
-    private boolean gameOver = false;
+    private volatile boolean isPaused = false;
+    private volatile boolean gameOver = false;
 
     /**
      * Lista de explosões ativas no jogo.
      * Cada explosão é representada por uma posição e um tempo de início.
-     * As explosões são desenhadas no painel de jogo e removidas após um certo tempo.
+     * As explosões são publicadas em cada fotografia e removidas após um certo tempo.
+     * Só é acedida com o lock do ciclo de jogo.
      */
     public static final List<Explosion> explosions = new ArrayList<>();
 
@@ -152,6 +198,7 @@ public class Main extends JFrame implements KeyListener {
         go = new GameObject("Player", transform, collider, behaviour);
         behaviour.setControlledObject(go);
         GameEngine.getInstance().add(go);
+        GameEngine.getInstance().setParallelUpdate(ForkJoinPool.commonPool());
 
         loadAssets();
         setupUI();
@@ -159,26 +206,50 @@ public class Main extends JFrame implements KeyListener {
 
     /**
      * Carrega os ativos necessários para o jogo, incluindo imagens e sons.
-     * As imagens são carregadas a partir de arquivos no sistema de arquivos e os sons são carregados em um Clip.
+     * Todos os sprites, incluindo os frames das animações dos soldados, são registados e descodificados
+     * de uma só vez pelo AssetManager e associados aos nomes dos objetos na tabela de sprites do GameEngine;
+     * os sons são carregados em um Clip.
      * Se ocorrer um erro ao carregar os ativos, uma mensagem de erro é exibida no console.
      */
     private void loadAssets() {
-        try {
-            background = ImageIO.read(new File("Sprites/Background.png"));
-            tankImage = ImageIO.read(new File("Sprites/Tank.png"));
-            bulletImage = ImageIO.read(new File("Sprites/Bullet.png"));
-            enemyImage = ImageIO.read(new File("Sprites/Enemy.png"));
-            heartImage = ImageIO.read(new File("Sprites/Heart.png"));
-            shieldImage = ImageIO.read(new File("Sprites/Shield.png"));
-            bubbleImage = ImageIO.read(new File("Sprites/Bubble.png"));
-
-            explosionFrames = new BufferedImage[10];
-            for (int i = 0; i < 10; i++) {
-                explosionFrames[i] = ImageIO.read(new File("Sprites/Explosion_" + (i + 1) + ".png"));
-            }
+        background = assets.register("Background");
+        tankSprite = assets.register("Tank");
+        bulletSprite = assets.register("Bullet");
+        soldierBulletSprite = assets.register("Bullet2");
+        enemySprite = assets.register("Enemy");
+        heartSprite = assets.register("Heart");
+        shieldSprite = assets.register("Shield");
+        bubbleSprite = assets.register("Bubble");
+
+        explosionFrames = new int[10];
+        for (int i = 0; i < 10; i++) {
+            explosionFrames[i] = assets.register("Explosion_" + (i + 1));
+        }
+        for (int i = 1; i <= 8; i++) {
+            assets.register("Run" + i);
+        }
+        for (int i = 1; i <= 4; i++) {
+            assets.register("Shot" + i);
+        }
+        assets.loadAll();
+        // As vidas e as explosões são sempre desenhadas com 32x32 e 96x96 pixels.
+        assets.resize(heartSprite, 32, 32);
+        for (int frame : explosionFrames) {
+            assets.resize(frame, 96, 96);
+        }
 
-        } catch (IOException e) {
-            System.err.println("Erro ao carregar imagens: " + e.getMessage());
+        GameEngine engine = GameEngine.getInstance();
+        engine.setSprite("Player", tankSprite, 0.25);
+        engine.setSprite("Enemy", enemySprite, 0.25);
+        engine.setSprite("Bullet", bulletSprite, 0.25);
+        engine.setSprite("Shield", shieldSprite, 0.25);
+        engine.setSprite("Bullet2", soldierBulletSprite, 0.25);
+        engine.setSprite("Soldier", assets.id("Run1"), 0.85);
+        for (int i = 1; i <= 8; i++) {
+            engine.setSprite("Run" + i, assets.id("Run" + i), 0.85);
+        }
+        for (int i = 1; i <= 4; i++) {
+            engine.setSprite("Shot" + i, assets.id("Shot" + i), 0.85);
         }
 
         try {
@@ -231,9 +302,10 @@ public class Main extends JFrame implements KeyListener {
     }
 
     /**
-     * Configura a interface do usuário do jogo, incluindo o painel de jogo e o status do jogo.
-     * Define o layout, adiciona componentes e inicia o loop de movimento.
+     * Configura a interface do usuário do jogo, incluindo a área de jogo e o status do jogo.
+     * Define o layout, adiciona componentes e inicia o loop de movimento e a thread de desenho.
      * Também configura o listener de teclado para capturar entradas do jogador.
+     * A BufferStrategy só pode ser criada depois de a janela estar visível.
      */
     private void setupUI() {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -241,8 +313,10 @@ public class Main extends JFrame implements KeyListener {
         setExtendedState(JFrame.MAXIMIZED_BOTH);
         setUndecorated(true);
 
-        gamePanel = new GamePanel();
-        add(gamePanel, BorderLayout.CENTER);
+        canvas = new Canvas();
+        canvas.setIgnoreRepaint(true);
+        canvas.setFocusable(false);
+        add(canvas, BorderLayout.CENTER);
 
         status = new JLabel(go.toString());
         add(status, BorderLayout.SOUTH);
@@ -251,19 +325,18 @@ public class Main extends JFrame implements KeyListener {
         setFocusable(true);
         setFocusTraversalKeysEnabled(false);
         setVisible(true);
+        canvas.createBufferStrategy(2);
 
         startMovementLoop();
+        startRenderThread();
     }
 
     /**
      * Atualiza o estado do jogo, ajustando os colliders dos objetos e verificando se o jogador foi atingido.
      * Se o jogador perder todas as vidas, o jogo é pausado e a variável gameOver é definida como verdadeira.
-     * O status do jogo é atualizado para refletir o estado atual.
      */
     private void updateState() {
-        for (GameObject obj : GameEngine.getInstance().getEnabled()) {
-            obj.collider().adjustToTransform();
-        }
+        GameEngine.getInstance().syncColliders();
 
         if (Behaviour.wasPlayerHit()) {
             playerLives--;
@@ -273,26 +346,155 @@ public class Main extends JFrame implements KeyListener {
                 gameOver = true;
             }
         }
-
-        status.setText(go.toString());
     }
 
     /**
-     * Inicia o loop de movimento do jogo, que atualiza o estado dos objetos e redesenha o painel a cada 16 milissegundos.
-     * Se o jogo estiver pausado, o loop não atualiza o estado dos objetos.
-     * O painel de jogo é repintado a cada iteração do loop.
+     * Inicia o ciclo de jogo, que atualiza o estado dos objetos com passo fixo numa thread própria
+     * e publica a fotografia do estado do jogo depois de cada frame.
+     * Se o jogo estiver pausado, os passos não atualizam o estado dos objetos.
      */
     private void startMovementLoop() {
-        movementTimer = new Timer(16, _ -> {
+        loop = new GameLoop(() -> {
             if (!isPaused) {
-                for (GameObject obj : GameEngine.getInstance().getEnabled()) {
-                    obj.behaviour().onUpdate();
-                }
+                GameEngine.getInstance().update();
                 updateState();
             }
-            gamePanel.repaint();
-        });
-        movementTimer.start();
+        }, alpha -> publishFrame(isPaused ? 1 : alpha), GameLoop.DEFAULT_STEP_NANOS, GameLoop.DEFAULT_MAX_STEPS);
+        loop.start();
+    }
+
+    /**
+     * Preenche a fotografia com os sprites dos objetos visíveis pela câmara (pela tabela de sprites do GameEngine), o escudo,
+     * as explosões, as vidas e o estado do HUD, ordena-a por layer e sprite, publica-a para a thread de desenho e pede a atualização do status na thread do Swing.
+     * É chamado pelo ciclo de jogo depois dos passos de cada frame. As posições e ângulos dos objetos são
+     * interpolados entre o início e o fim do último passo, pela fração do passo seguinte já decorrida.
+     * @param alpha fração do passo seguinte já decorrida, em [0, 1] (1 enquanto o jogo está pausado)
+     */
+    private void publishFrame(double alpha) {
+        Frame frame = frames.back();
+        synchronized (loop.lock()) {
+            frame.clear(loop.steps());
+            camera.setSize(canvas.getWidth(), canvas.getHeight());
+            GameEngine.getInstance().drawList(frame, camera, alpha);
+
+            if (Behaviour.isShieldActive()) {
+                GameEngine engine = GameEngine.getInstance();
+                frame.add(camera.toScreenX(engine.renderX(go, alpha)), camera.toScreenY(engine.renderY(go, alpha)), engine.renderAngle(go, alpha),
+                    go.transform().scale() * 3.5, bubbleSprite, EFFECT_LAYER);
+            }
+
+            long now = System.currentTimeMillis();
+            int duration = 1500;
+            int frameCount = explosionFrames.length;
+            int frameTime = duration / frameCount;
+            explosions.removeIf(exp -> now - exp.startTime >= duration);
+
+            for (Explosion exp : explosions) {
+                int index = (int) ((now - exp.startTime) / frameTime);
+                if (index >= 0 && index < explosionFrames.length) {
+                    frame.add(camera.toScreenX(exp.position.x), camera.toScreenY(exp.position.y), 0, 1.0, explosionFrames[index], EFFECT_LAYER);
+                }
+            }
+
+            for (int i = 0; i < playerLives; i++) {
+                frame.add(36 + i * 40, 36, 0, 1.0, heartSprite, HUD_LAYER);
+            }
+
+            frame.score = Behaviour.getScore();
+            frame.gameOver = gameOver;
+        }
+        frame.sort();
+        frames.publish();
+        SwingUtilities.invokeLater(this::refreshStatus);
+    }
+
+    /**
+     * Atualiza o status, na thread do Swing.
+     */
+    private void refreshStatus() {
+        synchronized (loop.lock()) {
+            status.setText(go.toString());
+        }
+    }
+
+    /**
+     * Inicia a thread de desenho, que desenha cada nova fotografia publicada pelo ciclo de jogo
+     * enquanto este já simula o frame seguinte.
+     */
+    private void startRenderThread() {
+        Thread renderThread = new Thread(this::runRenderer, "Render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    /**
+     * Ciclo da thread de desenho. Sem fotografia nova, espera meio milissegundo antes de voltar a verificar.
+     * O frame é redesenhado enquanto o conteúdo da BufferStrategy for restaurado ou perdido pelo sistema.
+     */
+    private void runRenderer() {
+        BufferStrategy strategy = canvas.getBufferStrategy();
+        while (!Thread.currentThread().isInterrupted()) {
+            if (!frames.acquire()) {
+                LockSupport.parkNanos(500_000);
+                continue;
+            }
+            Frame frame = frames.front();
+            do {
+                do {
+                    Graphics g = strategy.getDrawGraphics();
+                    try {
+                        paintFrame(g, frame);
+                    } finally {
+                        g.dispose();
+                    }
+                } while (strategy.contentsRestored());
+                strategy.show();
+            } while (strategy.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
+        }
+    }
+
+    /**
+     * Desenha uma fotografia: o fundo, os sprites já ordenados por layer e sprite e o texto do HUD.
+     * Sprites consecutivos com a mesma variante (mesmo sprite, ângulo e escala) reutilizam a imagem
+     * sem nova consulta à SpriteCache.
+     */
+    private void paintFrame(Graphics g, Frame frame) {
+        int width = canvas.getWidth();
+        int height = canvas.getHeight();
+        BufferedImage backgroundImage = assets.get(background);
+        if (backgroundImage != null) {
+            g.drawImage(backgroundImage, 0, 0, width, height, null);
+        } else {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, width, height);
+        }
+
+        BufferedImage sprite = null;
+        for (int i = 0; i < frame.size(); i++) {
+            if (i == 0 || frame.sprite(i) != frame.sprite(i - 1) || frame.angle(i) != frame.angle(i - 1)
+                || frame.scale(i) != frame.scale(i - 1)) {
+                sprite = spriteCache.get(frame.sprite(i), frame.angle(i), frame.scale(i));
+            }
+            if (sprite != null) {
+                g.drawImage(sprite, (int) frame.x(i) - sprite.getWidth() / 2, (int) frame.y(i) - sprite.getHeight() / 2, null);
+            }
+        }
+
+        if (frame.score != scoreTextValue) {
+            scoreTextValue = frame.score;
+            scoreText = "Score: " + frame.score;
+        }
+        g.setColor(Color.WHITE);
+        g.setFont(SCORE_FONT);
+        g.drawString(scoreText, width - 150, 40);
+
+        if (frame.gameOver) {
+            g.setColor(Color.RED);
+            g.setFont(GAME_OVER_FONT);
+            int msgWidth = g.getFontMetrics().stringWidth(GAME_OVER_MESSAGE);
+            g.drawString(GAME_OVER_MESSAGE, (width - msgWidth) / 2, height / 2);
+        }
     }
 
     @Override
@@ -305,9 +507,11 @@ public class Main extends JFrame implements KeyListener {
      */
     public void keyPressed(KeyEvent e) {
         if (gameOver && e.getKeyCode() == KeyEvent.VK_ENTER) {
-            gameOver = false;
-            isPaused = false;
-            restartGame();
+            synchronized (loop.lock()) {
+                gameOver = false;
+                isPaused = false;
+                restartGame();
+            }
             return;
         }
 
@@ -334,110 +538,6 @@ public class Main extends JFrame implements KeyListener {
      */
     public void keyTyped(KeyEvent e) {}
 
-    /**
-     * Classe interna que representa o painel de jogo.
-     * É responsável por desenhar o fundo, os objetos do jogo e as explosões.
-     * Também exibe informações como vidas do jogador e pontuação.
-     */
-    private class GamePanel extends JPanel {
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            if (background != null) {
-                g.drawImage(background, 0, 0, getWidth(), getHeight(), null);
-            }
-
-            for (GameObject obj : GameEngine.getInstance().getEnabled()) {
-                Graphics2D g2d = (Graphics2D) g.create();
-                Point center = obj.collider().centroid();
-                double angle = Math.toRadians(obj.transform().angle());
-                double scale;
-                if (obj.name().startsWith("Soldier")) {
-                    scale = obj.transform().scale() * 0.85;
-                } else {
-                    scale = obj.transform().scale() * 0.25;
-                }
-
-                BufferedImage sprite = null;
-
-                try {
-                    switch (obj.name()) {
-                        case "Player" -> sprite = tankImage;
-                        case "Enemy" -> sprite = enemyImage;
-                        case "Bullet" -> sprite = bulletImage;
-                        case "Shield" -> sprite = shieldImage;
-                        case "Bullet2" -> sprite = ImageIO.read(new File("Sprites/Bullet2.png"));
-                        case "Soldier" -> {
-                            String state = Behaviour.getSoldierSprite(obj);
-                            sprite = ImageIO.read(new File("Sprites/" + state + ".png"));
-                        }
-                    }
-                } catch (IOException e) {
-                    System.err.println("Erro ao carregar sprite: " + e.getMessage());
-                }
-
-                if (sprite != null) {
-                    int imgWidth = sprite.getWidth();
-                    int imgHeight = sprite.getHeight();
-                    int drawWidth = (int) (imgWidth * scale);
-                    int drawHeight = (int) (imgHeight * scale);
-
-                    g2d.translate(center.x, center.y);
-                    g2d.rotate(angle);
-                    g2d.drawImage(sprite, -drawWidth / 2, -drawHeight / 2, drawWidth, drawHeight, null);
-                    g2d.dispose();
-                }
-            }
-
-            if (Behaviour.isShieldActive()) {
-                Graphics2D g2d = (Graphics2D) g.create();
-                Point center = go.collider().centroid();
-                double angle = Math.toRadians(go.transform().angle());
-                double scale = go.transform().scale() * 3.5;
-
-                int imgWidth = bubbleImage.getWidth();
-                int imgHeight = bubbleImage.getHeight();
-                int drawWidth = (int) (imgWidth * scale);
-                int drawHeight = (int) (imgHeight * scale);
-
-                g2d.translate(center.x, center.y);
-                g2d.rotate(angle);
-                g2d.drawImage(bubbleImage, -drawWidth / 2, -drawHeight / 2, drawWidth, drawHeight, null);
-                g2d.dispose();
-            }
-
-            for (int i = 0; i < playerLives; i++) {
-                g.drawImage(heartImage, 20 + i * 40, 20, 32, 32, null);
-            }
-
-            g.setColor(Color.WHITE);
-            g.setFont(new Font("Arial", Font.BOLD, 24));
-            g.drawString("Score: " + Behaviour.getScore(), getWidth() - 150, 40);
-
-            long now = System.currentTimeMillis();
-            int duration = 1500;
-            int frameCount = explosionFrames.length;
-            int frameTime = duration / frameCount;
-            explosions.removeIf(exp -> now - exp.startTime >= duration);
-
-            for (Explosion exp : explosions) {
-                int frame = (int) ((now - exp.startTime) / frameTime);
-                if (frame >= 0 && frame < explosionFrames.length) {
-                    BufferedImage img = explosionFrames[frame];
-                    g.drawImage(img, exp.position.x - 48, exp.position.y - 48, 96, 96, null);
-                }
-            }
-
-            if (gameOver) {
-                g.setColor(Color.RED);
-                g.setFont(new Font("Arial", Font.BOLD, 36));
-                String msg = "Pressione ENTER para jogar novamente!";
-                int msgWidth = g.getFontMetrics().stringWidth(msg);
-                g.drawString(msg, (getWidth() - msgWidth) / 2, getHeight() / 2);
-            }
-        }
-    }
-
     public static void main(String[] args) {
         SwingUtilities.invokeLater(Main::new);
     }
@@ -0,0 +1,51 @@
+/**
+ * Sistema que integra a posição das entidades com velocidade: posição += velocidade * dt.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv dt() >= 0.
+ */
+public class MovementSystem implements ISystem {
+
+    private static final ComponentType[] COMPONENTS = { Components.POSITION, Components.VELOCITY };
+
+    private double dt;
+
+    /**
+     * Cria o sistema com o passo de tempo indicado.
+     * @param dt passo de tempo em segundos
+     */
+    public MovementSystem(double dt) {
+        this.dt = dt;
+    }
+
+    /**
+     * @return passo de tempo em segundos
+     */
+    public double dt() {
+        return dt;
+    }
+
+    /**
+     * @param dt passo de tempo em segundos
+     */
+    public void setDt(double dt) {
+        this.dt = dt;
+    }
+
+    @Override
+    public ComponentType[] components() {
+        return COMPONENTS;
+    }
+
+    @Override
+    public void update(Chunk chunk) {
+        double[] position = chunk.doubles(Components.POSITION);
+        double[] velocity = chunk.doubles(Components.VELOCITY);
+        int n = chunk.size() * 2;
+        for (int k = 0; k < n; k++) {
+            position[k] += velocity[k] * dt;
+        }
+    }
+}
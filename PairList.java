@@ -0,0 +1,65 @@
+import java.util.Arrays;
+
+/**
+ * Lista crescente de pares de índices (i, j) guardados como long empacotado: (i << 32) | j.
+ * Reutilizável entre frames para evitar alocações na fase de deteção de colisões.
+ * Ordenar a lista coloca os pares por ordem lexicográfica de (i, j).
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv 0 <= size() <= capacidade interna. Os índices guardados são não negativos.
+ */
+public class PairList {
+    private long[] pairs = new long[64];
+    private int size;
+
+    /**
+     * Acrescenta o par (i, j) ao fim da lista.
+     * @param i primeiro índice
+     * @param j segundo índice
+     */
+    public void add(int i, int j) {
+        if (size == pairs.length) {
+            pairs = Arrays.copyOf(pairs, size * 2);
+        }
+        pairs[size++] = ((long) i << 32) | (j & 0xffffffffL);
+    }
+
+    /**
+     * @param k posição do par na lista
+     * @return primeiro índice do par k
+     */
+    public int first(int k) {
+        return (int) (pairs[k] >>> 32);
+    }
+
+    /**
+     * @param k posição do par na lista
+     * @return segundo índice do par k
+     */
+    public int second(int k) {
+        return (int) pairs[k];
+    }
+
+    /**
+     * @return número de pares na lista
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Ordena os pares por (i, j) crescente.
+     */
+    public void sort() {
+        Arrays.sort(pairs, 0, size);
+    }
+
+    /**
+     * Esvazia a lista mantendo a capacidade já reservada.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
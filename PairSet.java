@@ -0,0 +1,174 @@
+import java.util.Arrays;
+
+/**
+ * Conjunto de pares de identificadores guardados como long empacotado: (min << 32) | max.
+ * Usa endereçamento aberto com sondagem linear e remoção por deslocamento para trás,
+ * pelo que não aloca nada exceto quando precisa de crescer.
+ *
+ * A iteração é feita pelas posições da tabela: para cada slot entre 0 e capacity() - 1,
+ * keyAt(slot) devolve o par guardado ou EMPTY.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv A tabela nunca fica mais de 50% ocupada. Os pares guardados são não negativos.
+ */
+public class PairSet {
+
+    /**
+     * Valor que marca uma posição vazia da tabela.
+     */
+    public static final long EMPTY = -1L;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+
+    /**
+     * Cria um conjunto vazio.
+     */
+    public PairSet() {
+        keys = new long[64];
+        Arrays.fill(keys, EMPTY);
+        mask = keys.length - 1;
+    }
+
+    /**
+     * Empacota dois identificadores num par independente da ordem.
+     * @param a primeiro identificador (não negativo)
+     * @param b segundo identificador (não negativo)
+     * @return par (min(a, b) << 32) | max(a, b)
+     */
+    public static long pack(int a, int b) {
+        int lo = Math.min(a, b);
+        int hi = Math.max(a, b);
+        return ((long) lo << 32) | hi;
+    }
+
+    /**
+     * @param key par empacotado
+     * @return menor identificador do par
+     */
+    public static int first(long key) {
+        return (int) (key >>> 32);
+    }
+
+    /**
+     * @param key par empacotado
+     * @return maior identificador do par
+     */
+    public static int second(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Acrescenta um par ao conjunto.
+     * @param key par empacotado
+     * @return true se o par ainda não existia
+     */
+    public boolean add(long key) {
+        int slot = find(key);
+        if (keys[slot] == key) return false;
+        keys[slot] = key;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * @param key par empacotado
+     * @return true se o par pertence ao conjunto
+     */
+    public boolean contains(long key) {
+        return keys[find(key)] == key;
+    }
+
+    /**
+     * Remove um par do conjunto.
+     * @param key par empacotado
+     * @return true se o par existia
+     */
+    public boolean remove(long key) {
+        int slot = find(key);
+        if (keys[slot] != key) return false;
+        removeAt(slot);
+        return true;
+    }
+
+    /**
+     * Remove o par guardado numa posição da tabela.
+     * Os pares seguintes podem ser deslocados para posições anteriores.
+     * @param slot posição ocupada da tabela
+     */
+    public void removeAt(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = hash(keys[next]) & mask;
+            // O par em next pode ocupar o buraco se a sua posição ideal não estiver entre hole e next.
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        size--;
+    }
+
+    /**
+     * @return número de pares no conjunto
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return número de posições da tabela
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * @param slot posição da tabela
+     * @return par guardado na posição ou EMPTY
+     */
+    public long keyAt(int slot) {
+        return keys[slot];
+    }
+
+    /**
+     * Remove todos os pares mantendo a capacidade.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    private int find(long key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] old = keys;
+        keys = new long[old.length * 2];
+        Arrays.fill(keys, EMPTY);
+        mask = keys.length - 1;
+        for (long key : old) {
+            if (key != EMPTY) {
+                keys[find(key)] = key;
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,40 @@
+import static org.junit.Assert.*;
+
+import java.util.*;
+import org.junit.Test;
+
+/**
+ * Testes unitários para a classe PairSet.
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ */
+public class PairSetTest {
+
+    @Test
+    public void testPackIgnoresOrder() {
+        assertEquals(PairSet.pack(3, 9), PairSet.pack(9, 3));
+        assertEquals(3, PairSet.first(PairSet.pack(9, 3)));
+        assertEquals(9, PairSet.second(PairSet.pack(9, 3)));
+    }
+
+    @Test
+    public void testMatchesHashSetUnderRandomOperations() {
+        PairSet set = new PairSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(1);
+        for (int k = 0; k < 20000; k++) {
+            long key = PairSet.pack(random.nextInt(60), random.nextInt(60));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), set.remove(key));
+            } else {
+                assertEquals(expected.add(key), set.add(key));
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        Set<Long> actual = new HashSet<>();
+        for (int slot = 0; slot < set.capacity(); slot++) {
+            if (set.keyAt(slot) != PairSet.EMPTY) actual.add(set.keyAt(slot));
+        }
+        assertEquals(expected, actual);
+    }
+}
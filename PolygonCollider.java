@@ -18,10 +18,22 @@ public class PolygonCollider extends Collider {
     private final List<Point.Double> originalVertices;
 
     /**
-     * Lista de vértices transformados do polígono.
-     * Estes vértices são calculados com base na Transform atual e podem ser ajustados dinamicamente.
+     * Centroide dos vértices originais, que não muda após a construção.
      */
-    private List<Point.Double> transformedVertices;
+    private final double centroidX, centroidY;
+
+    /**
+     * Vértices relativos ao centroide e normais unitárias das arestas em coordenadas locais,
+     * calculados uma única vez. Como a Transform só roda e escala uniformemente, as normais do
+     * mundo são as normais locais rodadas, sem voltar a normalizar as arestas.
+     */
+    private final double[] localX, localY, localNormalX, localNormalY;
+
+    /**
+     * Vértices transformados e normais unitárias das arestas, em arrays para os testes SAT.
+     * A normal i corresponde à aresta entre os vértices i e i + 1.
+     */
+    private double[] vertexX, vertexY, normalX, normalY;
 
     /**
      * Construtor privado para criar um PolygonCollider com os vértices originais.
@@ -31,7 +43,23 @@ public class PolygonCollider extends Collider {
     private PolygonCollider(Transform t, List<Point.Double> verts) {
         super(t);
         this.originalVertices = new ArrayList<>(verts);
-        this.transformedVertices = new ArrayList<>();
+        Point.Double centroid = computeCentroid(originalVertices);
+        this.centroidX = centroid.x;
+        this.centroidY = centroid.y;
+        int n = originalVertices.size();
+        this.localX = new double[n];
+        this.localY = new double[n];
+        for (int i = 0; i < n; i++) {
+            localX[i] = originalVertices.get(i).x - centroidX;
+            localY[i] = originalVertices.get(i).y - centroidY;
+        }
+        this.localNormalX = new double[n];
+        this.localNormalY = new double[n];
+        computeNormals(localX, localY, localNormalX, localNormalY);
+        this.vertexX = new double[n];
+        this.vertexY = new double[n];
+        this.normalX = new double[n];
+        this.normalY = new double[n];
     }
 
     /**
@@ -75,18 +103,17 @@ public class PolygonCollider extends Collider {
     /**
      * Aplica a transformação atual ao colisor, ajustando os vértices transformados.
      */
-    public void adjustToTransform() {
-        Point.Double centroid = computeCentroid(originalVertices);
-        List<Point.Double> moved = new ArrayList<>();
-
+    protected void rebuildWorldShape() {
         double rad = Math.toRadians(transform.angle());
         double cos = Math.cos(rad), sin = Math.sin(rad);
         double tx = transform.posX(), ty = transform.posY();
         double scale = transform.scale();
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
 
-        for (Point.Double p : originalVertices) {
-            double x = p.x - centroid.x;
-            double y = p.y - centroid.y;
+        for (int i = 0; i < localX.length; i++) {
+            double x = localX[i];
+            double y = localY[i];
 
             double xr = x * cos - y * sin;
             double yr = x * sin + y * cos;
@@ -94,10 +121,43 @@ public class PolygonCollider extends Collider {
             xr = xr * scale + tx;
             yr = yr * scale + ty;
 
-            moved.add(new Point.Double(xr, yr));
+            vertexX[i] = xr;
+            vertexY[i] = yr;
+            minX = Math.min(minX, xr);
+            minY = Math.min(minY, yr);
+            maxX = Math.max(maxX, xr);
+            maxY = Math.max(maxY, yr);
         }
 
-        this.transformedVertices = moved;
+        setBounds(minX, minY, maxX, maxY);
+
+        // Uma escala negativa inverte as arestas e uma escala nula anula-as.
+        double sign = Math.signum(scale);
+        for (int i = 0; i < localNormalX.length; i++) {
+            double nx = localNormalX[i], ny = localNormalY[i];
+            normalX[i] = (nx * cos - ny * sin) * sign;
+            normalY[i] = (nx * sin + ny * cos) * sign;
+        }
+    }
+
+    /**
+     * Calcula as normais unitárias das arestas de um polígono; arestas de comprimento nulo têm normal nula.
+     */
+    private static void computeNormals(double[] x, double[] y, double[] normalX, double[] normalY) {
+        int n = x.length;
+        for (int i = 0; i < n; i++) {
+            int next = (i + 1) % n;
+            double ex = x[next] - x[i];
+            double ey = y[next] - y[i];
+            double len = Math.sqrt(ex * ex + ey * ey);
+            if (len == 0) {
+                normalX[i] = 0;
+                normalY[i] = 0;
+            } else {
+                normalX[i] = ey / len;
+                normalY[i] = -ex / len;
+            }
+        }
     }
 
     @Override
@@ -109,6 +169,24 @@ public class PolygonCollider extends Collider {
         return new Point((int) transform.posX(), (int) transform.posY());
     }
 
+    @Override
+    /**
+     * Retorna a coordenada x do centro do polígono (a posição da Transform).
+     * @return coordenada x do centro
+     */
+    public double posX() {
+        return transform.posX();
+    }
+
+    @Override
+    /**
+     * Retorna a coordenada y do centro do polígono (a posição da Transform).
+     * @return coordenada y do centro
+     */
+    public double posY() {
+        return transform.posY();
+    }
+
     @Override
     /**
      * Retorna uma representação em string dos vértices transformados do polígono.
@@ -116,8 +194,8 @@ public class PolygonCollider extends Collider {
      */
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (Point.Double p : transformedVertices) {
-            sb.append(String.format("(%.2f,%.2f) ", p.x, p.y));
+        for (int i = 0; i < vertexCount(); i++) {
+            sb.append(String.format("(%.2f,%.2f) ", vertexX[i], vertexY[i]));
         }
         return sb.toString().trim();
     }
@@ -140,8 +218,7 @@ public class PolygonCollider extends Collider {
      * @return true se houver colisão, false caso contrário
      */
     public boolean collidesWithCircle(CircleCollider circle) {
-        // Lógica de colisão polígono-círculo não implementada
-        return false;
+        return findSeparatingAxis(circle, -1) < 0;
     }
 
     @Override
@@ -151,7 +228,149 @@ public class PolygonCollider extends Collider {
      * @return true se houver colisão, false caso contrário
      */
     public boolean collidesWithPolygon(PolygonCollider polygon) {
-        // Lógica de colisão polígono-polígono não implementada
-        return false;
+        return findSeparatingAxis(polygon, -1) < 0;
+    }
+
+    /**
+     * @return número de vértices (e de arestas) do polígono
+     */
+    public int vertexCount() {
+        return vertexX.length;
+    }
+
+    /**
+     * Procura um eixo que separe este polígono de outro (teorema do eixo separador).
+     * Os eixos 0 a n - 1 são as normais deste polígono e os eixos n a n + m - 1 as normais do outro.
+     * O eixo hint é testado primeiro: objetos separados no frame anterior costumam continuar
+     * separados pelo mesmo eixo, o que torna a rejeição quase imediata.
+     * @param other outro polígono
+     * @param hint eixo a testar primeiro, ou -1
+     * @return índice do eixo separador, ou -1 se os polígonos se intersetam
+     */
+    public int findSeparatingAxis(PolygonCollider other, int hint) {
+        int axes = vertexCount() + other.vertexCount();
+        if (hint >= 0 && hint < axes && separates(other, hint)) return hint;
+        for (int k = 0; k < axes; k++) {
+            if (k != hint && separates(other, k)) return k;
+        }
+        return -1;
+    }
+
+    /**
+     * Procura um eixo que separe este polígono de um círculo.
+     * Os eixos 0 a n - 1 são as normais deste polígono e o eixo n liga o vértice
+     * mais próximo ao centro do círculo.
+     * @param circle círculo a testar
+     * @param hint eixo a testar primeiro, ou -1
+     * @return índice do eixo separador, ou -1 se o polígono e o círculo se intersetam
+     */
+    public int findSeparatingAxis(CircleCollider circle, int hint) {
+        int axes = vertexCount() + 1;
+        if (hint >= 0 && hint < axes && separates(circle, hint)) return hint;
+        for (int k = 0; k < axes; k++) {
+            if (k != hint && separates(circle, k)) return k;
+        }
+        return -1;
+    }
+
+    @Override
+    /**
+     * Interseta um raio com o polígono (convexo) recortando-o pelo semiplano de cada aresta.
+     * As normais são orientadas para fora em relação à média dos vértices, pelo que o
+     * resultado não depende do sentido em que os vértices foram dados.
+     */
+    public double raycast(double originX, double originY, double dirX, double dirY, double maxDistance) {
+        int n = vertexCount();
+        double cx = 0, cy = 0;
+        for (int i = 0; i < n; i++) {
+            cx += vertexX[i];
+            cy += vertexY[i];
+        }
+        cx /= n;
+        cy /= n;
+
+        double enter = 0, exit = maxDistance;
+        for (int i = 0; i < n; i++) {
+            double nx = normalX[i], ny = normalY[i];
+            if (nx == 0 && ny == 0) continue;
+            if ((cx - vertexX[i]) * nx + (cy - vertexY[i]) * ny > 0) {
+                nx = -nx;
+                ny = -ny;
+            }
+            double outside = (originX - vertexX[i]) * nx + (originY - vertexY[i]) * ny;
+            double approach = dirX * nx + dirY * ny;
+            if (approach == 0) {
+                if (outside > 0) return -1;
+                continue;
+            }
+            double t = -outside / approach;
+            if (approach < 0) enter = Math.max(enter, t);
+            else exit = Math.min(exit, t);
+            if (enter > exit) return -1;
+        }
+        return enter;
+    }
+
+    /**
+     * Verifica se o eixo k separa este polígono de outro.
+     */
+    private boolean separates(PolygonCollider other, int k) {
+        int n = vertexCount();
+        double ax = k < n ? normalX[k] : other.normalX[k - n];
+        double ay = k < n ? normalY[k] : other.normalY[k - n];
+        if (ax == 0 && ay == 0) return false;
+
+        double minA = Double.POSITIVE_INFINITY, maxA = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double d = vertexX[i] * ax + vertexY[i] * ay;
+            minA = Math.min(minA, d);
+            maxA = Math.max(maxA, d);
+        }
+        double minB = Double.POSITIVE_INFINITY, maxB = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < other.vertexCount(); i++) {
+            double d = other.vertexX[i] * ax + other.vertexY[i] * ay;
+            minB = Math.min(minB, d);
+            maxB = Math.max(maxB, d);
+        }
+        return maxA < minB || maxB < minA;
+    }
+
+    /**
+     * Verifica se o eixo k separa este polígono de um círculo.
+     */
+    private boolean separates(CircleCollider circle, int k) {
+        int n = vertexCount();
+        double cx = circle.posX(), cy = circle.posY();
+        double ax, ay;
+        if (k < n) {
+            ax = normalX[k];
+            ay = normalY[k];
+        } else {
+            int closest = 0;
+            double best = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                double dx = cx - vertexX[i], dy = cy - vertexY[i];
+                double d = dx * dx + dy * dy;
+                if (d < best) {
+                    best = d;
+                    closest = i;
+                }
+            }
+            double len = Math.sqrt(best);
+            if (len == 0) return false;
+            ax = (cx - vertexX[closest]) / len;
+            ay = (cy - vertexY[closest]) / len;
+        }
+        if (ax == 0 && ay == 0) return false;
+
+        double minA = Double.POSITIVE_INFINITY, maxA = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double d = vertexX[i] * ax + vertexY[i] * ay;
+            minA = Math.min(minA, d);
+            maxA = Math.max(maxA, d);
+        }
+        double center = cx * ax + cy * ay;
+        double r = circle.getRadius();
+        return maxA < center - r || center + r < minA;
     }
 }
@@ -85,4 +85,70 @@ public class PolygonColliderTest {
         String expected = "(1.17,2.17) (2.17,2.17) (1.17,3.17)";
         assertEquals(expected, collider.toString());
     }
+
+    private static PolygonCollider square(double x, double y, double angle, double half) {
+        Transform t = new Transform(x, y, 0, angle, 1);
+        return PolygonCollider.create(t, Arrays.asList(
+            new Point.Double(-half, -half),
+            new Point.Double(half, -half),
+            new Point.Double(half, half),
+            new Point.Double(-half, half)
+        ));
+    }
+
+    @Test
+    public void testPolygonsOverlap() {
+        assertTrue(square(0, 0, 0, 10).collidesWith(square(15, 5, 0, 10)));
+        assertFalse(square(0, 0, 0, 10).collidesWith(square(25, 0, 0, 10)));
+    }
+
+    @Test
+    public void testRotatedPolygonSeparatedInsideBoundingBox() {
+        PolygonCollider a = square(0, 0, 0, 10);
+        PolygonCollider diamond = square(22, 22, 45, 10);
+        assertTrue(a.maxX() >= diamond.minX() && a.maxY() >= diamond.minY());
+        assertFalse(a.collidesWith(diamond));
+        assertFalse(diamond.collidesWith(a));
+    }
+
+    @Test
+    public void testSeparatingAxisHintIsReturnedFirst() {
+        PolygonCollider a = square(0, 0, 0, 10);
+        PolygonCollider b = square(0, 40, 0, 10);
+        int axis = a.findSeparatingAxis(b, -1);
+        assertTrue(axis >= 0);
+        assertEquals(axis, a.findSeparatingAxis(b, axis));
+        assertEquals(-1, a.findSeparatingAxis(square(0, 15, 0, 10), axis));
+    }
+
+    @Test
+    public void testPolygonCircle() {
+        PolygonCollider a = square(0, 0, 0, 10);
+        Transform t = new Transform(20, 0, 0, 0, 1.0);
+        assertTrue(a.collidesWith(CircleCollider.create(t, 0, 0, 11)));
+
+        // Perto do canto: as normais das arestas não separam, apenas o eixo do vértice.
+        Transform corner = new Transform(17, 17, 0, 0, 1.0);
+        CircleCollider c = CircleCollider.create(corner, 0, 0, 8);
+        assertFalse(a.collidesWith(c));
+        assertFalse(c.collidesWith(a));
+        assertEquals(a.vertexCount(), a.findSeparatingAxis(c, -1));
+    }
+
+    @Test
+    public void testRaycast() {
+        PolygonCollider a = square(50, 0, 0, 10);
+        assertEquals(40, a.raycast(0, 0, 1, 0, 100), 1e-9);
+        assertEquals(-1, a.raycast(0, 0, 1, 0, 30), 1e-9);
+        assertEquals(-1, a.raycast(0, 0, -1, 0, 100), 1e-9);
+        assertEquals(-1, a.raycast(0, 20, 1, 0, 100), 1e-9);
+        assertEquals(0, a.raycast(50, 0, 0, 1, 100), 1e-9);
+
+        // A ordem inversa dos vértices não altera o resultado.
+        Transform t = new Transform(50, 0, 0, 0, 1);
+        PolygonCollider reversed = PolygonCollider.create(t, Arrays.asList(
+            new Point.Double(-10, 10), new Point.Double(10, 10),
+            new Point.Double(10, -10), new Point.Double(-10, -10)));
+        assertEquals(40, reversed.raycast(0, 0, 1, 0, 100), 1e-9);
+    }
 }
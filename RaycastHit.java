@@ -0,0 +1,78 @@
+/**
+ * Resultado de um raio ou segmento lançado contra os colliders do jogo:
+ * o objeto atingido, a distância desde a origem e o ponto de entrada no collider.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv distance() >= 0. Se a origem estiver dentro do collider, distance() == 0 e o ponto é a origem.
+ */
+public class RaycastHit {
+    private GameObject object;
+    private double distance;
+    private double x, y;
+
+    /**
+     * Cria um resultado vazio, para ser preenchido pelas versões de GameEngine.raycast() e
+     * GameEngine.segmentCast() que recebem o RaycastHit do chamador.
+     */
+    public RaycastHit() {
+    }
+
+    /**
+     * Cria o resultado de um raio.
+     * @param object objeto atingido
+     * @param distance distância desde a origem do raio até ao ponto de entrada
+     * @param x coordenada x do ponto de entrada
+     * @param y coordenada y do ponto de entrada
+     */
+    public RaycastHit(GameObject object, double distance, double x, double y) {
+        this.object = object;
+        this.distance = distance;
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Substitui o resultado, permitindo reutilizar o mesmo RaycastHit em vários raios.
+     */
+    void set(GameObject object, double distance, double x, double y) {
+        this.object = object;
+        this.distance = distance;
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * @return objeto atingido (null num resultado vazio)
+     */
+    public GameObject object() {
+        return object;
+    }
+
+    /**
+     * @return distância desde a origem do raio até ao ponto de entrada
+     */
+    public double distance() {
+        return distance;
+    }
+
+    /**
+     * @return coordenada x do ponto de entrada
+     */
+    public double x() {
+        return x;
+    }
+
+    /**
+     * @return coordenada y do ponto de entrada
+     */
+    public double y() {
+        return y;
+    }
+
+    @Override
+    public String toString() {
+        return object.name() + " @ " + distance;
+    }
+}
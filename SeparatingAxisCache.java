@@ -0,0 +1,133 @@
+import java.util.Arrays;
+
+/**
+ * Cache do último eixo separador encontrado para cada par de colliders.
+ * Os pares são identificados por PairSet.pack() sobre os ids dos colliders e guardados numa
+ * tabela de endereçamento aberto. Quando o número de pares ultrapassa o limite, a cache é
+ * esvaziada, o que evita acumular pares de objetos entretanto destruídos.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv size() <= maxEntries. A tabela nunca fica mais de 50% ocupada.
+ */
+public class SeparatingAxisCache {
+
+    /**
+     * Valor devolvido por get() quando o par não tem eixo guardado.
+     */
+    public static final int NO_AXIS = -1;
+
+    private final int maxEntries;
+    private long[] keys;
+    private int[] axes;
+    private int mask;
+    private int size;
+
+    /**
+     * Cria uma cache com o limite de pares indicado.
+     * @param maxEntries número máximo de pares guardados
+     */
+    public SeparatingAxisCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.keys = new long[64];
+        this.axes = new int[64];
+        Arrays.fill(keys, PairSet.EMPTY);
+        this.mask = keys.length - 1;
+    }
+
+    /**
+     * @param key par de colliders (PairSet.pack)
+     * @return último eixo separador do par ou NO_AXIS
+     */
+    public int get(long key) {
+        int slot = find(key);
+        return keys[slot] == key ? axes[slot] : NO_AXIS;
+    }
+
+    /**
+     * Guarda o eixo separador de um par; NO_AXIS (ou qualquer valor negativo) remove-o.
+     * @param key par de colliders (PairSet.pack)
+     * @param axis eixo separador encontrado
+     */
+    public void put(long key, int axis) {
+        int slot = find(key);
+        if (axis < 0) {
+            if (keys[slot] == key) removeAt(slot);
+            return;
+        }
+        if (keys[slot] == key) {
+            axes[slot] = axis;
+            return;
+        }
+        if (size >= maxEntries) {
+            clear();
+            slot = find(key);
+        }
+        keys[slot] = key;
+        axes[slot] = axis;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    /**
+     * @return número de pares guardados
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove todos os pares mantendo a capacidade.
+     */
+    public void clear() {
+        Arrays.fill(keys, PairSet.EMPTY);
+        size = 0;
+    }
+
+    private void removeAt(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != PairSet.EMPTY) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                axes[hole] = axes[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = PairSet.EMPTY;
+        size--;
+    }
+
+    private int find(long key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != PairSet.EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldAxes = axes;
+        keys = new long[oldKeys.length * 2];
+        axes = new int[oldKeys.length * 2];
+        Arrays.fill(keys, PairSet.EMPTY);
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != PairSet.EMPTY) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                axes[slot] = oldAxes[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
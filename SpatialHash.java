@@ -0,0 +1,266 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Broadphase baseada numa grelha uniforme dispersa (spatial hash).
+ * Cada objeto é inserido em todas as células cobertas pela sua caixa envolvente e só
+ * são devolvidos pares que partilham pelo menos uma célula. A estrutura é reconstruída
+ * a cada update() reutilizando os mesmos arrays, pelo que não aloca em regime estável.
+ * As entradas ficam ordenadas por célula, o que permite consultas por caixa com pesquisa binária.
+ *
+ * Um par que partilha várias células é devolvido apenas na célula do canto mínimo da
+ * interseção das suas células, dispensando um conjunto auxiliar para remover duplicados.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv cellSize() > 0 após o primeiro update().
+ */
+public class SpatialHash implements IBroadphase {
+
+    /**
+     * Número máximo de células por objeto. Objetos maiores são tratados à parte
+     * e testados contra todos os restantes.
+     */
+    private static final int MAX_CELLS_PER_OBJECT = 64;
+
+    /**
+     * Tamanho de célula fixo; se não for positivo é derivado a cada update().
+     */
+    private final double fixedCellSize;
+    private double cellSize;
+
+    private int count;
+    private double[] minX = new double[0], minY = new double[0], maxX = new double[0], maxY = new double[0];
+    private int[] cellMinX = new int[0], cellMinY = new int[0], cellMaxX = new int[0], cellMaxY = new int[0];
+
+    /**
+     * Entradas (hash da célula << 32) | índice do objeto.
+     */
+    private long[] entries = new long[64];
+    private int entryCount;
+
+    /**
+     * Índices dos objetos demasiado grandes para a grelha.
+     */
+    private int[] oversized = new int[8];
+    private int oversizedCount;
+
+    /**
+     * Índices distintos da célula a ser processada em findPairs().
+     */
+    private int[] run = new int[16];
+
+    /**
+     * Marca dos objetos já devolvidos pela consulta em curso, para não os repetir.
+     */
+    private int[] queryMark = new int[0];
+    private int queryStamp;
+
+    /**
+     * Cria uma spatial hash cujo tamanho de célula é derivado do tamanho médio dos colliders.
+     */
+    public SpatialHash() {
+        this(0);
+    }
+
+    /**
+     * Cria uma spatial hash com tamanho de célula fixo.
+     * @param cellSize lado de cada célula em pixels; se não for positivo é derivado a cada frame
+     */
+    public SpatialHash(double cellSize) {
+        this.fixedCellSize = cellSize;
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * @return lado das células usado no último update()
+     */
+    public double cellSize() {
+        return cellSize;
+    }
+
+    @Override
+    public void update(List<GameObject> objects) {
+        count = objects.size();
+        ensureCapacity(count);
+
+        double extentSum = 0;
+        for (int i = 0; i < count; i++) {
+            ICollider c = objects.get(i).collider();
+            minX[i] = c.minX();
+            minY[i] = c.minY();
+            maxX[i] = c.maxX();
+            maxY[i] = c.maxY();
+            extentSum += Math.max(maxX[i] - minX[i], maxY[i] - minY[i]);
+        }
+
+        if (fixedCellSize > 0) {
+            cellSize = fixedCellSize;
+        } else if (count > 0) {
+            cellSize = Math.max(1.0, extentSum / count);
+        } else if (cellSize <= 0) {
+            cellSize = 1.0;
+        }
+
+        entryCount = 0;
+        oversizedCount = 0;
+        for (int i = 0; i < count; i++) {
+            int x0 = cell(minX[i]), y0 = cell(minY[i]);
+            int x1 = cell(maxX[i]), y1 = cell(maxY[i]);
+            cellMinX[i] = x0;
+            cellMinY[i] = y0;
+            cellMaxX[i] = x1;
+            cellMaxY[i] = y1;
+
+            long cells = (long) (x1 - x0 + 1) * (y1 - y0 + 1);
+            if (cells > MAX_CELLS_PER_OBJECT) {
+                if (oversizedCount == oversized.length) {
+                    oversized = Arrays.copyOf(oversized, oversizedCount * 2);
+                }
+                oversized[oversizedCount++] = i;
+                continue;
+            }
+            if (entryCount + cells > entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(entries.length * 2, (int) (entryCount + cells)));
+            }
+            for (int cx = x0; cx <= x1; cx++) {
+                for (int cy = y0; cy <= y1; cy++) {
+                    entries[entryCount++] = ((long) hash(cx, cy) << 32) | i;
+                }
+            }
+        }
+        Arrays.sort(entries, 0, entryCount);
+    }
+
+    @Override
+    public void findPairs(PairList out) {
+        int start = 0;
+        while (start < entryCount) {
+            long key = entries[start] >>> 32;
+            int end = start;
+            int runSize = 0;
+            while (end < entryCount && (entries[end] >>> 32) == key) {
+                int index = (int) entries[end];
+                if (runSize == 0 || run[runSize - 1] != index) {
+                    if (runSize == run.length) {
+                        run = Arrays.copyOf(run, runSize * 2);
+                    }
+                    run[runSize++] = index;
+                }
+                end++;
+            }
+
+            int cellHash = (int) key;
+            for (int p = 0; p < runSize; p++) {
+                int i = run[p];
+                for (int q = p + 1; q < runSize; q++) {
+                    int j = run[q];
+                    if (!overlaps(i, j)) continue;
+                    int ix = Math.max(cellMinX[i], cellMinX[j]);
+                    int iy = Math.max(cellMinY[i], cellMinY[j]);
+                    if (hash(ix, iy) == cellHash) {
+                        out.add(i, j);
+                    }
+                }
+            }
+            start = end;
+        }
+
+        for (int k = 0; k < oversizedCount; k++) {
+            int o = oversized[k];
+            for (int j = 0; j < count; j++) {
+                if (j == o || (isOversized(j) && j < o)) continue;
+                if (overlaps(o, j)) {
+                    out.add(Math.min(o, j), Math.max(o, j));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void query(double qMinX, double qMinY, double qMaxX, double qMaxY, IntList out) {
+        if (count == 0) return;
+        int x0 = cell(qMinX), y0 = cell(qMinY);
+        int x1 = cell(qMaxX), y1 = cell(qMaxY);
+
+        // Caixas que cobrem mais células do que há entradas são mais baratas de percorrer linearmente.
+        if ((long) (x1 - x0 + 1) * (y1 - y0 + 1) > entryCount) {
+            for (int i = 0; i < count; i++) {
+                if (overlapsBox(i, qMinX, qMinY, qMaxX, qMaxY)) out.add(i);
+            }
+            return;
+        }
+
+        if (++queryStamp == 0) {
+            Arrays.fill(queryMark, 0);
+            queryStamp = 1;
+        }
+        for (int cx = x0; cx <= x1; cx++) {
+            for (int cy = y0; cy <= y1; cy++) {
+                long key = (long) hash(cx, cy) << 32;
+                for (int e = lowerBound(key); e < entryCount && (entries[e] & 0xffffffff00000000L) == key; e++) {
+                    int i = (int) entries[e];
+                    if (queryMark[i] == queryStamp) continue;
+                    queryMark[i] = queryStamp;
+                    if (overlapsBox(i, qMinX, qMinY, qMaxX, qMaxY)) out.add(i);
+                }
+            }
+        }
+        for (int k = 0; k < oversizedCount; k++) {
+            int o = oversized[k];
+            if (overlapsBox(o, qMinX, qMinY, qMaxX, qMaxY)) out.add(o);
+        }
+    }
+
+    /**
+     * @return primeira posição de entries com valor maior ou igual a key
+     */
+    private int lowerBound(long key) {
+        int lo = 0, hi = entryCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (entries[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private boolean overlapsBox(int i, double qMinX, double qMinY, double qMaxX, double qMaxY) {
+        return minX[i] <= qMaxX && qMinX <= maxX[i] && minY[i] <= qMaxY && qMinY <= maxY[i];
+    }
+
+    /**
+     * Verifica se as caixas envolventes de dois objetos se sobrepõem (incluindo o contacto).
+     */
+    private boolean overlaps(int i, int j) {
+        return minX[i] <= maxX[j] && minX[j] <= maxX[i]
+            && minY[i] <= maxY[j] && minY[j] <= maxY[i];
+    }
+
+    private boolean isOversized(int i) {
+        return (long) (cellMaxX[i] - cellMinX[i] + 1) * (cellMaxY[i] - cellMinY[i] + 1) > MAX_CELLS_PER_OBJECT;
+    }
+
+    private int cell(double v) {
+        return (int) Math.floor(v / cellSize);
+    }
+
+    private static int hash(int cx, int cy) {
+        return cx * 73856093 ^ cy * 19349663;
+    }
+
+    private void ensureCapacity(int n) {
+        if (minX.length >= n) return;
+        int cap = Math.max(n, minX.length * 2);
+        minX = Arrays.copyOf(minX, cap);
+        minY = Arrays.copyOf(minY, cap);
+        maxX = Arrays.copyOf(maxX, cap);
+        maxY = Arrays.copyOf(maxY, cap);
+        cellMinX = Arrays.copyOf(cellMinX, cap);
+        cellMinY = Arrays.copyOf(cellMinY, cap);
+        cellMaxX = Arrays.copyOf(cellMaxX, cap);
+        cellMaxY = Arrays.copyOf(cellMaxY, cap);
+        queryMark = Arrays.copyOf(queryMark, cap);
+    }
+}
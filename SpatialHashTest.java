@@ -0,0 +1,48 @@
+import static org.junit.Assert.*;
+
+import java.util.*;
+import org.junit.Test;
+
+/**
+ * Testes unitários para a classe SpatialHash.
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ */
+public class SpatialHashTest {
+
+    private static GameObject circle(double x, double y, double r) {
+        Transform t = new Transform(x, y, 0, 0, 1.0);
+        return new GameObject("Obj", t, CircleCollider.create(t, 0, 0, r), null);
+    }
+
+    private static Set<Long> pairs(IBroadphase broadphase, List<GameObject> objects) {
+        PairList out = new PairList();
+        broadphase.update(objects);
+        broadphase.findPairs(out);
+        Set<Long> result = new HashSet<>();
+        for (int k = 0; k < out.size(); k++) {
+            assertTrue(out.first(k) < out.second(k));
+            assertTrue("par duplicado", result.add(((long) out.first(k) << 32) | out.second(k)));
+        }
+        return result;
+    }
+
+    @Test
+    public void testCellSizeDerivedFromColliders() {
+        SpatialHash hash = new SpatialHash();
+        hash.update(Arrays.asList(circle(0, 0, 10), circle(100, 100, 10)));
+        assertEquals(22.0, hash.cellSize(), 0.001);
+    }
+
+    @Test
+    public void testPairsSpanningSeveralCellsAreReportedOnce() {
+        List<GameObject> objects = Arrays.asList(circle(0, 0, 40), circle(30, 30, 40), circle(500, 500, 5));
+        assertEquals(Set.of(1L), pairs(new SpatialHash(10), objects));
+    }
+
+    @Test
+    public void testOversizedObjectsAreTestedAgainstEveryone() {
+        List<GameObject> objects = Arrays.asList(circle(5, 5, 2), circle(0, 0, 1000), circle(900, 900, 2), circle(3000, 0, 2));
+        assertEquals(Set.of(1L, (1L << 32) | 2), pairs(new SpatialHash(8), objects));
+    }
+}
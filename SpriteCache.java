@@ -0,0 +1,209 @@
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache de variantes dos sprites já rodadas e escaladas.
+ * O ângulo é arredondado para um de angleSteps() passos e a escala para múltiplos de 1/SCALE_STEPS,
+ * pelo que cada objeto é desenhado com uma cópia simples da variante, sem transformação afim.
+ * As variantes menos usadas recentemente são descartadas quando a memória ocupada excede o orçamento.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv bytes() <= budget() depois de cada get(), exceto se uma única variante exceder o orçamento.
+ */
+public class SpriteCache {
+
+    /**
+     * Número por omissão de passos de rotação (5.625 graus cada).
+     */
+    public static final int DEFAULT_ANGLE_STEPS = 64;
+
+    /**
+     * Número de passos de escala por unidade.
+     */
+    public static final int SCALE_STEPS = 64;
+
+    private final AssetManager assets;
+    private final int angleSteps;
+    private long budget;
+    private long bytes;
+    private long hits, misses, evictions;
+
+    /**
+     * Variantes por chave, da menos para a mais recentemente usada.
+     */
+    private final LinkedHashMap<Long, BufferedImage> variants = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * Cria uma cache com DEFAULT_ANGLE_STEPS passos de rotação.
+     * @param assets sprites originais
+     * @param budget memória máxima ocupada pelas variantes, em bytes
+     */
+    public SpriteCache(AssetManager assets, long budget) {
+        this(assets, budget, DEFAULT_ANGLE_STEPS);
+    }
+
+    /**
+     * Cria uma cache.
+     * @param assets sprites originais
+     * @param budget memória máxima ocupada pelas variantes, em bytes
+     * @param angleSteps número de passos em que a volta completa é dividida
+     */
+    public SpriteCache(AssetManager assets, long budget, int angleSteps) {
+        if (angleSteps <= 0 || angleSteps > 256) throw new IllegalArgumentException("angleSteps deve estar entre 1 e 256: " + angleSteps);
+        this.assets = assets;
+        this.budget = budget;
+        this.angleSteps = angleSteps;
+    }
+
+    /**
+     * Obtém a variante de um sprite rodada e escalada, centrada na imagem devolvida.
+     * Para desenhar um objeto em (x, y) basta copiar a imagem para (x - largura / 2, y - altura / 2).
+     * @param sprite identificador do sprite no AssetManager
+     * @param angle rotação em graus
+     * @param scale fator de escala
+     * @return variante do sprite, ou null se o sprite não foi carregado ou fica vazio com esta escala
+     */
+    public BufferedImage get(int sprite, double angle, double scale) {
+        int angleStep = Math.floorMod((int) Math.round(angle / 360 * angleSteps), angleSteps);
+        int scaleStep = (int) Math.round(scale * SCALE_STEPS);
+        long key = ((long) sprite << 40) | ((long) angleStep << 32) | (scaleStep & 0xFFFFFFFFL);
+
+        BufferedImage variant = variants.get(key);
+        if (variant != null) {
+            hits++;
+            return variant;
+        }
+        misses++;
+        BufferedImage source = assets.get(sprite);
+        if (source == null) return null;
+        variant = render(source, angleStep * 2 * Math.PI / angleSteps, (double) scaleStep / SCALE_STEPS);
+        if (variant == null) return null;
+
+        variants.put(key, variant);
+        bytes += sizeOf(variant);
+        evict();
+        return variant;
+    }
+
+    /**
+     * Desenha o sprite rodado e escalado numa imagem com o tamanho da sua caixa envolvente.
+     */
+    private static BufferedImage render(BufferedImage source, double radians, double scale) {
+        int drawWidth = (int) (source.getWidth() * scale);
+        int drawHeight = (int) (source.getHeight() * scale);
+        if (drawWidth <= 0 || drawHeight <= 0) return null;
+        double cos = Math.abs(Math.cos(radians)), sin = Math.abs(Math.sin(radians));
+        // A tolerância evita um pixel a mais por erros de arredondamento nos ângulos retos.
+        int width = (int) Math.ceil(drawWidth * cos + drawHeight * sin - 1e-9);
+        int height = (int) Math.ceil(drawWidth * sin + drawHeight * cos - 1e-9);
+
+        BufferedImage image;
+        if (GraphicsEnvironment.isHeadless()) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        } else {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+            image = gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.translate(width / 2.0, height / 2.0);
+        g.rotate(radians);
+        g.drawImage(source, -drawWidth / 2, -drawHeight / 2, drawWidth, drawHeight, null);
+        g.dispose();
+        return image;
+    }
+
+    /**
+     * Descarta as variantes menos usadas recentemente até a memória ocupada caber no orçamento,
+     * mantendo sempre a variante mais recente.
+     */
+    private void evict() {
+        Iterator<Map.Entry<Long, BufferedImage>> it = variants.entrySet().iterator();
+        while (bytes > budget && variants.size() > 1) {
+            BufferedImage oldest = it.next().getValue();
+            it.remove();
+            bytes -= sizeOf(oldest);
+            evictions++;
+        }
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    /**
+     * Altera o orçamento de memória, descartando variantes se necessário.
+     * @param budget memória máxima ocupada pelas variantes, em bytes
+     */
+    public void setBudget(long budget) {
+        this.budget = budget;
+        evict();
+    }
+
+    /**
+     * Descarta todas as variantes, por exemplo depois de recarregar os sprites.
+     */
+    public void clear() {
+        variants.clear();
+        bytes = 0;
+    }
+
+    /**
+     * @return memória máxima ocupada pelas variantes, em bytes
+     */
+    public long budget() {
+        return budget;
+    }
+
+    /**
+     * @return memória ocupada pelas variantes guardadas (4 bytes por pixel), em bytes
+     */
+    public long bytes() {
+        return bytes;
+    }
+
+    /**
+     * @return número de variantes guardadas
+     */
+    public int size() {
+        return variants.size();
+    }
+
+    /**
+     * @return número de pedidos servidos por uma variante já guardada
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * @return número de pedidos que tiveram de desenhar a variante
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * @return número de variantes descartadas por falta de orçamento
+     */
+    public long evictions() {
+        return evictions;
+    }
+
+    /**
+     * @return número de passos em que a volta completa é dividida
+     */
+    public int angleSteps() {
+        return angleSteps;
+    }
+}
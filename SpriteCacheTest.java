@@ -0,0 +1,80 @@
+import static org.junit.Assert.*;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import javax.imageio.ImageIO;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Testes unitários para a classe SpriteCache.
+ * Valida a quantização do ângulo e da escala, as dimensões das variantes e o descarte LRU.
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ */
+public class SpriteCacheTest {
+
+    private AssetManager assets;
+    private int sprite;
+
+    @Before
+    public void setUp() throws IOException {
+        File dir = Files.createTempDirectory("sprites").toFile();
+        dir.deleteOnExit();
+        File file = new File(dir, "Tank.png");
+        ImageIO.write(new BufferedImage(40, 20, BufferedImage.TYPE_INT_ARGB), "png", file);
+        file.deleteOnExit();
+        assets = new AssetManager(dir);
+        sprite = assets.register("Tank");
+        assets.loadAll();
+    }
+
+    @Test
+    public void testNearbyAnglesShareVariant() {
+        SpriteCache cache = new SpriteCache(assets, 1 << 20);
+        BufferedImage a = cache.get(sprite, 0, 1.0);
+        assertEquals(1, cache.misses());
+        assertSame(a, cache.get(sprite, 2, 1.0));
+        assertSame(a, cache.get(sprite, 359, 1.0));
+        assertSame(a, cache.get(sprite, -1, 1.0));
+        assertEquals(3, cache.hits());
+        assertNotSame(a, cache.get(sprite, 10, 1.0));
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    public void testVariantSizeFollowsRotationAndScale() {
+        SpriteCache cache = new SpriteCache(assets, 1 << 20);
+        BufferedImage straight = cache.get(sprite, 0, 0.5);
+        assertEquals(20, straight.getWidth());
+        assertEquals(10, straight.getHeight());
+
+        BufferedImage turned = cache.get(sprite, 90, 0.5);
+        assertEquals(10, turned.getWidth());
+        assertEquals(20, turned.getHeight());
+        assertEquals(2 * 20 * 10 * 4, cache.bytes());
+        assertNull(cache.get(sprite, 0, 0));
+        assertNull(cache.get(-1, 0, 1.0));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedVariantIsEvicted() {
+        // Cada variante de 40x20 ocupa 3200 bytes; o orçamento só chega para duas.
+        SpriteCache cache = new SpriteCache(assets, 7000);
+        BufferedImage first = cache.get(sprite, 0, 1.0);
+        BufferedImage second = cache.get(sprite, 180, 1.0);
+        assertSame(first, cache.get(sprite, 0, 1.0));
+        cache.get(sprite, 180, 2.0 / SpriteCache.SCALE_STEPS + 1.0);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+        assertTrue(cache.bytes() <= cache.budget());
+        assertSame(first, cache.get(sprite, 0, 1.0));
+        assertNotSame(second, cache.get(sprite, 180, 1.0));
+
+        cache.setBudget(0);
+        assertEquals(1, cache.size());
+    }
+}
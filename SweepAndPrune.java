@@ -0,0 +1,269 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Broadphase sweep-and-prune no eixo x que tira partido da coerência entre frames.
+ * Os extremos mínimo e máximo de cada caixa envolvente são mantidos num array ordenado
+ * que persiste entre frames e é reordenado por inserção; como os objetos se movem pouco
+ * entre frames, a reordenação é quase linear.
+ *
+ * Cada troca entre um extremo mínimo e um extremo máximo corresponde ao início ou ao fim
+ * de uma sobreposição em x, pelo que o conjunto de pares sobrepostos em x é atualizado
+ * incrementalmente durante a própria ordenação. findPairs() apenas filtra esses pares pelo eixo y.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv Após update(), os extremos estão ordenados por valor (mínimos antes de máximos em caso de empate)
+ * e o conjunto de pares contém exatamente os pares de proxies cujos intervalos em x se sobrepõem.
+ */
+public class SweepAndPrune implements IBroadphase {
+
+    /**
+     * Dados por proxy (um por objeto): caixa envolvente, índice no último update() e frame em que foi visto.
+     */
+    private int proxyCapacity = 16;
+    private double[] boxMinX = new double[proxyCapacity], boxMinY = new double[proxyCapacity];
+    private double[] boxMaxX = new double[proxyCapacity], boxMaxY = new double[proxyCapacity];
+    private int[] proxyIndex = new int[proxyCapacity];
+    private int[] proxySeen = new int[proxyCapacity];
+    private GameObject[] proxyObject = new GameObject[proxyCapacity];
+    private int proxyCount;
+
+    /**
+     * Proxy de cada objeto, indexado por GameObject.id() (-1 se o objeto não tem proxy),
+     * para que a correspondência não aloque nem calcule hashes.
+     */
+    private int[] proxies = new int[0];
+    private int[] freeProxies = new int[16];
+    private int freeCount;
+
+    /**
+     * Extremos ordenados. Cada extremo guarda (proxy << 1) | 1 se for máximo, ou proxy << 1 se for mínimo.
+     */
+    private double[] endpointValue = new double[32];
+    private int[] endpointData = new int[32];
+    private int endpointCount;
+
+    /**
+     * Pares de proxies cujos intervalos em x se sobrepõem.
+     */
+    private final PairSet overlaps = new PairSet();
+
+    private int frame;
+    private int[] pending = new int[16];
+    private long[] staleKeys = new long[16];
+
+    @Override
+    public void update(List<GameObject> objects) {
+        frame++;
+        int pendingCount = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject go = objects.get(i);
+            int id = go.id();
+            if (id >= proxies.length) {
+                int old = proxies.length;
+                proxies = Arrays.copyOf(proxies, Math.max(id + 1, old * 2));
+                Arrays.fill(proxies, old, proxies.length, -1);
+            }
+            int proxy = proxies[id];
+            if (proxy < 0) {
+                if (pendingCount == pending.length) {
+                    pending = Arrays.copyOf(pending, pendingCount * 2);
+                }
+                pending[pendingCount++] = i;
+                continue;
+            }
+            refresh(proxy, go, i);
+        }
+
+        removeStaleProxies();
+
+        for (int k = 0; k < pendingCount; k++) {
+            int i = pending[k];
+            GameObject go = objects.get(i);
+            int proxy = allocateProxy();
+            proxies[go.id()] = proxy;
+            proxyObject[proxy] = go;
+            refresh(proxy, go, i);
+            appendEndpoint(proxy << 1);
+            appendEndpoint((proxy << 1) | 1);
+        }
+
+        for (int e = 0; e < endpointCount; e++) {
+            int data = endpointData[e];
+            int proxy = data >>> 1;
+            endpointValue[e] = (data & 1) == 0 ? boxMinX[proxy] : boxMaxX[proxy];
+        }
+
+        insertionSort();
+    }
+
+    @Override
+    public void findPairs(PairList out) {
+        for (int slot = 0; slot < overlaps.capacity(); slot++) {
+            long key = overlaps.keyAt(slot);
+            if (key == PairSet.EMPTY) continue;
+            int p = PairSet.first(key);
+            int q = PairSet.second(key);
+            if (boxMinY[p] > boxMaxY[q] || boxMinY[q] > boxMaxY[p]) continue;
+            int i = proxyIndex[p];
+            int j = proxyIndex[q];
+            out.add(Math.min(i, j), Math.max(i, j));
+        }
+    }
+
+    @Override
+    public void query(double minX, double minY, double maxX, double maxY, IntList out) {
+        // Só os mínimos à esquerda de maxX podem pertencer a caixas que intersetam a consulta.
+        int lo = 0, hi = endpointCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (endpointValue[mid] <= maxX) lo = mid + 1;
+            else hi = mid;
+        }
+        for (int e = 0; e < lo; e++) {
+            int data = endpointData[e];
+            if ((data & 1) != 0) continue;
+            int p = data >>> 1;
+            if (boxMaxX[p] >= minX && boxMinY[p] <= maxY && minY <= boxMaxY[p]) {
+                out.add(proxyIndex[p]);
+            }
+        }
+    }
+
+    /**
+     * @return número de pares de objetos sobrepostos no eixo x
+     */
+    public int overlapCount() {
+        return overlaps.size();
+    }
+
+    private void refresh(int proxy, GameObject go, int index) {
+        ICollider c = go.collider();
+        boxMinX[proxy] = c.minX();
+        boxMinY[proxy] = c.minY();
+        boxMaxX[proxy] = c.maxX();
+        boxMaxY[proxy] = c.maxY();
+        proxyIndex[proxy] = index;
+        proxySeen[proxy] = frame;
+    }
+
+    /**
+     * Remove os proxies dos objetos que não constavam da lista recebida em update(),
+     * juntamente com os seus extremos e pares.
+     */
+    private void removeStaleProxies() {
+        if (allSeen()) return;
+
+        int write = 0;
+        for (int e = 0; e < endpointCount; e++) {
+            int data = endpointData[e];
+            if (proxySeen[data >>> 1] != frame) continue;
+            endpointData[write] = data;
+            endpointValue[write] = endpointValue[e];
+            write++;
+        }
+        endpointCount = write;
+
+        int staleCount = 0;
+        for (int slot = 0; slot < overlaps.capacity(); slot++) {
+            long key = overlaps.keyAt(slot);
+            if (key == PairSet.EMPTY) continue;
+            if (proxySeen[PairSet.first(key)] != frame || proxySeen[PairSet.second(key)] != frame) {
+                if (staleCount == staleKeys.length) {
+                    staleKeys = Arrays.copyOf(staleKeys, staleCount * 2);
+                }
+                staleKeys[staleCount++] = key;
+            }
+        }
+        for (int k = 0; k < staleCount; k++) {
+            overlaps.remove(staleKeys[k]);
+        }
+
+        for (int p = 0; p < proxyCount; p++) {
+            if (proxyObject[p] == null || proxySeen[p] == frame) continue;
+            proxies[proxyObject[p].id()] = -1;
+            proxyObject[p] = null;
+            if (freeCount == freeProxies.length) {
+                freeProxies = Arrays.copyOf(freeProxies, freeCount * 2);
+            }
+            freeProxies[freeCount++] = p;
+        }
+    }
+
+    private boolean allSeen() {
+        for (int p = 0; p < proxyCount; p++) {
+            if (proxyObject[p] != null && proxySeen[p] != frame) return false;
+        }
+        return true;
+    }
+
+    private int allocateProxy() {
+        if (freeCount > 0) {
+            return freeProxies[--freeCount];
+        }
+        if (proxyCount == proxyCapacity) {
+            proxyCapacity *= 2;
+            boxMinX = Arrays.copyOf(boxMinX, proxyCapacity);
+            boxMinY = Arrays.copyOf(boxMinY, proxyCapacity);
+            boxMaxX = Arrays.copyOf(boxMaxX, proxyCapacity);
+            boxMaxY = Arrays.copyOf(boxMaxY, proxyCapacity);
+            proxyIndex = Arrays.copyOf(proxyIndex, proxyCapacity);
+            proxySeen = Arrays.copyOf(proxySeen, proxyCapacity);
+            proxyObject = Arrays.copyOf(proxyObject, proxyCapacity);
+        }
+        return proxyCount++;
+    }
+
+    private void appendEndpoint(int data) {
+        if (endpointCount == endpointData.length) {
+            endpointData = Arrays.copyOf(endpointData, endpointCount * 2);
+            endpointValue = Arrays.copyOf(endpointValue, endpointCount * 2);
+        }
+        // Os novos extremos começam no fim e entram no lugar certo pela ordenação por inserção,
+        // gerando os pares com os proxies por onde passam.
+        endpointData[endpointCount++] = data;
+    }
+
+    /**
+     * Ordena os extremos por inserção, atualizando o conjunto de pares a cada troca.
+     */
+    private void insertionSort() {
+        for (int k = 1; k < endpointCount; k++) {
+            int data = endpointData[k];
+            int proxy = data >>> 1;
+            boolean isMax = (data & 1) != 0;
+            double value = isMax ? boxMaxX[proxy] : boxMinX[proxy];
+
+            int j = k - 1;
+            while (j >= 0 && less(value, isMax, endpointValue[j], endpointData[j])) {
+                int other = endpointData[j] >>> 1;
+                boolean otherIsMax = (endpointData[j] & 1) != 0;
+                if (other != proxy) {
+                    if (!isMax && otherIsMax) {
+                        if (boxMinX[other] <= boxMaxX[proxy]) {
+                            overlaps.add(PairSet.pack(proxy, other));
+                        }
+                    } else if (isMax && !otherIsMax) {
+                        overlaps.remove(PairSet.pack(proxy, other));
+                    }
+                }
+                endpointValue[j + 1] = endpointValue[j];
+                endpointData[j + 1] = endpointData[j];
+                j--;
+            }
+            endpointValue[j + 1] = value;
+            endpointData[j + 1] = data;
+        }
+    }
+
+    /**
+     * Ordem dos extremos: por valor e, em caso de empate, mínimos antes de máximos,
+     * para que caixas que apenas se tocam sejam consideradas sobrepostas.
+     */
+    private static boolean less(double value, boolean isMax, double otherValue, int otherData) {
+        if (value != otherValue) return value < otherValue;
+        return !isMax && (otherData & 1) != 0;
+    }
+}
@@ -0,0 +1,52 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registo de tags: associa a cada nome de tag um identificador inteiro pequeno e estável,
+ * para que o tipo de um GameObject possa ser comparado sem comparar strings.
+ * Os identificadores são atribuídos sequencialmente a partir de 0, pela ordem do primeiro intern().
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv intern(name(id)) == id para todo o 0 <= id < count().
+ */
+public final class Tags {
+
+    private static final Map<String, Integer> ids = new HashMap<>();
+    private static final List<String> names = new ArrayList<>();
+
+    private Tags() {}
+
+    /**
+     * Obtém o identificador de uma tag, registando-a se ainda não existir.
+     * @param name nome da tag
+     * @return identificador da tag
+     */
+    public static synchronized int intern(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = names.size();
+            ids.put(name, id);
+            names.add(name);
+        }
+        return id;
+    }
+
+    /**
+     * @param id identificador de uma tag
+     * @return nome da tag
+     */
+    public static synchronized String name(int id) {
+        return names.get(id);
+    }
+
+    /**
+     * @return número de tags registadas
+     */
+    public static synchronized int count() {
+        return names.size();
+    }
+}
@@ -4,6 +4,8 @@ import java.awt.Point;
  * Classe que representa a transformação de um GameObject (posição, rotação e escala).
  * Responsável por armazenar e aplicar translações, rotações e alterações de escala
  * sobre os objetos do jogo. Inclui também a camada (layer) em que o objeto se encontra.
+ * Enquanto o objeto está ativo os valores são guardados na linha da Transform nas colunas do
+ * TransformStore do GameEngine; enquanto está desativado ficam na própria Transform.
  * 
  * @author Alexandre Santos(71522), Nurio Pereira (72788)
  * @version 25/03/2025
@@ -11,8 +13,17 @@ import java.awt.Point;
  * @inv A rotação está sempre no intervalo [0, 360)
  */
 public class Transform implements ITransform {
+    /**
+     * Valores usados enquanto a Transform não está associada a um TransformStore.
+     */
     private double x, y, angle, scale;
-    private int layer;
+    private int layer, version;
+
+    /**
+     * Armazenamento onde estão os valores e linha ocupada, ou null enquanto não está associada.
+     */
+    private TransformStore store;
+    private int row = -1;
 
     /**
      * Construtor da classe Transform.
@@ -28,6 +39,104 @@ public class Transform implements ITransform {
         this.layer = layer;
         this.angle = angle % 360;
         this.scale = scale;
+        this.version = 1;
+    }
+
+    /**
+     * Copia os valores para a linha indicada das colunas e passa a usá-la. Chamado pelo TransformStore.
+     * @param store armazenamento
+     * @param row linha reservada para esta Transform
+     */
+    void attachTo(TransformStore store, int row) {
+        store.x[row] = x;
+        store.y[row] = y;
+        store.angle[row] = angle;
+        store.scale[row] = scale;
+        store.layer[row] = layer;
+        store.version[row] = version;
+        this.store = store;
+        this.row = row;
+    }
+
+    /**
+     * Copia os valores da linha das colunas para a própria Transform e deixa de a usar.
+     * Chamado pelo TransformStore.
+     */
+    void detach() {
+        x = store.x[row];
+        y = store.y[row];
+        angle = store.angle[row];
+        scale = store.scale[row];
+        layer = store.layer[row];
+        version = store.version[row];
+        store = null;
+        row = -1;
+    }
+
+    /**
+     * Atualiza a linha depois de o TransformStore ter mudado os valores de linha. Chamado pelo TransformStore.
+     * @param row nova linha
+     */
+    void moveTo(int row) {
+        this.row = row;
+    }
+
+    /**
+     * Indica ao TransformStore que o collider desta Transform recalculou a caixa alargada. Chamado pelo Collider.
+     */
+    void markRefit() {
+        if (store != null) store.markRefit(row);
+    }
+
+    /**
+     * @return armazenamento onde estão os valores, ou null se não estiver associada
+     */
+    public TransformStore store() {
+        return store;
+    }
+
+    /**
+     * @return linha desta Transform no TransformStore, ou -1 se não estiver associada
+     */
+    public int row() {
+        return row;
+    }
+
+    /**
+     * Substitui todos os valores da Transform, por exemplo ao reutilizar um objeto de um GameObjectPool.
+     * A mudança é descontínua: o desenho não é interpolado a partir dos valores anteriores.
+     * @param x coordenada x da posição
+     * @param y coordenada y da posição
+     * @param layer camada do objeto
+     * @param angle rotação em graus
+     * @param scale fator de escala
+     */
+    public void set(double x, double y, int layer, double angle, double scale) {
+        if (store != null) {
+            store.x[row] = x;
+            store.y[row] = y;
+            store.layer[row] = layer;
+            store.angle[row] = angle % 360;
+            store.scale[row] = scale;
+            store.version[row]++;
+            store.resetPrevious(row);
+        } else {
+            this.x = x;
+            this.y = y;
+            this.layer = layer;
+            this.angle = angle % 360;
+            this.scale = scale;
+            version++;
+        }
+    }
+
+    /**
+     * Obtém a versão da Transform, incrementada sempre que algum dos seus valores muda.
+     * Permite aos colliders saber se têm de recalcular a sua forma sem comparar todos os valores.
+     * @return versão atual
+     */
+    public int version() {
+        return store != null ? store.version[row] : version;
     }
 
     /**
@@ -37,9 +146,29 @@ public class Transform implements ITransform {
      */
     @Override
     public void move(Point dPos, int dlayer) {
-        this.x += dPos.getX();
-        this.y += dPos.getY();
-        this.layer += dlayer;
+        move(dPos.getX(), dPos.getY(), dlayer);
+    }
+
+    /**
+     * Aplica uma translação à Transform e altera a camada, sem alocações.
+     * @param dx deslocamento em x
+     * @param dy deslocamento em y
+     * @param dlayer incremento da camada
+     */
+    @Override
+    public void move(double dx, double dy, int dlayer) {
+        if (dx == 0 && dy == 0 && dlayer == 0) return;
+        if (store != null) {
+            store.x[row] += dx;
+            store.y[row] += dy;
+            store.layer[row] += dlayer;
+            store.version[row]++;
+        } else {
+            x += dx;
+            y += dy;
+            layer += dlayer;
+            version++;
+        }
     }
 
     /**
@@ -48,8 +177,16 @@ public class Transform implements ITransform {
      */
     @Override
     public void rotate(double dTheta) {
-        this.angle = (this.angle + dTheta) % 360;
+        if (dTheta == 0) return;
+        double angle = (angle() + dTheta) % 360;
         if (angle < 0) angle += 360;
+        if (store != null) {
+            store.angle[row] = angle;
+            store.version[row]++;
+        } else {
+            this.angle = angle;
+            version++;
+        }
     }
 
     /**
@@ -58,7 +195,14 @@ public class Transform implements ITransform {
      */
     @Override
     public void scale(double dScale) {
-        this.scale += dScale;
+        if (dScale == 0) return;
+        if (store != null) {
+            store.scale[row] += dScale;
+            store.version[row]++;
+        } else {
+            scale += dScale;
+            version++;
+        }
     }
 
     /**
@@ -67,20 +211,20 @@ public class Transform implements ITransform {
      */
     @Override
     public Point position() {
-        return new Point((int)x, (int)y);
+        return new Point((int) posX(), (int) posY());
     }
 
     /**
      * Retorna o valor da coordenada x.
      * @return valor de x (posição horizontal)
      */
-    public double posX() { return x; }
+    public double posX() { return store != null ? store.x[row] : x; }
 
     /**
      * Retorna o valor da coordenada y.
      * @return valor de y (posição vertical)
      */
-    public double posY() { return y; }
+    public double posY() { return store != null ? store.y[row] : y; }
 
     /**
      * Retorna o número da camada atual.
@@ -88,7 +232,7 @@ public class Transform implements ITransform {
      */
     @Override
     public int layer() {
-        return layer;
+        return store != null ? store.layer[row] : layer;
     }
 
     /**
@@ -97,7 +241,7 @@ public class Transform implements ITransform {
      */
     @Override
     public double angle() {
-        return angle;
+        return store != null ? store.angle[row] : angle;
     }
 
     /**
@@ -106,7 +250,7 @@ public class Transform implements ITransform {
      */
     @Override
     public double scale() {
-        return scale;
+        return store != null ? store.scale[row] : scale;
     }
 
     /**
@@ -115,6 +259,6 @@ public class Transform implements ITransform {
      */
     @Override
     public String toString() {
-        return String.format("(%.2f,%.2f) %d %.2f %.2f", x, y, layer, angle, scale);
+        return String.format("(%.2f,%.2f) %d %.2f %.2f", posX(), posY(), layer(), angle(), scale());
     }
 }
@@ -0,0 +1,222 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Armazenamento das Transforms dos objetos ativos em colunas de tipos primitivos (structure of arrays).
+ * As posições, ângulos, escalas, layers e versões ficam em arrays contíguos, uma linha por Transform,
+ * sem buracos: as linhas 0 a size() - 1 estão ocupadas. O GameEngine associa a Transform de cada objeto
+ * ativado (attach()) e liberta-a quando o objeto é desativado ou destruído (detach()), com a mesma troca
+ * com o último elemento da lista de objetos ativos, pelo que a linha de cada Transform é a posição do seu
+ * objeto nessa lista e os ciclos por frame percorrem as colunas pela ordem dos objetos ativos.
+ *
+ * As colunas são realocadas quando crescem: devem ser obtidas de novo depois de cada attach().
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv 0 <= size() <= capacidade das colunas. owner(row).row() == row para todo o 0 <= row < size().
+ */
+public class TransformStore {
+
+    double[] x = new double[256], y = new double[256];
+    double[] angle = new double[256], scale = new double[256];
+    int[] layer = new int[256], version = new int[256];
+
+    /**
+     * Posição e ângulo de cada linha no início do último passo (ver savePrevious()), usados para
+     * interpolar o desenho entre o passo anterior e o atual.
+     */
+    double[] prevX = new double[256], prevY = new double[256], prevAngle = new double[256];
+
+    /**
+     * Última versão de cada linha para a qual o collider do objeto foi ajustado (ver GameEngine.syncColliders()).
+     */
+    int[] synced = new int[256];
+    private Transform[] owners = new Transform[256];
+    private int size;
+
+    /**
+     * Registo das linhas cujo collider recalculou a caixa alargada (ver Collider.fatVersion()) desde
+     * beginRefitLog(). Cada linha aparece no máximo uma vez; as posições ainda não escritas por outra
+     * thread valem -1.
+     */
+    private boolean[] refitLogged = new boolean[256];
+    private int[] refitRows = filled(256);
+    private final AtomicInteger refitCount = new AtomicInteger();
+    private volatile boolean refitLogging;
+
+    /**
+     * Passa a guardar os valores de uma Transform na última linha das colunas.
+     * @param t Transform que não está associada a nenhum armazenamento
+     * @return linha atribuída à Transform
+     */
+    public int attach(Transform t) {
+        if (t.store() != null) throw new IllegalStateException("A Transform já está associada a um TransformStore");
+        if (size == owners.length) {
+            int capacity = size * 2;
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            angle = Arrays.copyOf(angle, capacity);
+            scale = Arrays.copyOf(scale, capacity);
+            layer = Arrays.copyOf(layer, capacity);
+            version = Arrays.copyOf(version, capacity);
+            synced = Arrays.copyOf(synced, capacity);
+            prevX = Arrays.copyOf(prevX, capacity);
+            prevY = Arrays.copyOf(prevY, capacity);
+            prevAngle = Arrays.copyOf(prevAngle, capacity);
+            refitLogged = Arrays.copyOf(refitLogged, capacity);
+            refitRows = filled(capacity);
+            owners = Arrays.copyOf(owners, capacity);
+        }
+        int row = size++;
+        owners[row] = t;
+        t.attachTo(this, row);
+        synced[row] = version[row] - 1;
+        resetPrevious(row);
+        return row;
+    }
+
+    /**
+     * Deixa de guardar os valores de uma Transform, que volta a guardá-los em si própria.
+     * A Transform da última linha passa a ocupar a linha libertada.
+     * @param t Transform associada a este armazenamento
+     */
+    public void detach(Transform t) {
+        if (t.store() != this) throw new IllegalStateException("A Transform não está associada a este TransformStore");
+        int row = t.row();
+        t.detach();
+        int last = --size;
+        if (row != last) {
+            x[row] = x[last];
+            y[row] = y[last];
+            angle[row] = angle[last];
+            scale[row] = scale[last];
+            layer[row] = layer[last];
+            version[row] = version[last];
+            synced[row] = synced[last];
+            prevX[row] = prevX[last];
+            prevY[row] = prevY[last];
+            prevAngle[row] = prevAngle[last];
+            owners[row] = owners[last];
+            owners[row].moveTo(row);
+        }
+        owners[last] = null;
+    }
+
+    /**
+     * Guarda a posição e o ângulo atuais de todas as linhas como os do passo anterior.
+     * Chamado pelo GameEngine no início de cada update().
+     */
+    public void savePrevious() {
+        System.arraycopy(x, 0, prevX, 0, size);
+        System.arraycopy(y, 0, prevY, 0, size);
+        System.arraycopy(angle, 0, prevAngle, 0, size);
+    }
+
+    /**
+     * Faz com que os valores do passo anterior de uma linha sejam os atuais, para que uma mudança
+     * descontínua (por exemplo Transform.set()) não seja interpolada.
+     * @param row linha ocupada
+     */
+    void resetPrevious(int row) {
+        prevX[row] = x[row];
+        prevY[row] = y[row];
+        prevAngle[row] = angle[row];
+    }
+
+    /**
+     * Começa a registar as linhas cujo collider recalcula a caixa alargada. Enquanto o registo está
+     * ativo não podem ser associadas nem libertadas Transforms; markRefit() pode ser chamado em
+     * paralelo para linhas diferentes.
+     */
+    void beginRefitLog() {
+        refitLogging = true;
+    }
+
+    /**
+     * Termina o registo iniciado com beginRefitLog() e esquece as linhas registadas.
+     */
+    void endRefitLog() {
+        refitLogging = false;
+        int count = Math.min(refitCount.getAndSet(0), refitRows.length);
+        for (int k = 0; k < count; k++) {
+            int row = refitRows[k];
+            if (row >= 0) refitLogged[row] = false;
+            refitRows[k] = -1;
+        }
+    }
+
+    /**
+     * Regista que o collider da Transform de uma linha recalculou a caixa alargada, se o registo
+     * estiver ativo. Chamado pela Transform.
+     * @param row linha ocupada
+     */
+    void markRefit(int row) {
+        if (!refitLogging || refitLogged[row]) return;
+        refitLogged[row] = true;
+        refitRows[refitCount.getAndIncrement()] = row;
+    }
+
+    /**
+     * @return número de linhas registadas desde beginRefitLog()
+     */
+    int refitCount() {
+        return Math.min(refitCount.get(), refitRows.length);
+    }
+
+    /**
+     * @param k posição no registo, entre 0 e refitCount() - 1
+     * @return linha registada, ou -1 se ainda não foi escrita por outra thread
+     */
+    int refitRow(int k) {
+        return refitRows[k];
+    }
+
+    private static int[] filled(int capacity) {
+        int[] rows = new int[capacity];
+        Arrays.fill(rows, -1);
+        return rows;
+    }
+
+    /**
+     * @param row linha ocupada
+     * @return Transform que ocupa a linha
+     */
+    public Transform owner(int row) {
+        return owners[row];
+    }
+
+    /**
+     * @return número de linhas ocupadas
+     */
+    public int size() {
+        return size;
+    }
+
+    /** @return coluna das coordenadas x */
+    public double[] x() { return x; }
+
+    /** @return coluna das coordenadas y */
+    public double[] y() { return y; }
+
+    /** @return coluna dos ângulos, em graus */
+    public double[] angle() { return angle; }
+
+    /** @return coluna dos fatores de escala */
+    public double[] scale() { return scale; }
+
+    /** @return coluna das layers */
+    public int[] layer() { return layer; }
+
+    /** @return coluna das coordenadas x no início do último passo */
+    public double[] prevX() { return prevX; }
+
+    /** @return coluna das coordenadas y no início do último passo */
+    public double[] prevY() { return prevY; }
+
+    /** @return coluna dos ângulos no início do último passo */
+    public double[] prevAngle() { return prevAngle; }
+
+    /** @return coluna das versões (ver Transform.version()) */
+    public int[] version() { return version; }
+}
@@ -0,0 +1,85 @@
+import static org.junit.Assert.*;
+import java.awt.Point;
+import org.junit.Test;
+
+/**
+ * Testes unitários para a classe TransformStore.
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ */
+public class TransformStoreTest {
+
+    @Test
+    public void testTransformValuesLiveInColumns() {
+        TransformStore store = new TransformStore();
+        Transform t = new Transform(3, 4, 2, 30, 1.5);
+        int row = store.attach(t);
+        t.move(new Point(1, 1), 1);
+
+        assertEquals(0, row);
+        assertEquals(4, store.x()[row], 0.001);
+        assertEquals(5, store.y()[row], 0.001);
+        assertEquals(3, store.layer()[row]);
+        assertEquals(30, store.angle()[row], 0.001);
+        assertEquals(1.5, store.scale()[row], 0.001);
+    }
+
+    @Test
+    public void testDetachKeepsRowsCompacted() {
+        TransformStore store = new TransformStore();
+        Transform[] transforms = new Transform[300];
+        for (int i = 0; i < transforms.length; i++) {
+            transforms[i] = new Transform(i, -i, 0, 0, 1);
+            store.attach(transforms[i]);
+        }
+        assertEquals(transforms.length, store.size());
+
+        store.detach(transforms[5]);
+        assertEquals(transforms.length - 1, store.size());
+        assertNull(transforms[5].store());
+        assertSame(transforms[299], store.owner(5));
+        assertEquals(5, transforms[299].row());
+        assertEquals(299, store.x()[5], 0.001);
+        for (int row = 0; row < store.size(); row++) {
+            assertEquals(row, store.owner(row).row());
+        }
+    }
+
+    @Test
+    public void testValuesSurviveDetachAndAttach() {
+        TransformStore store = new TransformStore();
+        Transform t = new Transform(1, 2, 0, 0, 1);
+        store.attach(t);
+        t.move(10, 10, 0);
+        int version = t.version();
+        store.detach(t);
+
+        assertEquals(11, t.posX(), 0.001);
+        t.move(1, 0, 0);
+        assertEquals(version + 1, t.version());
+
+        store.attach(t);
+        assertEquals(12, store.x()[t.row()], 0.001);
+        assertEquals(12, store.y()[t.row()], 0.001);
+        assertEquals(version + 1, store.version()[t.row()]);
+    }
+
+    @Test
+    public void testSavePreviousAndSetIsNotInterpolated() {
+        TransformStore store = new TransformStore();
+        Transform t = new Transform(1, 2, 0, 350, 1);
+        store.attach(t);
+        assertEquals(1, store.prevX()[t.row()], 0.001);
+
+        store.savePrevious();
+        t.move(10, 0, 0);
+        t.rotate(20);
+        assertEquals(1, store.prevX()[t.row()], 0.001);
+        assertEquals(350, store.prevAngle()[t.row()], 0.001);
+        assertEquals(11, store.x()[t.row()], 0.001);
+
+        t.set(500, 600, 0, 0, 1);
+        assertEquals(500, store.prevX()[t.row()], 0.001);
+        assertEquals(600, store.prevY()[t.row()], 0.001);
+    }
+}
@@ -1,4 +1,5 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import java.awt.Point;
 import org.junit.Test;
 
@@ -60,4 +61,27 @@ public class TransformTest {
 
         assertEquals(expected, t.toString());
     }
+
+    @Test
+    public void testVersionChangesOnlyWhenValuesChange() {
+        Transform t = new Transform(1, 2, 0, 0, 1);
+        int version = t.version();
+
+        t.move(0, 0, 0);
+        t.rotate(0);
+        t.scale(0);
+        assertEquals(version, t.version());
+
+        t.move(1, 0, 0);
+        assertNotEquals(version, t.version());
+        version = t.version();
+        t.rotate(10);
+        assertNotEquals(version, t.version());
+        version = t.version();
+        t.scale(0.5);
+        assertNotEquals(version, t.version());
+        version = t.version();
+        t.set(1, 2, 0, 0, 1);
+        assertNotEquals(version, t.version());
+    }
 }
@@ -0,0 +1,74 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Buffer triplo sem locks entre uma thread produtora e uma thread consumidora.
+ * O produtor preenche back() e publica-o com publish(); o consumidor obtém o último buffer publicado
+ * com acquire() e lê-o em front(). Há sempre um terceiro buffer entre os dois, pelo que nenhum
+ * espera pelo outro e o consumidor nunca vê um buffer a meio de ser preenchido.
+ *
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ *
+ * @inv back(), o buffer do meio e front() são sempre três buffers distintos.
+ */
+public class TripleBuffer<T> {
+
+    /**
+     * Bit do índice do buffer do meio que indica que este foi publicado e ainda não foi obtido.
+     */
+    private static final int FRESH = 4;
+    private static final int INDEX = 3;
+
+    private final Object[] buffers = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;
+    private int front = 2;
+
+    /**
+     * Cria um buffer triplo.
+     * @param factory cria cada um dos três buffers
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < 3; i++) {
+            buffers[i] = factory.get();
+        }
+    }
+
+    /**
+     * Só pode ser usado pelo produtor.
+     * @return buffer a preencher antes de publish()
+     */
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) buffers[back];
+    }
+
+    /**
+     * Publica o buffer preenchido, trocando-o com o buffer do meio. Um buffer publicado e ainda não
+     * obtido pelo consumidor é substituído pelo novo.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    /**
+     * Obtém o último buffer publicado, se houver um novo desde a última chamada.
+     * Só pode ser usado pelo consumidor.
+     * @return true se front() passou a ser um buffer publicado mais recente
+     */
+    public boolean acquire() {
+        if ((middle.get() & FRESH) == 0) return false;
+        front = middle.getAndSet(front) & INDEX;
+        return true;
+    }
+
+    /**
+     * Só pode ser usado pelo consumidor.
+     * @return último buffer obtido com acquire()
+     */
+    @SuppressWarnings("unchecked")
+    public T front() {
+        return (T) buffers[front];
+    }
+}
@@ -0,0 +1,84 @@
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+/**
+ * Testes unitários para a classe TripleBuffer.
+ * Valida a troca dos buffers na publicação e na obtenção e a consistência entre threads.
+ * @author Alexandre Santos (71522), Nurio Pereira (72788)
+ * @version 1.0 18/10/2026
+ */
+public class TripleBufferTest {
+
+    private final TripleBuffer<int[]> buffer = new TripleBuffer<>(() -> new int[2]);
+
+    @Test
+    public void testAcquireWithoutPublishKeepsFront() {
+        int[] front = buffer.front();
+        assertFalse(buffer.acquire());
+        assertSame(front, buffer.front());
+    }
+
+    @Test
+    public void testAcquireReturnsPublishedBuffer() {
+        int[] back = buffer.back();
+        back[0] = 7;
+        buffer.publish();
+        assertNotSame(back, buffer.back());
+
+        assertTrue(buffer.acquire());
+        assertSame(back, buffer.front());
+        assertEquals(7, buffer.front()[0]);
+        assertFalse(buffer.acquire());
+    }
+
+    @Test
+    public void testAcquireReturnsOnlyLatestPublish() {
+        buffer.back()[0] = 1;
+        buffer.publish();
+        buffer.back()[0] = 2;
+        buffer.publish();
+
+        assertTrue(buffer.acquire());
+        assertEquals(2, buffer.front()[0]);
+        assertFalse(buffer.acquire());
+    }
+
+    @Test
+    public void testBuffersStayDistinct() {
+        for (int i = 0; i < 10; i++) {
+            buffer.publish();
+            if (i % 3 == 0) buffer.acquire();
+            assertNotSame(buffer.back(), buffer.front());
+        }
+    }
+
+    @Test
+    public void testConsumerNeverSeesPartialOrOlderFrame() throws InterruptedException {
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> error = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            int last = 0;
+            while (!done.get()) {
+                if (!buffer.acquire()) continue;
+                int[] frame = buffer.front();
+                if (frame[0] != frame[1]) error.set("frame incompleto: " + frame[0] + " != " + frame[1]);
+                if (frame[0] <= last) error.set("frame antigo: " + frame[0] + " depois de " + last);
+                last = frame[0];
+            }
+        });
+        consumer.start();
+        for (int i = 1; i <= 200_000; i++) {
+            int[] frame = buffer.back();
+            frame[0] = i;
+            frame[1] = i;
+            buffer.publish();
+        }
+        done.set(true);
+        consumer.join();
+        assertNull(error.get());
+    }
+}